@@ -0,0 +1,70 @@
+package br.com.zebodega.vendas.carga;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Acumula as latências e os erros de um endpoint durante a medição.
+ */
+class EstatisticaEndpoint {
+
+    private final String endpoint;
+
+    private long[] latenciasNanos = new long[1024];
+
+    private int quantidade;
+
+    private long erros;
+
+    EstatisticaEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    synchronized void registrar(long latenciaNanos, boolean sucesso) {
+        if (quantidade == latenciasNanos.length) {
+            latenciasNanos = Arrays.copyOf(latenciasNanos, quantidade * 2);
+        }
+        latenciasNanos[quantidade++] = latenciaNanos;
+        if (!sucesso) {
+            erros++;
+        }
+    }
+
+    /**
+     * Monta o resumo do endpoint: quantidade, erros, vazão e percentis de latência em milissegundos.
+     *
+     * @param duracaoSegundos Duração da medição, usada no cálculo da vazão.
+     * @return Mapa ordenado, serializado como um objeto JSON.
+     */
+    synchronized Map<String, Object> resumir(double duracaoSegundos) {
+        long[] ordenadas = Arrays.copyOf(latenciasNanos, quantidade);
+        Arrays.sort(ordenadas);
+        Map<String, Object> resumo = new LinkedHashMap<>();
+        resumo.put("endpoint", endpoint);
+        resumo.put("requisicoes", quantidade);
+        resumo.put("erros", erros);
+        resumo.put("vazaoPorSegundo", arredondar(quantidade / duracaoSegundos));
+        resumo.put("p50Ms", percentil(ordenadas, 0.50));
+        resumo.put("p99Ms", percentil(ordenadas, 0.99));
+        resumo.put("p999Ms", percentil(ordenadas, 0.999));
+        resumo.put("maximoMs", ordenadas.length == 0 ? 0 : milissegundos(ordenadas[ordenadas.length - 1]));
+        return resumo;
+    }
+
+    private static double percentil(long[] ordenadas, double fracao) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int posicao = (int) Math.ceil(fracao * ordenadas.length) - 1;
+        return milissegundos(ordenadas[Math.max(posicao, 0)]);
+    }
+
+    private static double milissegundos(long nanos) {
+        return arredondar(nanos / 1_000_000.0);
+    }
+
+    private static double arredondar(double valor) {
+        return Math.round(valor * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.zebodega.vendas.carga;
+
+import java.util.List;
+
+/**
+ * Identificadores dos registros carregados antes da medição, sorteados pelas leituras do teste de carga.
+ */
+record MassaDados(List<Long> clientes, List<Long> usuarios, List<Long> formasPagamento,
+                  List<Long> produtos, List<Long> pedidos) {
+}
@@ -0,0 +1,131 @@
+package br.com.zebodega.vendas.carga;
+
+import br.com.zebodega.vendas.sintetico.DadosSinteticos;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Mistura ponderada de leituras e escritas sobre os seis controladores, usada para sortear cada requisição
+ * do teste de carga. Os pesos aproximam o uso de um ponto de venda: leituras de catálogo e de pedidos
+ * predominam, e as escritas são criações de pedidos completos e de clientes.
+ */
+class MisturaOperacoes {
+
+    private record Operacao(String endpoint, int peso, Function<SplittableRandom, HttpRequest> requisicao) {
+    }
+
+    private static final Duration TEMPO_LIMITE = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+
+    private final ObjectMapper objectMapper;
+
+    private final MassaDados massa;
+
+    private final AtomicLong proximoPedido = new AtomicLong();
+
+    private final AtomicLong proximoCliente;
+
+    private final List<Operacao> operacoes = new ArrayList<>();
+
+    private int pesoTotal;
+
+    MisturaOperacoes(String baseUrl, ObjectMapper objectMapper, MassaDados massa) {
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.massa = massa;
+        this.proximoCliente = new AtomicLong(massa.clientes().size());
+
+        adicionar("GET /produto", 12, a -> get("/produto?limit=100"));
+        adicionar("GET /produto/catalogo", 10, a -> get("/produto/catalogo"));
+        adicionar("GET /produto/{id}", 10, a -> get("/produto/" + sortear(massa.produtos(), a)));
+        adicionar("GET /formaPagamento", 5, a -> get("/formaPagamento"));
+        adicionar("GET /formaPagamento/{id}", 3, a -> get("/formaPagamento/" + sortear(massa.formasPagamento(), a)));
+        adicionar("GET /cliente", 3, a -> get("/cliente?limit=50&after=" + sortear(massa.clientes(), a)));
+        adicionar("GET /cliente/{id}", 5, a -> get("/cliente/" + sortear(massa.clientes(), a)));
+        adicionar("GET /usuario/{id}", 3, a -> get("/usuario/" + sortear(massa.usuarios(), a)));
+        adicionar("GET /pedido", 3, a -> get("/pedido?limit=100&after=" + sortear(massa.pedidos(), a)));
+        adicionar("GET /pedido/{id}", 10, a -> get("/pedido/" + sortear(massa.pedidos(), a)));
+        adicionar("GET /pedido/{id}/itens", 10, a -> get("/pedido/" + sortear(massa.pedidos(), a) + "/itens"));
+        adicionar("GET /pedido/faturamento", 2, a -> get("/pedido/faturamento?dataInicial=" + DadosSinteticos.dataInicial()
+                + "&dataFinal=" + DadosSinteticos.dataInicial().plusDays(90) + "&agrupamento=SEMANA"));
+        adicionar("GET /itensPedido", 3, a -> get("/itensPedido?limit=100"));
+        adicionar("POST /pedido/completo", 15, this::criarPedido);
+        adicionar("POST /cliente", 3, a -> criarCliente());
+        adicionar("GET /actuator/health", 3, a -> get("/actuator/health"));
+    }
+
+    /**
+     * Sorteia a próxima operação de acordo com os pesos.
+     *
+     * @param aleatorio Gerador da thread de disparo.
+     * @return Nome do endpoint e a requisição montada.
+     */
+    Map.Entry<String, HttpRequest> sortear(SplittableRandom aleatorio) {
+        int sorteio = aleatorio.nextInt(pesoTotal);
+        for (Operacao operacao : operacoes) {
+            sorteio -= operacao.peso();
+            if (sorteio < 0) {
+                return Map.entry(operacao.endpoint(), operacao.requisicao().apply(aleatorio));
+            }
+        }
+        throw new IllegalStateException("Mistura de operações vazia");
+    }
+
+    List<String> endpoints() {
+        return operacoes.stream().map(Operacao::endpoint).toList();
+    }
+
+    private void adicionar(String endpoint, int peso, Function<SplittableRandom, HttpRequest> requisicao) {
+        operacoes.add(new Operacao(endpoint, peso, requisicao));
+        pesoTotal += peso;
+    }
+
+    private HttpRequest criarPedido(SplittableRandom aleatorio) {
+        List<Map<String, Object>> itens = new ArrayList<>();
+        int quantidadeItens = 1 + aleatorio.nextInt(5);
+        for (int i = 0; i < quantidadeItens; i++) {
+            itens.add(Map.of("idProduto", sortear(massa.produtos(), aleatorio), "quantidade", 1 + aleatorio.nextInt(5)));
+        }
+        Map<String, Object> pedido = new LinkedHashMap<>();
+        pedido.put("numeroPedido", "CARGA-" + proximoPedido.incrementAndGet());
+        pedido.put("itens", itens);
+        return post("/pedido/completo", pedido);
+    }
+
+    private HttpRequest criarCliente() {
+        long sequencial = proximoCliente.getAndIncrement();
+        return post("/cliente", new DadosSinteticos(sequencial).cliente(sequencial));
+    }
+
+    private HttpRequest get(String caminho) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + caminho)).timeout(TEMPO_LIMITE).GET().build();
+    }
+
+    private HttpRequest post(String caminho, Object corpo) {
+        try {
+            return HttpRequest.newBuilder(URI.create(baseUrl + caminho))
+                    .timeout(TEMPO_LIMITE)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(corpo)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Long sortear(List<Long> ids, SplittableRandom aleatorio) {
+        return ids.get(aleatorio.nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.zebodega.vendas.carga;
+
+import br.com.zebodega.vendas.model.ClienteModel;
+import br.com.zebodega.vendas.model.FormaPagamentoModel;
+import br.com.zebodega.vendas.model.ItensPedidoModel;
+import br.com.zebodega.vendas.model.PedidoModel;
+import br.com.zebodega.vendas.model.ProdutoModel;
+import br.com.zebodega.vendas.model.UsuarioModel;
+import br.com.zebodega.vendas.repository.ClienteRepository;
+import br.com.zebodega.vendas.repository.FormaPagamentoRepository;
+import br.com.zebodega.vendas.repository.ProdutoRepository;
+import br.com.zebodega.vendas.repository.UsuarioRepository;
+import br.com.zebodega.vendas.service.EstoqueService;
+import br.com.zebodega.vendas.service.ItensPedidoService;
+import br.com.zebodega.vendas.service.PedidoService;
+import br.com.zebodega.vendas.sintetico.DadosSinteticos;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Carrega a base com a massa sintética do teste de carga, em partes de {@value #TAMANHO_PARTE} registros.
+ */
+class Semeador {
+
+    private static final int TAMANHO_PARTE = 1000;
+
+    // Estoque de cada produto, que as cargas e os testes de carga não chegam a esgotar
+    private static final int ESTOQUE_PRODUTO = 100_000_000;
+
+    private final ApplicationContext contexto;
+
+    private final DadosSinteticos dados = new DadosSinteticos(42);
+
+    Semeador(ApplicationContext contexto) {
+        this.contexto = contexto;
+    }
+
+    MassaDados semear(int clientes, int produtos, int pedidos, int itensPorPedido) {
+        ClienteRepository clienteRepository = contexto.getBean(ClienteRepository.class);
+        List<ClienteModel> clientesSalvos = salvarEmPartes(clientes, dados::cliente, clienteRepository::saveAll);
+
+        List<ProdutoModel> produtosSalvos = salvarEmPartes(produtos, dados::produto, contexto.getBean(ProdutoRepository.class)::saveAll);
+        EstoqueService estoqueService = contexto.getBean(EstoqueService.class);
+        produtosSalvos.forEach(produto -> estoqueService.repor(produto.getIdProduto(), ESTOQUE_PRODUTO));
+
+        List<FormaPagamentoModel> formasPagamento = contexto.getBean(FormaPagamentoRepository.class)
+                .saveAll(List.of(dados.formaPagamento(1), dados.formaPagamento(2), dados.formaPagamento(3)));
+
+        // Um usuário para cada dez clientes, vinculado por referência ao cliente já gravado
+        UsuarioRepository usuarioRepository = contexto.getBean(UsuarioRepository.class);
+        TransactionTemplate transacao = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+        List<Long> usuarios = new ArrayList<>();
+        for (int inicio = 0; inicio < clientesSalvos.size(); inicio += TAMANHO_PARTE * 10) {
+            int primeiro = inicio;
+            usuarios.addAll(transacao.execute(status -> {
+                List<UsuarioModel> parte = new ArrayList<>();
+                for (int i = primeiro; i < Math.min(primeiro + TAMANHO_PARTE * 10, clientesSalvos.size()); i += 10) {
+                    ClienteModel cliente = clienteRepository.getReferenceById(clientesSalvos.get(i).getIdCliente());
+                    UsuarioModel usuario = new UsuarioModel();
+                    usuario.setUserName("usuario" + i);
+                    usuario.setPassword("senha" + i);
+                    usuario.setAtivo((byte) 1);
+                    usuario.setCliente(cliente);
+                    parte.add(usuario);
+                }
+                return usuarioRepository.saveAll(parte).stream().map(UsuarioModel::getIdUsuario).toList();
+            }));
+        }
+
+        List<PedidoModel> pedidosGerados = dados.pedidos(pedidos, 365);
+        contexto.getBean(PedidoService.class).salvarLote(pedidosGerados);
+
+        List<ItensPedidoModel> itens = new ArrayList<>(pedidos * itensPorPedido);
+        for (PedidoModel pedido : pedidosGerados) {
+            for (int i = 0; i < itensPorPedido; i++) {
+                itens.add(dados.itensPedido(pedido, produtosSalvos.get((int) ((pedido.getIdPedido() * 31 + i) % produtosSalvos.size()))));
+            }
+        }
+        contexto.getBean(ItensPedidoService.class).salvarLote(itens);
+
+        return new MassaDados(
+                clientesSalvos.stream().map(ClienteModel::getIdCliente).toList(),
+                usuarios,
+                formasPagamento.stream().map(FormaPagamentoModel::getIdFormaPagamento).toList(),
+                produtosSalvos.stream().map(ProdutoModel::getIdProduto).toList(),
+                pedidosGerados.stream().map(PedidoModel::getIdPedido).toList());
+    }
+
+    private <T> List<T> salvarEmPartes(int quantidade, IntFunction<T> gerador, Function<List<T>, List<T>> salvar) {
+        List<T> salvos = new ArrayList<>(quantidade);
+        for (int inicio = 0; inicio < quantidade; inicio += TAMANHO_PARTE) {
+            List<T> parte = new ArrayList<>();
+            for (int i = inicio; i < Math.min(inicio + TAMANHO_PARTE, quantidade); i++) {
+                parte.add(gerador.apply(i));
+            }
+            salvos.addAll(salvar.apply(parte));
+        }
+        return salvos;
+    }
+}
@@ -0,0 +1,171 @@
+package br.com.zebodega.vendas.carga;
+
+import br.com.zebodega.vendas.VendasApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Teste de carga HTTP reprodutível de toda a API.
+ *
+ * <p>Para cada modo de execução informado ({@code plataforma} e/ou {@code virtual}, ver
+ * {@code spring.threads.virtual.enabled}) a aplicação é iniciada em uma porta livre sobre um banco H2 novo,
+ * carregada com a massa sintética e submetida a uma mistura de leituras e escritas com taxa de chegada fixa
+ * (modelo aberto: as requisições são disparadas no horário previsto, sem esperar as anteriores). A latência
+ * é medida a partir do horário previsto de disparo, de modo que a fila formada por um servidor lento também
+ * é contabilizada. O resumo por endpoint (vazão e percentis p50, p99 e p999) é gravado em JSON.</p>
+ *
+ * <p>Argumentos no formato {@code --nome=valor}: {@code clientes} (2000), {@code produtos} (500),
+ * {@code pedidos} (20000), {@code itens-por-pedido} (3), {@code taxa} em requisições por segundo (200),
+ * {@code aquecimento} e {@code duracao} em segundos (10 e 60), {@code modos} ({@code plataforma}),
+ * {@code banco} ({@code memoria} ou {@code arquivo}) e {@code saida} ({@code target/carga-resultado.json}).</p>
+ */
+public final class TesteCarga {
+
+    private static final Map<String, String> PADROES = Map.of(
+            "clientes", "2000",
+            "produtos", "500",
+            "pedidos", "20000",
+            "itens-por-pedido", "3",
+            "taxa", "200",
+            "aquecimento", "10",
+            "duracao", "60",
+            "modos", "plataforma",
+            "banco", "memoria",
+            "saida", "target/carga-resultado.json");
+
+    private TesteCarga() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> parametros = new HashMap<>(PADROES);
+        for (String argumento : args) {
+            if (!argumento.startsWith("--") || !argumento.contains("=")) {
+                throw new IllegalArgumentException("Argumento inválido: " + argumento + " (esperado --nome=valor)");
+            }
+            String[] partes = argumento.substring(2).split("=", 2);
+            parametros.put(partes[0], partes[1]);
+        }
+
+        List<Map<String, Object>> resultados = new ArrayList<>();
+        for (String modo : parametros.get("modos").split(",")) {
+            resultados.add(executar(modo.trim(), parametros));
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        Path saida = Path.of(parametros.get("saida"));
+        if (saida.getParent() != null) {
+            Files.createDirectories(saida.getParent());
+        }
+        objectMapper.writeValue(saida.toFile(), resultados);
+        System.out.println(objectMapper.writeValueAsString(resultados));
+        System.out.println("Resultado gravado em " + saida.toAbsolutePath());
+    }
+
+    private static Map<String, Object> executar(String modo, Map<String, String> parametros) throws InterruptedException {
+        if (!modo.equals("plataforma") && !modo.equals("virtual")) {
+            throw new IllegalArgumentException("Modo desconhecido: " + modo + " (use plataforma ou virtual)");
+        }
+        String url = parametros.get("banco").equals("arquivo")
+                ? "jdbc:h2:file:./target/carga-" + modo
+                : "jdbc:h2:mem:carga-" + modo;
+
+        SpringApplication aplicacao = new SpringApplication(VendasApplication.class);
+        // Passadas como argumentos para prevalecer sobre o application.properties
+        try (ConfigurableApplicationContext contexto = aplicacao.run(
+                "--server.port=0",
+                "--spring.datasource.url=" + url,
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.threads.virtual.enabled=" + modo.equals("virtual"),
+                "--logging.level.root=WARN")) {
+            int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+            String contextPath = contexto.getEnvironment().getProperty("server.servlet.context-path", "");
+
+            MassaDados massa = new Semeador(contexto).semear(
+                    Integer.parseInt(parametros.get("clientes")),
+                    Integer.parseInt(parametros.get("produtos")),
+                    Integer.parseInt(parametros.get("pedidos")),
+                    Integer.parseInt(parametros.get("itens-por-pedido")));
+            MisturaOperacoes mistura = new MisturaOperacoes("http://localhost:" + porta + contextPath,
+                    contexto.getBean(ObjectMapper.class), massa);
+
+            return disparar(modo, mistura,
+                    Integer.parseInt(parametros.get("taxa")),
+                    Integer.parseInt(parametros.get("aquecimento")),
+                    Integer.parseInt(parametros.get("duracao")));
+        }
+    }
+
+    // Dispara as requisições na taxa fixa e acumula as latências da fase de medição
+    private static Map<String, Object> disparar(String modo, MisturaOperacoes mistura, int taxa,
+                                                int segundosAquecimento, int segundosMedicao) throws InterruptedException {
+        HttpClient cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        Map<String, EstatisticaEndpoint> estatisticas = new ConcurrentHashMap<>();
+        mistura.endpoints().forEach(endpoint -> estatisticas.put(endpoint, new EstatisticaEndpoint(endpoint)));
+        EstatisticaEndpoint total = new EstatisticaEndpoint("TOTAL");
+        AtomicInteger pendentes = new AtomicInteger();
+        SplittableRandom aleatorio = new SplittableRandom(7);
+
+        long intervalo = TimeUnit.SECONDS.toNanos(1) / taxa;
+        long inicio = System.nanoTime();
+        long inicioMedicao = inicio + TimeUnit.SECONDS.toNanos(segundosAquecimento);
+        long fim = inicioMedicao + TimeUnit.SECONDS.toNanos(segundosMedicao);
+
+        for (long previsto = inicio; previsto < fim; previsto += intervalo) {
+            long espera = previsto - System.nanoTime();
+            if (espera > 0) {
+                LockSupport.parkNanos(espera);
+            }
+            Map.Entry<String, HttpRequest> operacao = mistura.sortear(aleatorio);
+            long horario = previsto;
+            boolean medir = previsto >= inicioMedicao;
+            pendentes.incrementAndGet();
+            cliente.sendAsync(operacao.getValue(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((resposta, erro) -> {
+                        if (medir) {
+                            long latencia = System.nanoTime() - horario;
+                            boolean sucesso = erro == null && resposta.statusCode() < 400;
+                            estatisticas.get(operacao.getKey()).registrar(latencia, sucesso);
+                            total.registrar(latencia, sucesso);
+                        }
+                        pendentes.decrementAndGet();
+                    });
+        }
+
+        // Aguarda as respostas ainda pendentes, limitado ao tempo máximo de uma requisição
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (pendentes.get() > 0 && System.nanoTime() < limite) {
+            Thread.sleep(50);
+        }
+
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("modo", modo);
+        resultado.put("taxaAlvoPorSegundo", taxa);
+        resultado.put("duracaoSegundos", segundosMedicao);
+        resultado.put("semResposta", pendentes.get());
+        resultado.put("total", total.resumir(segundosMedicao));
+        resultado.put("endpoints", mistura.endpoints().stream()
+                .map(endpoint -> estatisticas.get(endpoint).resumir(segundosMedicao))
+                .toList());
+        return resultado;
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.zebodega.vendas.benchmark;
+
+import br.com.zebodega.vendas.VendasApplication;
+import br.com.zebodega.vendas.exception.ConflictException;
+import br.com.zebodega.vendas.model.Dinheiro;
+import br.com.zebodega.vendas.model.PedidoModel;
+import br.com.zebodega.vendas.repository.PedidoRepository;
+import br.com.zebodega.vendas.service.PedidoService;
+import br.com.zebodega.vendas.sintetico.DadosSinteticos;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede a vazão de {@code PedidoService.atualizar} com oito threads gravando sobre poucos pedidos ("quentes"),
+ * onde as atualizações colidem na versão e são repetidas, e sobre muitos, onde quase não há conflito.
+ *
+ * <p>Além da vazão total, os contadores {@code gravados} e {@code conflitos} separam as atualizações
+ * concluídas das que esgotaram as {@code tentativas} e terminariam em 409; com uma única tentativa, todo
+ * conflito chega ao cliente.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class ConcorrenciaBenchmark {
+
+    @Param({"1", "8", "1000"})
+    private int pedidosQuentes;
+
+    @Param({"1", "5"})
+    private int tentativas;
+
+    private ConfigurableApplicationContext contexto;
+
+    private PedidoService pedidoService;
+
+    private List<PedidoModel> pedidos;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        SpringApplication aplicacao = new SpringApplication(VendasApplication.class);
+        aplicacao.setWebApplicationType(WebApplicationType.NONE);
+        // Passadas como argumentos para prevalecer sobre o application.properties
+        contexto = aplicacao.run(
+                "--spring.datasource.url=jdbc:h2:mem:concorrencia",
+                "--logging.level.root=WARN",
+                "--vendas.sql.monitoramento=false",
+                "--vendas.concorrencia.tentativas=" + tentativas);
+        pedidoService = contexto.getBean(PedidoService.class);
+
+        pedidoService.salvarLote(new DadosSinteticos(42).pedidos(pedidosQuentes, 30));
+        pedidos = contexto.getBean(PedidoRepository.class)
+                .findByIdPedidoGreaterThanOrderByIdPedidoAsc(0L, Limit.of(pedidosQuentes));
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public void atualizar(Resultados resultados) {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        PedidoModel persistido = pedidos.get(aleatorio.nextInt(pedidos.size()));
+        // Sem versão: os conflitos são resolvidos pelas repetições do serviço
+        PedidoModel pedido = new PedidoModel();
+        pedido.setIdPedido(persistido.getIdPedido());
+        pedido.setNumeroPedido(persistido.getNumeroPedido());
+        pedido.setDataCriacao(persistido.getDataCriacao());
+        pedido.setStatus(persistido.getStatus());
+        pedido.setValorTotal(Dinheiro.deCentavos(aleatorio.nextLong(1_000, 200_000)));
+        try {
+            pedidoService.atualizar(pedido);
+            resultados.gravados++;
+        } catch (ConflictException e) {
+            resultados.conflitos++;
+        }
+    }
+
+    /**
+     * Contadores por thread, somados pelo JMH e reportados como vazões secundárias.
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Resultados {
+
+        public long gravados;
+
+        public long conflitos;
+
+        @Setup(Level.Iteration)
+        public void zerar() {
+            gravados = 0;
+            conflitos = 0;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.zebodega.vendas.benchmark;
+
+import br.com.zebodega.vendas.model.Dinheiro;
+import br.com.zebodega.vendas.service.DescontoService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o cálculo do desconto das faixas de {@code DescontoService}, sobre {@link Dinheiro} e diretamente em
+ * centavos; com {@code -prof gc} a variante em centavos deve mostrar alocação nula por operação.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class DescontoBenchmark {
+
+    @Param({"300.00", "750.00", "1200.00"})
+    private String valor;
+
+    private DescontoService descontoService;
+
+    private Dinheiro valorTotal;
+
+    private long valorCentavos;
+
+    @Setup
+    public void preparar() {
+        descontoService = new DescontoService("500.00:0.05,1000.00:0.10");
+        valorTotal = Dinheiro.de(valor);
+        valorCentavos = valorTotal.centavos();
+    }
+
+    @Benchmark
+    public Dinheiro aplicarDinheiro() {
+        return descontoService.aplicar(valorTotal);
+    }
+
+    @Benchmark
+    public long aplicarCentavos() {
+        return descontoService.aplicar(valorCentavos);
+    }
+}
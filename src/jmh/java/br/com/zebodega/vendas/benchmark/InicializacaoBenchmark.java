@@ -0,0 +1,91 @@
+package br.com.zebodega.vendas.benchmark;
+
+import br.com.zebodega.vendas.VendasApplication;
+import br.com.zebodega.vendas.model.PedidoModel;
+import br.com.zebodega.vendas.service.PedidoService;
+import br.com.zebodega.vendas.sintetico.DadosSinteticos;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o tempo de reinício da aplicação com o perfil {@code producao} até ficar pronta para atender
+ * (retorno de {@code SpringApplication.run}, com o servidor web já escutando), sobre um banco H2 em arquivo
+ * já migrado e carregado com a quantidade sintética de pedidos.
+ *
+ * <p>O banco é criado e carregado na primeira execução e reaproveitado nas seguintes, em
+ * {@code target/benchmark-inicializacao}. Cada fork é uma JVM nova que executa um único reinício.</p>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(5)
+@State(Scope.Benchmark)
+public class InicializacaoBenchmark {
+
+    // Quantidade de dias pelos quais os pedidos sintéticos são distribuídos
+    private static final int DIAS = 365;
+
+    // Quantidade de pedidos gerados e gravados por vez na carga inicial
+    private static final int PARTE = 100_000;
+
+    @Param({"1000000"})
+    private int quantidadePedidos;
+
+    private String arquivo;
+
+    private ConfigurableApplicationContext contexto;
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        Path diretorio = Path.of("target", "benchmark-inicializacao");
+        arquivo = diretorio.resolve("VendasDB-" + quantidadePedidos).toAbsolutePath().toString();
+        if (Files.exists(Path.of(arquivo + ".mv.db"))) {
+            return;
+        }
+        Files.createDirectories(diretorio);
+        try (ConfigurableApplicationContext carga = iniciar()) {
+            PedidoService pedidoService = carga.getBean(PedidoService.class);
+            DadosSinteticos dados = new DadosSinteticos(42);
+            for (int inicio = 0; inicio < quantidadePedidos; inicio += PARTE) {
+                List<PedidoModel> pedidos = new ArrayList<>(PARTE);
+                for (int i = inicio; i < Math.min(inicio + PARTE, quantidadePedidos); i++) {
+                    pedidos.add(dados.pedido(i, DIAS));
+                }
+                pedidoService.salvarLote(pedidos);
+            }
+        }
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext reiniciar() {
+        contexto = iniciar();
+        return contexto;
+    }
+
+    @TearDown(Level.Iteration)
+    public void encerrar() {
+        if (contexto != null) {
+            contexto.close();
+            contexto = null;
+        }
+    }
+
+    private ConfigurableApplicationContext iniciar() {
+        SpringApplication aplicacao = new SpringApplication(VendasApplication.class);
+        aplicacao.setAdditionalProfiles("producao");
+        // Passadas como argumentos para prevalecer sobre o application.properties e o perfil
+        return aplicacao.run(
+                "--vendas.banco.arquivo=" + arquivo,
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--vendas.sql.monitoramento=false");
+    }
+}
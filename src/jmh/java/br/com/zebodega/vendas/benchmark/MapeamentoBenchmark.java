@@ -0,0 +1,77 @@
+package br.com.zebodega.vendas.benchmark;
+
+import br.com.zebodega.vendas.model.ClienteModel;
+import br.com.zebodega.vendas.model.ItensPedidoModel;
+import br.com.zebodega.vendas.model.PedidoModel;
+import br.com.zebodega.vendas.model.ProdutoModel;
+import br.com.zebodega.vendas.rest.dto.ClienteDTO;
+import br.com.zebodega.vendas.rest.dto.ItensPedidoDTO;
+import br.com.zebodega.vendas.rest.dto.PedidoDTO;
+import br.com.zebodega.vendas.sintetico.DadosSinteticos;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede as conversões {@code toDTO()} das entidades, comparando o {@code EntityMapper} com o ModelMapper
+ * que ele substituiu.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class MapeamentoBenchmark {
+
+    private ClienteModel cliente;
+
+    private PedidoModel pedido;
+
+    private ItensPedidoModel itensPedido;
+
+    private ModelMapper modelMapper;
+
+    @Setup
+    public void preparar() {
+        DadosSinteticos dados = new DadosSinteticos(42);
+        cliente = dados.cliente(1);
+        pedido = dados.pedido(1, 30);
+        pedido.setIdPedido(1L);
+        ProdutoModel produto = dados.produto(1);
+        produto.setIdProduto(1L);
+        itensPedido = dados.itensPedido(pedido, produto);
+        modelMapper = new ModelMapper();
+    }
+
+    @Benchmark
+    public ClienteDTO clienteEntityMapper() {
+        return cliente.toDTO();
+    }
+
+    @Benchmark
+    public ClienteDTO clienteModelMapper() {
+        return modelMapper.map(cliente, ClienteDTO.class);
+    }
+
+    @Benchmark
+    public PedidoDTO pedidoEntityMapper() {
+        return pedido.toDTO();
+    }
+
+    @Benchmark
+    public PedidoDTO pedidoModelMapper() {
+        return modelMapper.map(pedido, PedidoDTO.class);
+    }
+
+    @Benchmark
+    public ItensPedidoDTO itensPedidoEntityMapper() {
+        return itensPedido.toDTO();
+    }
+
+    @Benchmark
+    public ItensPedidoDTO itensPedidoModelMapper() {
+        return modelMapper.map(itensPedido, ItensPedidoDTO.class);
+    }
+}
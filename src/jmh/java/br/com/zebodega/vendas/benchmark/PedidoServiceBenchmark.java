@@ -0,0 +1,112 @@
+package br.com.zebodega.vendas.benchmark;
+
+import br.com.zebodega.vendas.VendasApplication;
+import br.com.zebodega.vendas.model.Dinheiro;
+import br.com.zebodega.vendas.model.PedidoModel;
+import br.com.zebodega.vendas.repository.PedidoRepository;
+import br.com.zebodega.vendas.service.PedidoService;
+import br.com.zebodega.vendas.sintetico.DadosSinteticos;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede {@code PedidoService.aplicarDescontoPedido} e {@code calcularFaturamentoPeriodo} sobre um banco H2
+ * em memória carregado com uma quantidade sintética de pedidos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PedidoServiceBenchmark {
+
+    // Quantidade de dias pelos quais os pedidos sintéticos são distribuídos
+    private static final int DIAS = 365;
+
+    @Param({"1000", "100000"})
+    private int quantidadePedidos;
+
+    private ConfigurableApplicationContext contexto;
+
+    private PedidoService pedidoService;
+
+    private List<PedidoModel> pedidosAtivos;
+
+    private int proximo;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        SpringApplication aplicacao = new SpringApplication(VendasApplication.class);
+        aplicacao.setWebApplicationType(WebApplicationType.NONE);
+        // Passadas como argumentos para prevalecer sobre o application.properties
+        contexto = aplicacao.run(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark",
+                "--logging.level.root=WARN",
+                "--vendas.sql.monitoramento=false");
+        pedidoService = contexto.getBean(PedidoService.class);
+
+        pedidoService.salvarLote(new DadosSinteticos(42).pedidos(quantidadePedidos, DIAS));
+        pedidosAtivos = contexto.getBean(PedidoRepository.class)
+                .findByIdPedidoGreaterThanOrderByIdPedidoAsc(0L, Limit.of(1000)).stream()
+                .filter(pedido -> "ATIVO".equals(pedido.getStatus()))
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Dinheiro aplicarDescontoPedido(ValorRestaurado restauracao) {
+        PedidoModel pedido = new PedidoModel();
+        pedido.setIdPedido(restauracao.idPedido);
+        return pedidoService.aplicarDescontoPedido(pedido);
+    }
+
+    @Benchmark
+    public Dinheiro calcularFaturamentoMes() {
+        LocalDate inicio = DadosSinteticos.dataInicial();
+        return pedidoService.calcularFaturamentoPeriodo(inicio, inicio.plusDays(30));
+    }
+
+    @Benchmark
+    public Dinheiro calcularFaturamentoAno() {
+        LocalDate inicio = DadosSinteticos.dataInicial();
+        return pedidoService.calcularFaturamentoPeriodo(inicio, inicio.plusDays(DIAS));
+    }
+
+    /**
+     * Pedido da próxima invocação de {@code aplicarDescontoPedido}. O desconto é calculado sobre o valor gravado,
+     * então o valor é restaurado antes de cada invocação, fora da medição, para que todas percorram a mesma
+     * faixa de desconto.
+     */
+    @State(Scope.Thread)
+    public static class ValorRestaurado {
+
+        private JdbcTemplate jdbcTemplate;
+
+        private Long idPedido;
+
+        @Setup(Level.Trial)
+        public void iniciar(PedidoServiceBenchmark benchmark) {
+            jdbcTemplate = new JdbcTemplate(benchmark.contexto.getBean(DataSource.class));
+        }
+
+        @Setup(Level.Invocation)
+        public void restaurar(PedidoServiceBenchmark benchmark) {
+            idPedido = benchmark.pedidosAtivos.get(benchmark.proximo++ % benchmark.pedidosAtivos.size()).getIdPedido();
+            jdbcTemplate.update("update pedido set valor_total = ? where id_pedido = ?", 120_000L, idPedido);
+        }
+    }
+}
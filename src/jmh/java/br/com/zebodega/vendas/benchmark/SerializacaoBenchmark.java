@@ -0,0 +1,60 @@
+package br.com.zebodega.vendas.benchmark;
+
+import br.com.zebodega.vendas.model.ClienteModel;
+import br.com.zebodega.vendas.model.PedidoModel;
+import br.com.zebodega.vendas.rest.dto.ClienteDTO;
+import br.com.zebodega.vendas.rest.dto.PedidoDTO;
+import br.com.zebodega.vendas.sintetico.DadosSinteticos;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Mede a serialização JSON das listagens de clientes e pedidos com um ObjectMapper configurado como o da aplicação.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class SerializacaoBenchmark {
+
+    @Param({"100", "1000"})
+    private int quantidade;
+
+    private ObjectMapper objectMapper;
+
+    private List<ClienteDTO> clientes;
+
+    private List<PedidoDTO> pedidos;
+
+    @Setup
+    public void preparar() {
+        DadosSinteticos dados = new DadosSinteticos(42);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        clientes = IntStream.range(0, quantidade)
+                .mapToObj(dados::cliente)
+                .map(ClienteModel::toDTO)
+                .collect(Collectors.toList());
+        pedidos = dados.pedidos(quantidade, 365).stream()
+                .map(PedidoModel::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] clientes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(clientes);
+    }
+
+    @Benchmark
+    public byte[] pedidos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pedidos);
+    }
+}
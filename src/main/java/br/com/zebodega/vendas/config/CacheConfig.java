@@ -0,0 +1,46 @@
+package br.com.zebodega.vendas.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuração do cache em memória dos dados de referência (formas de pagamento e produtos).
+ *
+ * <p>Os caches são limitados em quantidade de entradas e expiram após o tempo configurado,
+ * registrando estatísticas de acertos, faltas e remoções, publicadas como métricas {@code cache.*}
+ * no endpoint {@code /actuator/metrics}. As invalidações feitas pelos serviços só são aplicadas após
+ * o commit da transação que alterou os dados.</p>
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String FORMA_PAGAMENTO = "formaPagamento";
+
+    public static final String CATALOGO_FORMAS_PAGAMENTO = "catalogoFormasPagamento";
+
+    public static final String PRODUTO = "produto";
+
+    public static final String CATALOGO_PRODUTOS = "catalogoProdutos";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${vendas.cache.tamanho-maximo:10000}") long tamanhoMaximo,
+                                     @Value("${vendas.cache.expiracao:5m}") Duration expiracao) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager(
+                FORMA_PAGAMENTO, CATALOGO_FORMAS_PAGAMENTO, PRODUTO, CATALOGO_PRODUTOS);
+        caffeineCacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expiracao)
+                .recordStats());
+        caffeineCacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
@@ -0,0 +1,227 @@
+package br.com.zebodega.vendas.config;
+
+import br.com.zebodega.vendas.config.ReplicacaoSimulada.Comando;
+import br.com.zebodega.vendas.config.ReplicacaoSimulada.Parametro;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * DataSource do primário que registra os comandos de escrita de cada transação, com os seus parâmetros, e os
+ * entrega à {@link ReplicacaoSimulada} na confirmação; comandos de transações desfeitas são descartados.
+ *
+ * <p>Comandos executados com {@code autoCommit} ligado, como os de criação do esquema, são entregues um a um.
+ * A posição atribuída a cada transação é registrada na {@link SessaoLeitura} da thread.</p>
+ */
+public class CapturaEscritasDataSource extends DelegatingDataSource {
+
+    private final ReplicacaoSimulada replicacao;
+
+    public CapturaEscritasDataSource(DataSource dataSource, ReplicacaoSimulada replicacao) {
+        super(dataSource);
+        this.replicacao = replicacao;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return new ConexaoCapturada(super.getConnection()).proxy;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return new ConexaoCapturada(super.getConnection(username, password)).proxy;
+    }
+
+    @FunctionalInterface
+    private interface Execucao {
+        Object executar() throws SQLException;
+    }
+
+    /**
+     * Conexão com os comandos de escrita da transação em andamento.
+     */
+    private final class ConexaoCapturada {
+
+        private final Connection conexao;
+
+        private final Connection proxy;
+
+        private final List<Comando> pendentes = new ArrayList<>();
+
+        // Quantidade de comandos pendentes quando cada savepoint foi criado
+        private final Map<Object, Integer> savepoints = new IdentityHashMap<>();
+
+        private boolean autoCommit;
+
+        ConexaoCapturada(Connection conexao) throws SQLException {
+            this.conexao = conexao;
+            this.autoCommit = conexao.getAutoCommit();
+            this.proxy = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, metodo, argumentos) -> interceptar(metodo, argumentos));
+        }
+
+        private Object interceptar(Method metodo, Object[] argumentos) throws SQLException {
+            switch (metodo.getName()) {
+                case "commit" -> {
+                    confirmar(() -> invocar(conexao, metodo, argumentos));
+                    return null;
+                }
+                case "setAutoCommit" -> {
+                    // Ligar o autoCommit confirma a transação em andamento
+                    boolean ligar = (Boolean) argumentos[0];
+                    if (ligar && !autoCommit) {
+                        confirmar(() -> invocar(conexao, metodo, argumentos));
+                    } else {
+                        invocar(conexao, metodo, argumentos);
+                    }
+                    autoCommit = ligar;
+                    return null;
+                }
+                case "setSavepoint" -> {
+                    Object savepoint = invocar(conexao, metodo, argumentos);
+                    savepoints.put(savepoint, pendentes.size());
+                    return savepoint;
+                }
+                case "rollback" -> {
+                    Integer marca = argumentos == null ? Integer.valueOf(0) : savepoints.get(argumentos[0]);
+                    if (marca != null) {
+                        pendentes.subList(marca, pendentes.size()).clear();
+                    }
+                    return invocar(conexao, metodo, argumentos);
+                }
+                case "close" -> {
+                    pendentes.clear();
+                    return invocar(conexao, metodo, argumentos);
+                }
+                default -> {
+                    Object resultado = invocar(conexao, metodo, argumentos);
+                    if (resultado instanceof Statement comando) {
+                        boolean preparado = metodo.getName().startsWith("prepare");
+                        return capturarComando(comando, preparado ? (String) argumentos[0] : null);
+                    }
+                    return resultado;
+                }
+            }
+        }
+
+        // Método auxiliar que confirma no primário e entrega à replicação os comandos pendentes
+        private void confirmar(Execucao confirmacao) throws SQLException {
+            if (pendentes.isEmpty()) {
+                confirmacao.executar();
+                return;
+            }
+            long posicao = replicacao.confirmar(pendentes, confirmacao::executar);
+            pendentes.clear();
+            savepoints.clear();
+            SessaoLeitura.registrarEscrita(posicao);
+        }
+
+        // Método auxiliar que executa um comando de escrita e o registra na transação ou, em autoCommit, o entrega
+        private Object escrever(List<Comando> comandos, Execucao execucao) throws SQLException {
+            if (comandos.isEmpty()) {
+                return execucao.executar();
+            }
+            if (!autoCommit) {
+                Object resultado = execucao.executar();
+                pendentes.addAll(comandos);
+                return resultado;
+            }
+            Object[] resultado = new Object[1];
+            long posicao = replicacao.confirmar(comandos, () -> resultado[0] = execucao.executar());
+            SessaoLeitura.registrarEscrita(posicao);
+            return resultado[0];
+        }
+
+        // Método auxiliar que envolve o comando para registrar os parâmetros e as execuções de escrita
+        private Statement capturarComando(Statement comando, String sqlPreparado) {
+            Class<?> tipo = comando instanceof CallableStatement ? CallableStatement.class
+                    : comando instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+            Map<Integer, Parametro> parametros = new TreeMap<>();
+            List<List<Parametro>> lote = new ArrayList<>();
+            List<String> loteSql = new ArrayList<>();
+            return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{tipo},
+                    (proxy, metodo, argumentos) -> {
+                        String nome = metodo.getName();
+                        if (nome.startsWith("set") && argumentos != null && argumentos.length >= 2 && argumentos[0] instanceof Integer indice) {
+                            parametros.put(indice, new Parametro(metodo, argumentos.clone()));
+                            return invocar(comando, metodo, argumentos);
+                        }
+                        switch (nome) {
+                            case "clearParameters" -> parametros.clear();
+                            case "addBatch" -> {
+                                if (argumentos == null) {
+                                    lote.add(List.copyOf(parametros.values()));
+                                } else {
+                                    loteSql.add((String) argumentos[0]);
+                                }
+                            }
+                            case "clearBatch" -> {
+                                lote.clear();
+                                loteSql.clear();
+                            }
+                            case "executeBatch", "executeLargeBatch" -> {
+                                List<Comando> comandos = new ArrayList<>();
+                                if (!lote.isEmpty()) {
+                                    comandos.add(new Comando(sqlPreparado, List.copyOf(lote)));
+                                }
+                                for (String sql : loteSql) {
+                                    comandos.add(new Comando(sql, List.of(List.of())));
+                                }
+                                lote.clear();
+                                loteSql.clear();
+                                return escrever(comandos, () -> invocar(comando, metodo, argumentos));
+                            }
+                            case "execute", "executeUpdate", "executeLargeUpdate" -> {
+                                String sql = sqlPreparado != null ? sqlPreparado : (String) argumentos[0];
+                                if (!consulta(sql)) {
+                                    Comando escrita = new Comando(sql, List.of(List.copyOf(parametros.values())));
+                                    return escrever(List.of(escrita), () -> invocar(comando, metodo, argumentos));
+                                }
+                            }
+                            default -> {
+                            }
+                        }
+                        return invocar(comando, metodo, argumentos);
+                    });
+        }
+    }
+
+    // Método auxiliar que identifica as consultas executadas por execute, que não precisam ser replicadas
+    private static boolean consulta(String sql) {
+        return sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select");
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] argumentos) throws SQLException {
+        try {
+            return metodo.invoke(alvo, argumentos);
+        } catch (InvocationTargetException e) {
+            Throwable causa = e.getTargetException();
+            if (causa instanceof SQLException erro) {
+                throw erro;
+            }
+            if (causa instanceof RuntimeException erro) {
+                throw erro;
+            }
+            if (causa instanceof Error erro) {
+                throw erro;
+            }
+            throw new SQLException(causa);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.zebodega.vendas.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca os métodos de serviço de leitura analítica (relatórios, somas em períodos e exportações em fluxo),
+ * cuja transação deve usar o pool de conexões de relatórios em vez do pool transacional.
+ *
+ * <p>Deve ser usada em métodos {@code @Transactional(readOnly = true)} chamados de fora do serviço. Quando o
+ * método participa de uma transação já iniciada, a conexão dessa transação continua sendo usada. Com as
+ * réplicas de leitura habilitadas, o pool de relatórios só é usado quando a leitura vai para o primário.</p>
+ *
+ * @see RoteadorPools
+ */
+@Documented
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConsultaRelatorio {
+}
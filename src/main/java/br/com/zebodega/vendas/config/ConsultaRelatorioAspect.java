@@ -0,0 +1,28 @@
+package br.com.zebodega.vendas.config;
+
+import br.com.zebodega.vendas.config.RoteadorPools.Pool;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Direciona para o pool de relatórios as conexões obtidas durante os métodos anotados com {@link ConsultaRelatorio}.
+ *
+ * <p>Executa antes do interceptador de {@code @Transactional}, pois a conexão da transação é obtida na sua abertura.</p>
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ConsultaRelatorioAspect {
+
+    @Around("@annotation(br.com.zebodega.vendas.config.ConsultaRelatorio) || @within(br.com.zebodega.vendas.config.ConsultaRelatorio)")
+    public Object usarPoolRelatorios(ProceedingJoinPoint ponto) throws Throwable {
+        Pool anterior = RoteadorPools.selecionar(Pool.RELATORIOS);
+        try {
+            return ponto.proceed();
+        } finally {
+            RoteadorPools.restaurar(anterior);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.zebodega.vendas.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Configuração do log de comandos SQL lentos, que substitui o {@code hibernate.show_sql}.
+ *
+ * <p>O DataSource principal é envolvido pelo {@link MonitorConsultasDataSource}, que mede cada comando no nível
+ * do JDBC, qualquer que seja o pool de onde vem a conexão.
+ * São registrados no log os comandos acima de {@code vendas.sql.limite-lento} e uma fração
+ * {@code vendas.sql.taxa-amostragem} dos demais; o ranking dos mais lentos fica em
+ * {@code /actuator/consultaslentas}. Desligado por {@code vendas.sql.monitoramento=false}.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "vendas.sql.monitoramento", havingValue = "true", matchIfMissing = true)
+public class ConsultasLentasConfig {
+
+    @Bean
+    public RegistroConsultasLentas registroConsultasLentas(@Value("${vendas.sql.limite-lento:200ms}") Duration limite,
+                                                           @Value("${vendas.sql.taxa-amostragem:0}") double taxaAmostragem,
+                                                           @Value("${vendas.sql.tamanho-ranking:20}") int tamanhoRanking) {
+        return new RegistroConsultasLentas(limite, taxaAmostragem, tamanhoRanking);
+    }
+
+    @Bean
+    public static BeanPostProcessor monitorConsultasPostProcessor(ObjectProvider<RegistroConsultasLentas> registro) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Apenas o DataSource principal, para não medir duas vezes os comandos feitos nos pools por trás dele
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof MonitorConsultasDataSource)) {
+                    return new MonitorConsultasDataSource(dataSource, registro.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public ConsultasLentasEndpoint consultasLentasEndpoint(RegistroConsultasLentas registro) {
+        return new ConsultasLentasEndpoint(registro);
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.zebodega.vendas.config;
+
+import br.com.zebodega.vendas.rest.dto.ConsultaLentaDTO;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+/**
+ * Endpoint do actuator ({@code /actuator/consultaslentas}) com o ranking dos comandos SQL mais lentos.
+ */
+@Endpoint(id = "consultaslentas")
+public class ConsultasLentasEndpoint {
+
+    private final RegistroConsultasLentas registro;
+
+    public ConsultasLentasEndpoint(RegistroConsultasLentas registro) {
+        this.registro = registro;
+    }
+
+    /**
+     * Obtém o ranking, do comando mais lento para o mais rápido.
+     *
+     * @return Lista de ConsultaLentaDTO.
+     */
+    @ReadOperation
+    public List<ConsultaLentaDTO> obterRanking() {
+        return registro.obterRanking();
+    }
+
+    /**
+     * Reinicia o ranking.
+     */
+    @DeleteOperation
+    public void limpar() {
+        registro.limpar();
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.zebodega.vendas.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca os métodos de serviço de leitura cujo resultado é guardado além da requisição: os que preenchem os
+ * caches da aplicação e os que atendem as leituras protegidas por ETag (ver {@code VersaoTabelaService}).
+ *
+ * <p>Com as réplicas de leitura habilitadas, a transação desses métodos só é atendida por uma réplica que já
+ * tenha aplicado todas as transações confirmadas no primário até o início da leitura; sem nenhuma nessas
+ * condições, a leitura vai para o primário. Assim um cache ou um cliente nunca guarda dados anteriores a uma
+ * alteração já refletida na versão da tabela ou já removida do cache. Assim como {@link ConsultaRelatorio},
+ * só tem efeito quando o método abre a transação.</p>
+ *
+ * @see RoteadorLeituraEscrita
+ */
+@Documented
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LeituraConsistente {
+}
@@ -0,0 +1,28 @@
+package br.com.zebodega.vendas.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Exige réplicas em dia para as conexões obtidas durante os métodos anotados com {@link LeituraConsistente}.
+ *
+ * <p>Executa antes do interceptador de {@code @Transactional} e do de cache, pois a conexão da transação é
+ * obtida na sua abertura e o cache é preenchido dentro dela.</p>
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class LeituraConsistenteAspect {
+
+    @Around("@annotation(br.com.zebodega.vendas.config.LeituraConsistente) || @within(br.com.zebodega.vendas.config.LeituraConsistente)")
+    public Object exigirReplicaEmDia(ProceedingJoinPoint ponto) throws Throwable {
+        boolean anterior = RoteadorLeituraEscrita.exigirConsistencia(true);
+        try {
+            return ponto.proceed();
+        } finally {
+            RoteadorLeituraEscrita.exigirConsistencia(anterior);
+        }
+    }
+}
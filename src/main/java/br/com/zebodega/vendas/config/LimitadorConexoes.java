@@ -0,0 +1,114 @@
+package br.com.zebodega.vendas.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource que limita, por um semáforo justo, quantas threads podem manter uma conexão aberta ao mesmo tempo.
+ *
+ * <p>Com threads virtuais o número de requisições simultâneas deixa de ser limitado pelo pool do Tomcat;
+ * o semáforo, dimensionado pelo pool de conexões, faz as threads excedentes aguardarem em fila ordenada
+ * (sem ocupar threads de plataforma) em vez de disputarem o pool todas ao mesmo tempo. A vaga é devolvida
+ * quando a conexão é fechada.</p>
+ */
+public class LimitadorConexoes extends DelegatingDataSource {
+
+    private final Semaphore vagas;
+
+    private final int quantidadeVagas;
+
+    private final Duration esperaMaxima;
+
+    public LimitadorConexoes(DataSource dataSource, int quantidadeVagas, Duration esperaMaxima) {
+        super(dataSource);
+        this.vagas = new Semaphore(quantidadeVagas, true);
+        this.quantidadeVagas = quantidadeVagas;
+        this.esperaMaxima = esperaMaxima;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        adquirirVaga();
+        try {
+            return liberarAoFechar(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            vagas.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        adquirirVaga();
+        try {
+            return liberarAoFechar(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            vagas.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Quantidade de threads aguardando uma vaga no momento.
+     *
+     * @return Tamanho estimado da fila de espera.
+     */
+    public int getAguardando() {
+        return vagas.getQueueLength();
+    }
+
+    /**
+     * Quantidade de conexões obtidas através do limitador e ainda não fechadas.
+     *
+     * @return Vagas ocupadas.
+     */
+    public int getEmUso() {
+        return quantidadeVagas - vagas.availablePermits();
+    }
+
+    // Método auxiliar que aguarda uma vaga até o tempo máximo configurado
+    private void adquirirVaga() throws SQLException {
+        try {
+            if (!vagas.tryAcquire(esperaMaxima.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("Nenhuma conexão com o banco de dados disponível após " + esperaMaxima.toMillis() + " ms.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrompido enquanto aguardava uma conexão com o banco de dados.", e);
+        }
+    }
+
+    // Método auxiliar que envolve a conexão para devolver a vaga uma única vez, no fechamento
+    private Connection liberarAoFechar(Connection conexao) {
+        AtomicBoolean liberada = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, metodo, argumentos) -> {
+                    if ("close".equals(metodo.getName()) && liberada.compareAndSet(false, true)) {
+                        try {
+                            conexao.close();
+                        } finally {
+                            vagas.release();
+                        }
+                        return null;
+                    }
+                    if ("unwrap".equals(metodo.getName()) && Connection.class.equals(argumentos[0])) {
+                        return conexao;
+                    }
+                    try {
+                        return metodo.invoke(conexao, argumentos);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.zebodega.vendas.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração das métricas da aplicação, publicadas no formato Prometheus em {@code /actuator/prometheus}.
+ *
+ * <p>Os serviços anotados com {@code @Timed(MetricasConfig.TEMPO_SERVICO)} têm cada método público
+ * cronometrado, com as tags {@code class} e {@code method}; as consultas dos repositórios e as requisições
+ * HTTP são cronometradas pelo próprio Spring Boot, e cada pool de conexões expõe os medidores
+ * {@code hikaricp.*} com a tag {@code pool}.</p>
+ */
+@Configuration
+public class MetricasConfig {
+
+    /**
+     * Nome do temporizador dos métodos públicos dos serviços.
+     */
+    public static final String TEMPO_SERVICO = "vendas.servico";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,135 @@
+package br.com.zebodega.vendas.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource que mede cada comando SQL no nível do JDBC e entrega a medição ao {@link RegistroConsultasLentas}.
+ *
+ * <p>Para cada comando são medidos o tempo de execução (nas consultas, até o fechamento do
+ * {@code ResultSet}, incluindo a leitura das linhas), a quantidade de linhas lidas ou alteradas e a
+ * quantidade de parâmetros associados.</p>
+ */
+public class MonitorConsultasDataSource extends DelegatingDataSource {
+
+    private final RegistroConsultasLentas registro;
+
+    public MonitorConsultasDataSource(DataSource dataSource, RegistroConsultasLentas registro) {
+        super(dataSource);
+        this.registro = registro;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return monitorarConexao(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return monitorarConexao(super.getConnection(username, password));
+    }
+
+    // Método auxiliar que envolve a conexão para monitorar os comandos criados por ela
+    private Connection monitorarConexao(Connection conexao) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, metodo, argumentos) -> {
+                    Object resultado = invocar(conexao, metodo, argumentos);
+                    if (resultado instanceof Statement comando) {
+                        boolean preparado = metodo.getName().startsWith("prepare");
+                        return monitorarComando(comando, preparado ? (String) argumentos[0] : null);
+                    }
+                    return resultado;
+                });
+    }
+
+    // Método auxiliar que envolve o comando para medir cada execução
+    private Statement monitorarComando(Statement comando, String sqlPreparado) {
+        Class<?> tipo = comando instanceof CallableStatement ? CallableStatement.class
+                : comando instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        int[] parametros = {0};
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{tipo},
+                (proxy, metodo, argumentos) -> {
+                    String nome = metodo.getName();
+                    if (nome.startsWith("set") && argumentos != null && argumentos.length >= 2 && argumentos[0] instanceof Integer) {
+                        parametros[0]++;
+                        return invocar(comando, metodo, argumentos);
+                    }
+                    if (!nome.startsWith("execute")) {
+                        return invocar(comando, metodo, argumentos);
+                    }
+
+                    // Em Statement simples o SQL vem no próprio execute, exceto no executeBatch
+                    String sql = sqlPreparado != null ? sqlPreparado
+                            : argumentos != null && argumentos.length > 0 ? (String) argumentos[0] : "(lote de comandos)";
+                    int quantidadeParametros = parametros[0];
+                    parametros[0] = 0;
+                    long inicio = System.nanoTime();
+                    Object resultado = invocar(comando, metodo, argumentos);
+                    if (resultado instanceof ResultSet linhas) {
+                        return monitorarResultado(linhas, sql, inicio, quantidadeParametros);
+                    }
+                    registro.registrar(sql, System.nanoTime() - inicio, contarLinhas(resultado, comando), quantidadeParametros);
+                    return resultado;
+                });
+    }
+
+    // Método auxiliar que envolve o resultado de uma consulta para contar as linhas lidas até o fechamento
+    private ResultSet monitorarResultado(ResultSet resultado, String sql, long inicio, int parametros) {
+        long[] linhas = {0};
+        boolean[] registrado = {false};
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, metodo, argumentos) -> {
+                    Object retorno = invocar(resultado, metodo, argumentos);
+                    if ("next".equals(metodo.getName()) && Boolean.TRUE.equals(retorno)) {
+                        linhas[0]++;
+                    } else if ("close".equals(metodo.getName()) && !registrado[0]) {
+                        registrado[0] = true;
+                        registro.registrar(sql, System.nanoTime() - inicio, linhas[0], parametros);
+                    }
+                    return retorno;
+                });
+    }
+
+    // Método auxiliar que obtém as linhas alteradas a partir do retorno de execute, executeUpdate ou executeBatch
+    private static long contarLinhas(Object resultado, Statement comando) throws SQLException {
+        if (resultado instanceof Number quantidade) {
+            return quantidade.longValue();
+        }
+        if (resultado instanceof int[] quantidades) {
+            long total = 0;
+            for (int quantidade : quantidades) {
+                total += Math.max(quantidade, 0);
+            }
+            return total;
+        }
+        if (resultado instanceof long[] quantidades) {
+            long total = 0;
+            for (long quantidade : quantidades) {
+                total += Math.max(quantidade, 0);
+            }
+            return total;
+        }
+        if (Boolean.FALSE.equals(resultado)) {
+            return comando.getUpdateCount();
+        }
+        return -1;
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(alvo, argumentos);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.zebodega.vendas.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuração dos pools de conexões separados por carga de trabalho.
+ *
+ * <p>O pool transacional atende as leituras e escritas curtas e é configurado por {@code spring.datasource.hikari.*};
+ * o pool de relatórios, somente leitura, atende os métodos anotados com {@link ConsultaRelatorio} e é configurado
+ * por {@code vendas.banco.relatorios.hikari.*}, com tamanho e tempo de espera próprios. Assim uma varredura longa
+ * não ocupa as conexões das consultas por ID. Ambos usam a URL e as credenciais de {@code spring.datasource.*} e
+ * publicam os medidores {@code hikaricp.*} (espera, uso, conexões ativas e pendentes) com a tag {@code pool}.</p>
+ */
+@Configuration
+public class PoolsConexaoConfig {
+
+    public static final String POOL_TRANSACIONAL = "vendas-transacional";
+
+    public static final String POOL_RELATORIOS = "vendas-relatorios";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourceTransacional(DataSourceProperties propriedades) {
+        HikariDataSource dataSource = propriedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(POOL_TRANSACIONAL);
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("vendas.banco.relatorios.hikari")
+    public HikariDataSource dataSourceRelatorios(DataSourceProperties propriedades) {
+        HikariDataSource dataSource = propriedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(POOL_RELATORIOS);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * DataSource usado pelo JPA, pelas migrações e pelo restante da aplicação. Com as réplicas de leitura
+     * habilitadas ({@link ReplicasConfig}), as transações somente leitura são desviadas para elas.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("dataSourceTransacional") DataSource transacional,
+                                 @Qualifier("dataSourceRelatorios") DataSource relatorios,
+                                 ObjectProvider<ReplicacaoSimulada> replicacao) {
+        DataSource primario = new RoteadorPools(transacional, relatorios);
+        ReplicacaoSimulada replicas = replicacao.getIfAvailable();
+        return replicas != null ? new RoteadorLeituraEscrita(primario, replicas) : primario;
+    }
+
+    @Bean
+    public ConsultaRelatorioAspect consultaRelatorioAspect() {
+        return new ConsultaRelatorioAspect();
+    }
+}
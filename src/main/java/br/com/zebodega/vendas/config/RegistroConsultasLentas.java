@@ -0,0 +1,111 @@
+package br.com.zebodega.vendas.config;
+
+import br.com.zebodega.vendas.rest.dto.ConsultaLentaDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Recebe a medição de cada comando SQL executado, registra no log apenas os que passam do limite
+ * configurado (ou uma fração amostrada dos demais) e mantém o ranking dos comandos mais lentos desde a
+ * inicialização ou a última limpeza, com a pior execução de cada um.
+ *
+ * <p>O log é escrito no logger {@code vendas.sql.lentas}, associado a um appender assíncrono em
+ * {@code logback-spring.xml}, para que a escrita não ocorra na thread da requisição.</p>
+ */
+public class RegistroConsultasLentas {
+
+    private static final Logger LOG = LoggerFactory.getLogger("vendas.sql.lentas");
+
+    private static final Comparator<ConsultaLentaDTO> POR_DURACAO = Comparator.comparingDouble(ConsultaLentaDTO::getDuracaoMs);
+
+    private final long limiteNanos;
+
+    private final double taxaAmostragem;
+
+    private final int tamanhoRanking;
+
+    // Heap com a menor duração no topo, para descartar rapidamente a mais rápida do ranking
+    private final PriorityQueue<ConsultaLentaDTO> ranking;
+
+    private final Map<String, ConsultaLentaDTO> rankingPorSql = new HashMap<>();
+
+    // Menor duração do ranking quando cheio; consultas mais rápidas são descartadas sem sincronizar
+    private volatile double menorDuracaoRanking;
+
+    public RegistroConsultasLentas(Duration limite, double taxaAmostragem, int tamanhoRanking) {
+        this.limiteNanos = limite.toNanos();
+        this.taxaAmostragem = taxaAmostragem;
+        this.tamanhoRanking = tamanhoRanking;
+        this.ranking = new PriorityQueue<>(tamanhoRanking + 1, POR_DURACAO);
+    }
+
+    /**
+     * Registra a execução de um comando SQL.
+     *
+     * @param sql        Comando executado.
+     * @param nanos      Tempo de execução em nanossegundos.
+     * @param linhas     Linhas lidas ou alteradas, ou {@code -1} se desconhecido.
+     * @param parametros Quantidade de parâmetros associados ao comando.
+     */
+    public void registrar(String sql, long nanos, long linhas, int parametros) {
+        double duracaoMs = nanos / 1_000_000.0;
+        boolean lenta = nanos >= limiteNanos;
+        if (lenta) {
+            LOG.warn("SQL lento: {} ms, {} linhas, {} parâmetros: {}", String.format("%.1f", duracaoMs), linhas, parametros, sql);
+        } else if (taxaAmostragem > 0 && ThreadLocalRandom.current().nextDouble() < taxaAmostragem) {
+            LOG.info("SQL amostrado: {} ms, {} linhas, {} parâmetros: {}", String.format("%.1f", duracaoMs), linhas, parametros, sql);
+        }
+        if (tamanhoRanking > 0 && duracaoMs > menorDuracaoRanking) {
+            incluirNoRanking(new ConsultaLentaDTO(sql, duracaoMs, linhas, parametros, Instant.now()));
+        }
+    }
+
+    /**
+     * Obtém o ranking atual, do comando mais lento para o mais rápido.
+     *
+     * @return Lista de ConsultaLentaDTO.
+     */
+    public synchronized List<ConsultaLentaDTO> obterRanking() {
+        List<ConsultaLentaDTO> consultas = new ArrayList<>(ranking);
+        consultas.sort(POR_DURACAO.reversed());
+        return consultas;
+    }
+
+    /**
+     * Descarta o ranking acumulado.
+     */
+    public synchronized void limpar() {
+        ranking.clear();
+        rankingPorSql.clear();
+        menorDuracaoRanking = 0;
+    }
+
+    // Mantém no ranking apenas a execução mais lenta de cada comando
+    private synchronized void incluirNoRanking(ConsultaLentaDTO consulta) {
+        ConsultaLentaDTO anterior = rankingPorSql.get(consulta.getSql());
+        if (anterior != null) {
+            if (anterior.getDuracaoMs() >= consulta.getDuracaoMs()) {
+                return;
+            }
+            ranking.remove(anterior);
+        }
+        ranking.add(consulta);
+        rankingPorSql.put(consulta.getSql(), consulta);
+        if (ranking.size() > tamanhoRanking) {
+            rankingPorSql.remove(ranking.poll().getSql());
+        }
+        if (ranking.size() == tamanhoRanking) {
+            menorDuracaoRanking = ranking.peek().getDuracaoMs();
+        }
+    }
+}
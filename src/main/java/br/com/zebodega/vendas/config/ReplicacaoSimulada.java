@@ -0,0 +1,322 @@
+package br.com.zebodega.vendas.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Substituto local da replicação do banco, que mantém réplicas H2 sincronizadas com o primário reaplicando
+ * nelas, na mesma ordem, as transações confirmadas no primário.
+ *
+ * <p>Na criação cada réplica recebe uma cópia do primário (comando {@code SCRIPT} do H2). A partir daí o
+ * {@link CapturaEscritasDataSource} entrega cada transação confirmada, com os comandos de escrita e os seus
+ * parâmetros, e uma thread por réplica os reaplica em ordem. Cada transação recebe uma posição crescente, usada
+ * para saber se uma réplica já aplicou determinada escrita; o atraso de uma réplica é o tempo desde a
+ * confirmação da transação mais antiga que ela ainda não aplicou. Uma réplica que falhe ao aplicar uma
+ * transação deixa de ser usada.</p>
+ *
+ * <p>Para que a ordem de aplicação nas réplicas seja a mesma do primário, as confirmações das transações que
+ * escrevem são executadas uma de cada vez, o que limita a vazão de escrita da aplicação; por isso a replicação
+ * simulada vem desligada e deve ser ligada apenas para os testes de leitura em réplicas.</p>
+ *
+ * <p>Somente as escritas feitas através do DataSource da aplicação são replicadas; alterações feitas por fora,
+ * como pelo console do H2, não chegam às réplicas.</p>
+ */
+public class ReplicacaoSimulada implements MeterBinder, Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReplicacaoSimulada.class);
+
+    /**
+     * Parâmetro de um comando preparado: o método {@code set*} chamado e os seus argumentos.
+     */
+    public record Parametro(Method metodo, Object[] argumentos) {
+    }
+
+    /**
+     * Comando de escrita com os parâmetros de cada execução; mais de um conjunto quando executado em lote.
+     */
+    public record Comando(String sql, List<List<Parametro>> execucoes) {
+    }
+
+    /**
+     * Confirmação da transação no primário, executada em ordem com as demais confirmações replicadas.
+     */
+    @FunctionalInterface
+    public interface Confirmacao {
+        void executar() throws SQLException;
+    }
+
+    private record Transacao(long posicao, long confirmadaEm, List<Comando> comandos) {
+    }
+
+    private final List<Replica> replicas = new ArrayList<>();
+
+    private final long atrasoMaximoNanos;
+
+    private final long atrasoSimuladoNanos;
+
+    // Garante que as transações sejam entregues às réplicas na mesma ordem em que foram confirmadas no primário
+    private final ReentrantLock travaConfirmacao = new ReentrantLock();
+
+    // Posição da última transação confirmada; alterada apenas com a trava de confirmação
+    private volatile long ultimaPosicao;
+
+    private final AtomicInteger rodizio = new AtomicInteger();
+
+    // Identifica esta execução, pois as posições recomeçam a cada inicialização
+    private final long inicio = System.currentTimeMillis();
+
+    /**
+     * @param primario       DataSource do primário, usado para copiar o estado inicial para as réplicas.
+     * @param replicas       DataSources das réplicas, pelo nome.
+     * @param atrasoMaximo   Atraso a partir do qual uma réplica deixa de receber leituras.
+     * @param atrasoSimulado Tempo de espera antes de aplicar cada transação, simulando a latência da replicação.
+     */
+    public ReplicacaoSimulada(DataSource primario, Map<String, DataSource> replicas, Duration atrasoMaximo, Duration atrasoSimulado) {
+        this.atrasoMaximoNanos = atrasoMaximo.toNanos();
+        this.atrasoSimuladoNanos = atrasoSimulado.toNanos();
+        List<String> copia = copiarPrimario(primario);
+        replicas.forEach((nome, dataSource) -> this.replicas.add(new Replica(nome, dataSource, copia)));
+    }
+
+    /**
+     * Confirma a transação no primário e a entrega às réplicas, em ordem com as demais.
+     *
+     * @param comandos    Comandos de escrita executados na transação.
+     * @param confirmacao Confirmação da transação no primário; se falhar, nada é entregue.
+     * @return Posição atribuída à transação.
+     */
+    public long confirmar(List<Comando> comandos, Confirmacao confirmacao) throws SQLException {
+        travaConfirmacao.lock();
+        try {
+            confirmacao.executar();
+            Transacao transacao = new Transacao(ultimaPosicao + 1, System.nanoTime(), List.copyOf(comandos));
+            ultimaPosicao = transacao.posicao();
+            for (Replica replica : replicas) {
+                replica.receber(transacao);
+            }
+            return transacao.posicao();
+        } finally {
+            travaConfirmacao.unlock();
+        }
+    }
+
+    /**
+     * Escolhe, em rodízio, uma réplica dentro do atraso máximo que já tenha aplicado a posição informada.
+     *
+     * @param posicaoMinima Posição que a réplica já deve ter aplicado.
+     * @return DataSource da réplica, ou {@code null} se nenhuma estiver em condições de atender.
+     */
+    public DataSource escolherReplica(long posicaoMinima) {
+        int quantidade = replicas.size();
+        if (quantidade == 0) {
+            return null;
+        }
+        long agora = System.nanoTime();
+        int primeira = Math.floorMod(rodizio.getAndIncrement(), quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            Replica replica = replicas.get((primeira + i) % quantidade);
+            if (replica.disponivel(posicaoMinima, agora)) {
+                return replica.dataSource;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return Posição da última transação confirmada no primário.
+     */
+    public long getUltimaPosicao() {
+        return ultimaPosicao;
+    }
+
+    /**
+     * @return Instante de criação desta replicação, que identifica a execução a que as posições se referem.
+     */
+    public long getInicio() {
+        return inicio;
+    }
+
+    /**
+     * Publica, por réplica, o atraso e a quantidade de transações ainda não aplicadas.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Replica replica : replicas) {
+            TimeGauge.builder("vendas.banco.replica.atraso", replica, TimeUnit.NANOSECONDS, r -> r.atrasoNanos(System.nanoTime()))
+                    .description("Tempo desde a confirmação da transação mais antiga ainda não aplicada pela réplica")
+                    .tag("replica", replica.nome)
+                    .register(registry);
+            Gauge.builder("vendas.banco.replica.pendentes", replica, r -> ultimaPosicao - r.posicaoAplicada)
+                    .description("Transações confirmadas no primário e ainda não aplicadas pela réplica")
+                    .tag("replica", replica.nome)
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Replica replica : replicas) {
+            replica.aplicador.interrupt();
+            if (replica.dataSource instanceof Closeable fechavel) {
+                fechavel.close();
+            }
+        }
+    }
+
+    // Método auxiliar que gera o script com o esquema e os dados atuais do primário
+    private static List<String> copiarPrimario(DataSource primario) {
+        List<String> script = new ArrayList<>();
+        try (Connection conexao = primario.getConnection();
+             Statement comando = conexao.createStatement();
+             ResultSet linhas = comando.executeQuery("SCRIPT")) {
+            while (linhas.next()) {
+                script.add(linhas.getString(1));
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Não foi possível copiar o banco primário para as réplicas.", e);
+        }
+        return script;
+    }
+
+    /**
+     * Réplica com a fila das transações a aplicar e a thread que as aplica.
+     */
+    private final class Replica {
+
+        private final String nome;
+
+        private final DataSource dataSource;
+
+        // A transação em aplicação permanece na cabeça da fila até ser concluída, para o cálculo do atraso
+        private final ConcurrentLinkedQueue<Transacao> pendentes = new ConcurrentLinkedQueue<>();
+
+        private final Semaphore disponiveis = new Semaphore(0);
+
+        private final Thread aplicador;
+
+        private volatile long posicaoAplicada;
+
+        private volatile boolean falhou;
+
+        Replica(String nome, DataSource dataSource, List<String> copia) {
+            this.nome = nome;
+            this.dataSource = dataSource;
+            try (Connection conexao = dataSource.getConnection(); Statement comando = conexao.createStatement()) {
+                for (String sql : copia) {
+                    comando.execute(sql);
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException("Não foi possível inicializar a réplica " + nome + ".", e);
+            }
+            this.aplicador = Thread.ofPlatform().daemon().name("replicacao-" + nome).start(this::aplicarPendentes);
+        }
+
+        void receber(Transacao transacao) {
+            if (!falhou) {
+                pendentes.add(transacao);
+                disponiveis.release();
+            }
+        }
+
+        long atrasoNanos(long agora) {
+            Transacao maisAntiga = pendentes.peek();
+            return maisAntiga != null ? agora - maisAntiga.confirmadaEm() : 0;
+        }
+
+        boolean disponivel(long posicaoMinima, long agora) {
+            return !falhou && posicaoAplicada >= posicaoMinima && atrasoNanos(agora) <= atrasoMaximoNanos;
+        }
+
+        // Método auxiliar executado pela thread da réplica, que aplica as transações na ordem recebida
+        private void aplicarPendentes() {
+            try {
+                while (true) {
+                    disponiveis.acquire();
+                    Transacao transacao = pendentes.peek();
+                    aguardarAtrasoSimulado(transacao);
+                    aplicar(transacao);
+                    // Retirada antes de avançar a posição, para que o atraso e a posição nunca pareçam melhores que o real
+                    pendentes.poll();
+                    posicaoAplicada = transacao.posicao();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (SQLException | RuntimeException e) {
+                falhou = true;
+                pendentes.clear();
+                LOG.error("Réplica {} desativada: falha ao aplicar a transação da posição {}.", nome, posicaoAplicada + 1, e);
+            }
+        }
+
+        private void aguardarAtrasoSimulado(Transacao transacao) throws InterruptedException {
+            long espera;
+            while ((espera = transacao.confirmadaEm() + atrasoSimuladoNanos - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(espera);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        }
+
+        private void aplicar(Transacao transacao) throws SQLException {
+            try (Connection conexao = dataSource.getConnection()) {
+                conexao.setAutoCommit(false);
+                for (Comando comando : transacao.comandos()) {
+                    try (PreparedStatement preparado = conexao.prepareStatement(comando.sql())) {
+                        if (comando.execucoes().size() == 1) {
+                            associar(preparado, comando.execucoes().get(0));
+                            preparado.execute();
+                        } else {
+                            for (List<Parametro> parametros : comando.execucoes()) {
+                                associar(preparado, parametros);
+                                preparado.addBatch();
+                            }
+                            preparado.executeBatch();
+                        }
+                    }
+                }
+                conexao.commit();
+            }
+        }
+
+        private void associar(PreparedStatement preparado, List<Parametro> parametros) throws SQLException {
+            for (Parametro parametro : parametros) {
+                try {
+                    parametro.metodo().invoke(preparado, parametro.argumentos());
+                } catch (InvocationTargetException e) {
+                    if (e.getTargetException() instanceof SQLException erro) {
+                        throw erro;
+                    }
+                    throw new IllegalStateException(e.getTargetException());
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+    }
+}
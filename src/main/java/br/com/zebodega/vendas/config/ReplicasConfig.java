@@ -0,0 +1,64 @@
+package br.com.zebodega.vendas.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuração das réplicas de leitura, ativada por {@code vendas.banco.replicas.habilitado=true}.
+ *
+ * <p>Cada URL de {@code vendas.banco.replicas.urls} ganha um pool de conexões próprio, com as credenciais de
+ * {@code spring.datasource.*} e os medidores {@code hikaricp.*}, e é mantida em dia pela
+ * {@link ReplicacaoSimulada}. O DataSource principal passa a ser o {@link RoteadorLeituraEscrita} (ver
+ * {@link PoolsConexaoConfig}), e a leitura das próprias escritas é mantida pelo {@link SessaoLeituraFilter},
+ * que pode ser desligado por {@code vendas.banco.replicas.ler-proprias-escritas=false}. As leituras que
+ * preenchem caches ou atendem requisições condicionais exigem réplicas em dia ({@link LeituraConsistente}).</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "vendas.banco.replicas.habilitado", havingValue = "true")
+public class ReplicasConfig {
+
+    @Bean
+    public ReplicacaoSimulada replicacaoSimulada(@Qualifier("dataSourceTransacional") DataSource primario,
+                                                 DataSourceProperties propriedades,
+                                                 ObjectProvider<MeterRegistry> registry,
+                                                 @Value("${vendas.banco.replicas.urls}") List<String> urls,
+                                                 @Value("${vendas.banco.replicas.tamanho-pool:10}") int tamanhoPool,
+                                                 @Value("${vendas.banco.replicas.atraso-maximo:1s}") Duration atrasoMaximo,
+                                                 @Value("${vendas.banco.replicas.atraso-simulado:0ms}") Duration atrasoSimulado) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : urls) {
+            HikariDataSource replica = propriedades.initializeDataSourceBuilder().type(HikariDataSource.class).url(url.trim()).build();
+            replica.setPoolName("vendas-replica-" + (replicas.size() + 1));
+            replica.setMaximumPoolSize(tamanhoPool);
+            registry.ifAvailable(r -> replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(r)));
+            replicas.put(replica.getPoolName(), replica);
+        }
+        return new ReplicacaoSimulada(primario, replicas, atrasoMaximo, atrasoSimulado);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "vendas.banco.replicas.ler-proprias-escritas", havingValue = "true", matchIfMissing = true)
+    public SessaoLeituraFilter sessaoLeituraFilter(ReplicacaoSimulada replicacao,
+                                                   @Value("${vendas.banco.replicas.duracao-sessao:5m}") Duration duracao) {
+        return new SessaoLeituraFilter(replicacao, duracao);
+    }
+
+    @Bean
+    public LeituraConsistenteAspect leituraConsistenteAspect() {
+        return new LeituraConsistenteAspect();
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.zebodega.vendas.config;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * DataSource principal quando há réplicas de leitura: as transações {@code @Transactional(readOnly = true)} são
+ * atendidas por uma réplica e as demais pelo primário.
+ *
+ * <p>A conexão física só é obtida no primeiro comando da transação, quando o Spring já a marcou como somente
+ * leitura. A réplica é escolhida pela {@link ReplicacaoSimulada} entre as que estão dentro do atraso máximo e já
+ * aplicaram a última escrita da {@link SessaoLeitura} corrente; sem nenhuma nessas condições, a leitura vai para
+ * o primário. Durante os métodos anotados com {@link LeituraConsistente}, a réplica precisa ter aplicado todas as
+ * transações já confirmadas no primário. As conexões do primário passam pelo {@link CapturaEscritasDataSource},
+ * que entrega as escritas à replicação.</p>
+ */
+public class RoteadorLeituraEscrita extends LazyConnectionDataSourceProxy {
+
+    private static final ThreadLocal<Boolean> CONSISTENCIA_EXIGIDA = new ThreadLocal<>();
+
+    public RoteadorLeituraEscrita(DataSource primario, ReplicacaoSimulada replicacao) {
+        this(new CapturaEscritasDataSource(primario, replicacao), replicacao);
+    }
+
+    private RoteadorLeituraEscrita(CapturaEscritasDataSource primario, ReplicacaoSimulada replicacao) {
+        super(primario);
+        setReadOnlyDataSource(new Leitura(primario, replicacao));
+    }
+
+    /**
+     * Liga ou desliga, para as conexões obtidas a seguir pela thread corrente, a exigência de uma réplica que já
+     * tenha aplicado todas as transações confirmadas no primário.
+     *
+     * @param exigir {@code true} para exigir a réplica em dia.
+     * @return Valor anterior, a ser devolvido a este método ao final da operação.
+     */
+    public static boolean exigirConsistencia(boolean exigir) {
+        boolean anterior = Boolean.TRUE.equals(CONSISTENCIA_EXIGIDA.get());
+        if (exigir) {
+            CONSISTENCIA_EXIGIDA.set(Boolean.TRUE);
+        } else {
+            CONSISTENCIA_EXIGIDA.remove();
+        }
+        return anterior;
+    }
+
+    /**
+     * Origem das conexões somente leitura: uma réplica em condições de atender ou, na falta dela, o primário.
+     */
+    private static final class Leitura extends AbstractDataSource {
+
+        private final DataSource primario;
+
+        private final ReplicacaoSimulada replicacao;
+
+        Leitura(DataSource primario, ReplicacaoSimulada replicacao) {
+            this.primario = primario;
+            this.replicacao = replicacao;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return escolher().getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return escolher().getConnection(username, password);
+        }
+
+        private DataSource escolher() {
+            long posicaoMinima = Boolean.TRUE.equals(CONSISTENCIA_EXIGIDA.get())
+                    ? Math.max(replicacao.getUltimaPosicao(), SessaoLeitura.posicaoMinima())
+                    : SessaoLeitura.posicaoMinima();
+            DataSource replica = replicacao.escolherReplica(posicaoMinima);
+            return replica != null ? replica : primario;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.zebodega.vendas.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * DataSource principal da aplicação, que entrega cada conexão a partir do pool transacional ou do pool de
+ * relatórios, conforme a carga de trabalho da thread corrente no momento em que a conexão é obtida.
+ *
+ * <p>A carga de relatórios é marcada pelo {@link ConsultaRelatorioAspect} enquanto dura um método anotado
+ * com {@link ConsultaRelatorio}; fora dele as conexões vêm do pool transacional.</p>
+ */
+public class RoteadorPools extends AbstractRoutingDataSource {
+
+    /**
+     * Pools de conexões disponíveis.
+     */
+    public enum Pool {
+        TRANSACIONAL,
+        RELATORIOS
+    }
+
+    private static final ThreadLocal<Pool> POOL_ATUAL = new ThreadLocal<>();
+
+    public RoteadorPools(DataSource transacional, DataSource relatorios) {
+        setTargetDataSources(Map.of(Pool.TRANSACIONAL, transacional, Pool.RELATORIOS, relatorios));
+        setDefaultTargetDataSource(transacional);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Passa a obter as conexões da thread corrente do pool informado.
+     *
+     * @param pool Pool a ser usado.
+     * @return Pool usado anteriormente, a ser devolvido a {@link #restaurar(Pool)} ao final da operação.
+     */
+    public static Pool selecionar(Pool pool) {
+        Pool anterior = POOL_ATUAL.get();
+        POOL_ATUAL.set(pool);
+        return anterior;
+    }
+
+    /**
+     * Volta a obter as conexões da thread corrente do pool usado antes de {@link #selecionar(Pool)}.
+     *
+     * @param anterior Pool devolvido por {@link #selecionar(Pool)}.
+     */
+    public static void restaurar(Pool anterior) {
+        if (anterior == null) {
+            POOL_ATUAL.remove();
+        } else {
+            POOL_ATUAL.set(anterior);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Pool pool = POOL_ATUAL.get();
+        return pool != null ? pool : Pool.TRANSACIONAL;
+    }
+}
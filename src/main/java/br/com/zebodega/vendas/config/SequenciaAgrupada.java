@@ -0,0 +1,25 @@
+package br.com.zebodega.vendas.config;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca o identificador de uma entidade como gerado pelo {@link SequenciaAgrupadaGenerator}, a partir da
+ * sequência informada e com o otimizador {@code pooled}.
+ */
+@Documented
+@IdGeneratorType(SequenciaAgrupadaGenerator.class)
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SequenciaAgrupada {
+
+    /**
+     * @return Nome da sequência no banco de dados.
+     */
+    String value();
+}
@@ -0,0 +1,48 @@
+package br.com.zebodega.vendas.config;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.lang.reflect.Member;
+import java.util.Properties;
+
+/**
+ * Gerador de identificadores baseado em sequência com otimizador {@code pooled}, aplicado às entidades pela
+ * anotação {@link SequenciaAgrupada}.
+ *
+ * <p>Diferente de {@code GenerationType.IDENTITY}, permite que o Hibernate obtenha os identificadores
+ * antes do INSERT, mantendo o envio em lote (JDBC batch) habilitado. O tamanho de alocação é lido da
+ * propriedade {@value #TAMANHO_ALOCACAO} (configurada em {@code spring.jpa.properties}), sendo
+ * {@value #TAMANHO_ALOCACAO_PADRAO} quando ausente.</p>
+ *
+ * <p>O incremento da sequência no banco deve ser igual ao tamanho de alocação, pois o otimizador {@code pooled}
+ * reserva a faixa entre dois valores consecutivos da sequência; os dois são conferidos na inicialização pela
+ * {@link VerificacaoSequencias}.</p>
+ */
+public class SequenciaAgrupadaGenerator extends SequenceStyleGenerator {
+
+    public static final String TAMANHO_ALOCACAO = "vendas.id.tamanho-alocacao";
+
+    public static final String TAMANHO_ALOCACAO_PADRAO = "50";
+
+    private final String sequencia;
+
+    public SequenciaAgrupadaGenerator(SequenciaAgrupada configuracao, Member membro, CustomIdGeneratorCreationContext contexto) {
+        this.sequencia = configuracao.value();
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        parameters.setProperty(SEQUENCE_PARAM, sequencia);
+        Object tamanhoAlocacao = serviceRegistry.requireService(ConfigurationService.class)
+                .getSettings()
+                .getOrDefault(TAMANHO_ALOCACAO, TAMANHO_ALOCACAO_PADRAO);
+        parameters.setProperty(INCREMENT_PARAM, tamanhoAlocacao.toString());
+        parameters.setProperty(OPT_PARAM, "pooled");
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.zebodega.vendas.config;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Posição da última escrita feita ou já observada pela sessão do cliente, para que as leituras seguintes não
+ * sejam atendidas por uma réplica que ainda não a aplicou (leitura das próprias escritas).
+ *
+ * <p>É aberta pelo {@link SessaoLeituraFilter} durante cada requisição, na thread que a atende. Fora de uma
+ * sessão não há restrição, e qualquer réplica dentro do atraso máximo pode atender as leituras.</p>
+ */
+public final class SessaoLeitura {
+
+    private static final ThreadLocal<SessaoLeitura> ATUAL = new ThreadLocal<>();
+
+    private long posicaoMinima;
+
+    private final LongConsumer aoEscrever;
+
+    private SessaoLeitura(long posicaoMinima, LongConsumer aoEscrever) {
+        this.posicaoMinima = posicaoMinima;
+        this.aoEscrever = aoEscrever;
+    }
+
+    /**
+     * Abre a sessão da thread corrente.
+     *
+     * @param posicaoMinima Posição da última escrita conhecida da sessão.
+     * @param aoEscrever    Recebe a nova posição sempre que a sessão escrever, para devolvê-la ao cliente.
+     */
+    static void abrir(long posicaoMinima, LongConsumer aoEscrever) {
+        ATUAL.set(new SessaoLeitura(posicaoMinima, aoEscrever));
+    }
+
+    static void fechar() {
+        ATUAL.remove();
+    }
+
+    /**
+     * @return Posição que uma réplica já deve ter aplicado para atender a thread corrente; {@code 0} fora de uma sessão.
+     */
+    static long posicaoMinima() {
+        SessaoLeitura sessao = ATUAL.get();
+        return sessao != null ? sessao.posicaoMinima : 0;
+    }
+
+    /**
+     * Registra uma transação confirmada no primário pela thread corrente.
+     *
+     * @param posicao Posição atribuída à transação pela replicação.
+     */
+    static void registrarEscrita(long posicao) {
+        SessaoLeitura sessao = ATUAL.get();
+        if (sessao != null && posicao > sessao.posicaoMinima) {
+            sessao.posicaoMinima = posicao;
+            sessao.aoEscrever.accept(posicao);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.zebodega.vendas.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Mantém a {@link SessaoLeitura} de cada cliente entre requisições através de um cookie com a posição da sua
+ * última escrita.
+ *
+ * <p>O cookie é gravado na resposta da requisição que escreveu e vale pela duração configurada; enquanto
+ * nenhuma réplica tiver aplicado essa posição, as leituras do cliente são atendidas pelo primário. O valor
+ * também identifica a execução da replicação, e cookies de uma execução anterior são ignorados.</p>
+ */
+public class SessaoLeituraFilter extends OncePerRequestFilter {
+
+    private static final String COOKIE = "vendas-escrita";
+
+    private final ReplicacaoSimulada replicacao;
+
+    private final Duration duracao;
+
+    public SessaoLeituraFilter(ReplicacaoSimulada replicacao, Duration duracao) {
+        this.replicacao = replicacao;
+        this.duracao = duracao;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest requisicao, HttpServletResponse resposta, FilterChain cadeia)
+            throws ServletException, IOException {
+        SessaoLeitura.abrir(lerPosicao(requisicao), posicao -> gravarPosicao(resposta, posicao));
+        try {
+            cadeia.doFilter(requisicao, resposta);
+        } finally {
+            SessaoLeitura.fechar();
+        }
+    }
+
+    // Método auxiliar que obtém a posição do cookie, desde que gravado por esta execução
+    private long lerPosicao(HttpServletRequest requisicao) {
+        if (requisicao.getCookies() == null) {
+            return 0;
+        }
+        for (Cookie cookie : requisicao.getCookies()) {
+            if (COOKIE.equals(cookie.getName())) {
+                String[] partes = cookie.getValue().split("\\.");
+                try {
+                    if (partes.length == 2 && Long.parseLong(partes[0]) == replicacao.getInicio()) {
+                        return Long.parseLong(partes[1]);
+                    }
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+
+    // Método auxiliar que devolve a nova posição ao cliente, se a resposta ainda não tiver sido enviada
+    private void gravarPosicao(HttpServletResponse resposta, long posicao) {
+        if (!resposta.isCommitted()) {
+            Cookie cookie = new Cookie(COOKIE, replicacao.getInicio() + "." + posicao);
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) duracao.toSeconds());
+            resposta.addCookie(cookie);
+        }
+    }
+}
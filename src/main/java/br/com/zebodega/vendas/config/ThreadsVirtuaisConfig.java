@@ -0,0 +1,66 @@
+package br.com.zebodega.vendas.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Configuração do modo de execução em threads virtuais, ativado por {@code spring.threads.virtual.enabled=true}.
+ *
+ * <p>Nesse modo o Spring Boot atende as requisições do Tomcat, as transmissões assíncronas e as chamadas
+ * {@code @Transactional} feitas por elas em threads virtuais. Esta configuração acrescenta o
+ * {@link LimitadorConexoes} a cada pool de conexões, dimensionado pelo tamanho do próprio pool, para que as
+ * threads virtuais aguardem em fila pela vez de acessar o banco.</p>
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ThreadsVirtuaisConfig {
+
+    @Bean
+    public static BeanPostProcessor limitadorConexoesPostProcessor(Environment environment) {
+        Duration esperaMaxima = environment.getProperty("vendas.banco.espera-maxima", Duration.class, Duration.ofSeconds(30));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Apenas os pools; o roteador entre eles já obtém as conexões através dos limitadores
+                if (bean instanceof HikariDataSource hikari) {
+                    return new LimitadorConexoes(hikari, hikari.getMaximumPoolSize(), esperaMaxima);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Publica a ocupação de cada limitador, com a tag {@code pool}: conexões em uso e threads aguardando uma vaga.
+     */
+    @Bean
+    public MeterBinder limitadorConexoesMetricas(ObjectProvider<DataSource> dataSources) {
+        return registry -> dataSources.orderedStream()
+                .filter(LimitadorConexoes.class::isInstance)
+                .map(LimitadorConexoes.class::cast)
+                .forEach(limitador -> {
+                    HikariDataSource hikari = DataSourceUnwrapper.unwrap(limitador, HikariDataSource.class);
+                    String pool = hikari != null ? hikari.getPoolName() : "desconhecido";
+                    Gauge.builder("vendas.banco.limitador.ocupadas", limitador, LimitadorConexoes::getEmUso)
+                            .description("Conexões obtidas através do limitador e ainda não fechadas")
+                            .tag("pool", pool)
+                            .register(registry);
+                    Gauge.builder("vendas.banco.limitador.aguardando", limitador, LimitadorConexoes::getAguardando)
+                            .description("Threads aguardando uma vaga para acessar o banco")
+                            .tag("pool", pool)
+                            .register(registry);
+                });
+    }
+}
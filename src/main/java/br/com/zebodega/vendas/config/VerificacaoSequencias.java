@@ -0,0 +1,65 @@
+package br.com.zebodega.vendas.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.DatabaseStructure;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Confere, na inicialização, que o incremento de cada sequência usada pelo {@link SequenciaAgrupadaGenerator} é
+ * igual ao tamanho de alocação configurado, e impede a aplicação de subir se não for.
+ *
+ * <p>O otimizador {@code pooled} reserva a faixa entre dois valores consecutivos da sequência; com um incremento
+ * diferente do tamanho de alocação, instâncias distintas gerariam identificadores repetidos. A conferência lê o
+ * {@code INFORMATION_SCHEMA.SEQUENCES} diretamente, pois o perfil de produção, que cria as sequências pelas
+ * migrações, desliga a leitura dos metadados JDBC pelo Hibernate e, com ela, a conferência do próprio
+ * Hibernate. Sequências ainda inexistentes são ignoradas.</p>
+ */
+@Component
+public class VerificacaoSequencias implements InitializingBean {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        List<DatabaseStructure> sequencias = new ArrayList<>();
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel().forEachEntityDescriptor(entidade -> {
+            if (entidade.getGenerator() instanceof SequenciaAgrupadaGenerator gerador) {
+                sequencias.add(gerador.getDatabaseStructure());
+            }
+        });
+
+        List<String> divergentes = new ArrayList<>();
+        try (Connection conexao = dataSource.getConnection();
+             PreparedStatement consulta = conexao.prepareStatement(
+                     "SELECT INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES WHERE UPPER(SEQUENCE_NAME) = UPPER(?)")) {
+            for (DatabaseStructure sequencia : sequencias) {
+                String nome = sequencia.getPhysicalName().getObjectName().getText();
+                consulta.setString(1, nome);
+                try (ResultSet incremento = consulta.executeQuery()) {
+                    if (incremento.next() && incremento.getLong(1) != sequencia.getIncrementSize()) {
+                        divergentes.add(nome + " (incremento " + incremento.getLong(1) + ")");
+                    }
+                }
+            }
+        }
+        if (!divergentes.isEmpty()) {
+            throw new IllegalStateException("O incremento das sequências " + divergentes + " difere do tamanho de alocação "
+                    + SequenciaAgrupadaGenerator.TAMANHO_ALOCACAO + "; altere um deles para que sejam iguais.");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.zebodega.vendas.exception;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Classe para representar um conflito de concorrência, estendendo StandardError com o estado atual do registro.
+ */
+@Getter
+@Setter
+public class ConflictError extends StandardError {
+    private static final long serialVersionUID = 1L;
+
+    private transient Object estadoAtual;
+}
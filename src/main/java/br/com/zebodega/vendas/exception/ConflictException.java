@@ -0,0 +1,23 @@
+package br.com.zebodega.vendas.exception;
+
+/**
+ * Indica que o registro foi alterado por outra transação e que a alteração solicitada não pôde ser aplicada.
+ * Carrega o estado atual do registro, devolvido ao cliente para que ele possa decidir e tentar novamente.
+ */
+public class ConflictException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final transient Object estadoAtual;
+
+    public ConflictException(String msg, Object estadoAtual) {
+        super(msg);
+        this.estadoAtual = estadoAtual;
+    }
+
+    /**
+     * @return DTO com o estado atual do registro, ou {@code null} se ele tiver sido removido.
+     */
+    public Object getEstadoAtual() {
+        return estadoAtual;
+    }
+}
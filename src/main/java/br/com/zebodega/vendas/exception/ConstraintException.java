@@ -1,13 +1,30 @@
 package br.com.zebodega.vendas.exception;
 
+import java.util.Collections;
+import java.util.List;
+
 public class ConstraintException extends RuntimeException {
     private static final long serialVersionUID = 1L;
+
+    private final List<FieldMessage> errors;
+
     public ConstraintException(String msg) {
         super(msg);
+        this.errors = Collections.emptyList();
     }
     public ConstraintException(String msg, Throwable cause) {
         super(msg, cause);
+        this.errors = Collections.emptyList();
+    }
+    public ConstraintException(String msg, List<FieldMessage> errors) {
+        super(msg);
+        this.errors = List.copyOf(errors);
     }
-}
-
 
+    /**
+     * @return Campos que violaram a restrição, quando informados.
+     */
+    public List<FieldMessage> getErrors() {
+        return errors;
+    }
+}
@@ -24,6 +24,16 @@ public class ControllerExceptionHandler {
 
     @ExceptionHandler(ConstraintException.class)
     public ResponseEntity<StandardError> constraint(ConstraintException e, HttpServletRequest request) {
+        if (!e.getErrors().isEmpty()) {
+            ValidationError err = new ValidationError();
+            err.setTimestamp(System.currentTimeMillis());
+            err.setStatus(HttpStatus.BAD_REQUEST.value());
+            err.setError("Restrição de dados");
+            err.setMessage(e.getMessage());
+            err.setPath(request.getRequestURI());
+            e.getErrors().forEach(error -> err.addError(error.getFieldName(), error.getMessage()));
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(err);
+        }
         StandardError err = new StandardError(System.currentTimeMillis(), HttpStatus.BAD_REQUEST.value(), "Restrição de dados", e.getMessage(), request.getRequestURI());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(err);
     }
@@ -34,6 +44,40 @@ public class ControllerExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(err);
     }
 
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ConflictError> conflict(ConflictException e, HttpServletRequest request) {
+        ConflictError err = new ConflictError();
+        err.setTimestamp(System.currentTimeMillis());
+        err.setStatus(HttpStatus.CONFLICT.value());
+        err.setError("Conflito de concorrência");
+        err.setMessage(e.getMessage());
+        err.setPath(request.getRequestURI());
+        err.setEstadoAtual(e.getEstadoAtual());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(err);
+    }
+
+    @ExceptionHandler(PartialBatchException.class)
+    public ResponseEntity<PartialBatchError> partialBatch(PartialBatchException e, HttpServletRequest request) {
+        // Mantém o status que a causa teria isoladamente
+        HttpStatus status = switch (e.getCause()) {
+            case ConstraintException c -> HttpStatus.BAD_REQUEST;
+            case DataIntegrityException c -> HttpStatus.BAD_REQUEST;
+            case ObjectNotFoundException c -> HttpStatus.NOT_FOUND;
+            case ConflictException c -> HttpStatus.CONFLICT;
+            case BusinessRuleException c -> HttpStatus.CONFLICT;
+            default -> HttpStatus.INTERNAL_SERVER_ERROR;
+        };
+        PartialBatchError err = new PartialBatchError();
+        err.setTimestamp(System.currentTimeMillis());
+        err.setStatus(status.value());
+        err.setError("Carga gravada parcialmente");
+        err.setMessage(e.getMessage());
+        err.setPath(request.getRequestURI());
+        err.setGravados(e.getGravados());
+        err.setPosicaoFalha(e.getGravados());
+        return ResponseEntity.status(status).body(err);
+    }
+
     @ExceptionHandler(SQLException.class)
     public ResponseEntity<StandardError> sql(SQLException e, HttpServletRequest request){
         StandardError err = new StandardError(System.currentTimeMillis(), HttpStatus.INTERNAL_SERVER_ERROR.value(), "Erro de conexão com o banco de dados", e.getMessage(), request.getRequestURI());
@@ -0,0 +1,17 @@
+package br.com.zebodega.vendas.exception;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Classe para representar a falha de uma carga em lotes, estendendo StandardError com o progresso já gravado.
+ */
+@Getter
+@Setter
+public class PartialBatchError extends StandardError {
+    private static final long serialVersionUID = 1L;
+
+    private int gravados;
+
+    private int posicaoFalha;
+}
@@ -0,0 +1,25 @@
+package br.com.zebodega.vendas.exception;
+
+/**
+ * Indica que a gravação de uma carga em lotes foi interrompida pela falha de uma parte, depois que as partes
+ * anteriores já haviam sido confirmadas. Carrega quantos registros, a partir do início da carga, permanecem
+ * gravados, para que o cliente reenvie apenas o restante.
+ */
+public class PartialBatchException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final int gravados;
+
+    public PartialBatchException(int gravados, RuntimeException causa) {
+        super(causa.getMessage(), causa);
+        this.gravados = gravados;
+    }
+
+    /**
+     * @return Quantidade de registros gravados, que é também a posição, na carga, do primeiro registro da
+     * parte que falhou.
+     */
+    public int getGravados() {
+        return gravados;
+    }
+}
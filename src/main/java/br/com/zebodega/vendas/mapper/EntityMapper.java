@@ -0,0 +1,262 @@
+package br.com.zebodega.vendas.mapper;
+
+import br.com.zebodega.vendas.model.*;
+import br.com.zebodega.vendas.rest.dto.*;
+
+/**
+ * Camada única de conversão entre as entidades do pacote {@code model} e os DTOs do pacote {@code rest.dto}.
+ *
+ * <p>Cada par entidade/DTO possui um mapeamento explícito, resolvido em tempo de compilação por sobrecarga
+ * de métodos. Dessa forma não há introspecção por reflexão nem criação de um {@code ModelMapper} a cada
+ * chamada: a conversão se resume à cópia direta dos campos para a nova instância de destino.</p>
+ */
+public final class EntityMapper {
+
+    private static final byte ATIVO = 1;
+    private static final byte INATIVO = 0;
+    private static final String STATUS_ATIVO = "ATIVO";
+    private static final String STATUS_INATIVO = "INATIVO";
+
+    private EntityMapper() {
+    }
+
+    /**
+     * Converte um ClienteModel em ClienteDTO.
+     *
+     * @param model Entidade de origem.
+     * @return ClienteDTO com os dados copiados, ou {@code null} se a origem for nula.
+     */
+    public static ClienteDTO toDTO(ClienteModel model) {
+        if (model == null) {
+            return null;
+        }
+        ClienteDTO dto = new ClienteDTO();
+        dto.setNome(model.getNome());
+        dto.setCpf(model.getCpf());
+        dto.setEmail(model.getEmail());
+        dto.setTelefone(model.getTelefone());
+        dto.setDataNascimento(model.getDataNascimento());
+        dto.setSexo(model.getSexo());
+        dto.setApelido(model.getApelido());
+        return dto;
+    }
+
+    /**
+     * Converte um ClienteDTO em ClienteModel.
+     *
+     * @param dto DTO de origem.
+     * @return ClienteModel com os dados copiados, ou {@code null} se a origem for nula.
+     */
+    public static ClienteModel toModel(ClienteDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        ClienteModel model = new ClienteModel();
+        model.setNome(dto.getNome());
+        model.setCpf(dto.getCpf());
+        model.setEmail(dto.getEmail());
+        model.setTelefone(dto.getTelefone());
+        model.setDataNascimento(dto.getDataNascimento());
+        model.setSexo(dto.getSexo());
+        model.setApelido(dto.getApelido());
+        return model;
+    }
+
+    /**
+     * Converte um FormaPagamentoModel em FormaPagamentoDTO.
+     *
+     * @param model Entidade de origem.
+     * @return FormaPagamentoDTO com os dados copiados, ou {@code null} se a origem for nula.
+     */
+    public static FormaPagamentoDTO toDTO(FormaPagamentoModel model) {
+        if (model == null) {
+            return null;
+        }
+        FormaPagamentoDTO dto = new FormaPagamentoDTO();
+        dto.setNome(model.getNome());
+        dto.setDescricao(model.getDescricao());
+        return dto;
+    }
+
+    /**
+     * Converte um FormaPagamentoDTO em FormaPagamentoModel.
+     *
+     * @param dto DTO de origem.
+     * @return FormaPagamentoModel com os dados copiados, ou {@code null} se a origem for nula.
+     */
+    public static FormaPagamentoModel toModel(FormaPagamentoDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        FormaPagamentoModel model = new FormaPagamentoModel();
+        model.setNome(dto.getNome());
+        model.setDescricao(dto.getDescricao());
+        return model;
+    }
+
+    /**
+     * Converte um ItensPedidoModel em ItensPedidoDTO, achatando {@code pedido.idPedido}
+     * e {@code produto.idProduto}.
+     *
+     * @param model Entidade de origem.
+     * @return ItensPedidoDTO com os dados copiados, ou {@code null} se a origem for nula.
+     */
+    public static ItensPedidoDTO toDTO(ItensPedidoModel model) {
+        if (model == null) {
+            return null;
+        }
+        ItensPedidoDTO dto = new ItensPedidoDTO();
+        dto.setQuantidade(model.getQuantidade());
+        if (model.getPedido() != null) {
+            dto.setIdPedido(model.getPedido().getIdPedido());
+        }
+        if (model.getProduto() != null) {
+            dto.setIdProduto(model.getProduto().getIdProduto());
+        }
+        return dto;
+    }
+
+    /**
+     * Converte um ItensPedidoDTO em ItensPedidoModel, criando as referências de pedido e produto
+     * apenas com seus identificadores.
+     *
+     * @param dto DTO de origem.
+     * @return ItensPedidoModel com os dados copiados, ou {@code null} se a origem for nula.
+     */
+    public static ItensPedidoModel toModel(ItensPedidoDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        ItensPedidoModel model = new ItensPedidoModel();
+        model.setQuantidade(dto.getQuantidade());
+        if (dto.getIdPedido() != null) {
+            PedidoModel pedido = new PedidoModel();
+            pedido.setIdPedido(dto.getIdPedido());
+            model.setPedido(pedido);
+        }
+        if (dto.getIdProduto() != null) {
+            ProdutoModel produto = new ProdutoModel();
+            produto.setIdProduto(dto.getIdProduto());
+            model.setProduto(produto);
+        }
+        return model;
+    }
+
+    /**
+     * Converte um PedidoModel em PedidoDTO.
+     *
+     * @param model Entidade de origem.
+     * @return PedidoDTO com os dados copiados, ou {@code null} se a origem for nula.
+     */
+    public static PedidoDTO toDTO(PedidoModel model) {
+        if (model == null) {
+            return null;
+        }
+        PedidoDTO dto = new PedidoDTO();
+        dto.setValorTotal(model.getValorTotal());
+        dto.setDataHora(model.getDataCriacao());
+        dto.setNumeroPedido(model.getNumeroPedido());
+        dto.setAtivo(STATUS_ATIVO.equalsIgnoreCase(model.getStatus()));
+        dto.setVersao(model.getVersao());
+        return dto;
+    }
+
+    /**
+     * Converte um PedidoDTO em PedidoModel.
+     *
+     * @param dto DTO de origem.
+     * @return PedidoModel com os dados copiados, ou {@code null} se a origem for nula.
+     */
+    public static PedidoModel toModel(PedidoDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        PedidoModel model = new PedidoModel();
+        model.setValorTotal(dto.getValorTotal());
+        model.setDataCriacao(dto.getDataHora());
+        model.setNumeroPedido(dto.getNumeroPedido());
+        model.setStatus(dto.isAtivo() ? STATUS_ATIVO : STATUS_INATIVO);
+        model.setVersao(dto.getVersao());
+        return model;
+    }
+
+    /**
+     * Converte um ProdutoModel em ProdutoDTO.
+     *
+     * @param model Entidade de origem.
+     * @return ProdutoDTO com os dados copiados, ou {@code null} se a origem for nula.
+     */
+    public static ProdutoDTO toDTO(ProdutoModel model) {
+        if (model == null) {
+            return null;
+        }
+        ProdutoDTO dto = new ProdutoDTO();
+        dto.setNome(model.getNome());
+        dto.setDescricao(model.getDescricao());
+        dto.setPreco(model.getPreco());
+        dto.setAtivo(model.getAtivo() == ATIVO);
+        dto.setVersao(model.getVersao());
+        return dto;
+    }
+
+    /**
+     * Converte um ProdutoDTO em ProdutoModel.
+     *
+     * @param dto DTO de origem.
+     * @return ProdutoModel com os dados copiados, ou {@code null} se a origem for nula.
+     */
+    public static ProdutoModel toModel(ProdutoDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        ProdutoModel model = new ProdutoModel();
+        model.setNome(dto.getNome());
+        model.setDescricao(dto.getDescricao());
+        model.setPreco(dto.getPreco());
+        model.setAtivo(dto.isAtivo() ? ATIVO : INATIVO);
+        model.setVersao(dto.getVersao());
+        return model;
+    }
+
+    /**
+     * Converte um UsuarioModel em UsuarioDTO, achatando {@code cliente.idCliente}.
+     *
+     * @param model Entidade de origem.
+     * @return UsuarioDTO com os dados copiados, ou {@code null} se a origem for nula.
+     */
+    public static UsuarioDTO toDTO(UsuarioModel model) {
+        if (model == null) {
+            return null;
+        }
+        UsuarioDTO dto = new UsuarioDTO();
+        dto.setUserName(model.getUserName());
+        dto.setPassword(model.getPassword());
+        dto.setAtivo(model.getAtivo() == ATIVO);
+        if (model.getCliente() != null) {
+            dto.setIdCliente(model.getCliente().getIdCliente());
+        }
+        return dto;
+    }
+
+    /**
+     * Converte um UsuarioDTO em UsuarioModel, criando a referência de cliente apenas com seu identificador.
+     *
+     * @param dto DTO de origem.
+     * @return UsuarioModel com os dados copiados, ou {@code null} se a origem for nula.
+     */
+    public static UsuarioModel toModel(UsuarioDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        UsuarioModel model = new UsuarioModel();
+        model.setUserName(dto.getUserName());
+        model.setPassword(dto.getPassword());
+        model.setAtivo(dto.isAtivo() ? ATIVO : INATIVO);
+        if (dto.getIdCliente() != null) {
+            ClienteModel cliente = new ClienteModel();
+            cliente.setIdCliente(dto.getIdCliente());
+            model.setCliente(cliente);
+        }
+        return model;
+    }
+}
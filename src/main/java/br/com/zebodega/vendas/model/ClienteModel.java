@@ -1,13 +1,16 @@
 package br.com.zebodega.vendas.model;
 
+import br.com.zebodega.vendas.config.SequenciaAgrupada;
+import br.com.zebodega.vendas.mapper.EntityMapper;
 import br.com.zebodega.vendas.rest.dto.ClienteDTO;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.validator.constraints.br.CPF;
-import org.modelmapper.ModelMapper;
 
 import java.time.LocalDate;
 
@@ -20,10 +23,11 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @Entity
 @Table(name = "Cliente")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class ClienteModel {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SequenciaAgrupada("cliente_seq")
     private Long idCliente;
 
     @NotNull(message = "O nome não pode ser nulo.")
@@ -76,7 +80,6 @@ public class ClienteModel {
      * @return Uma instância de ClienteDTO com os dados mapeados a partir do ClienteModel.
      */
     public ClienteDTO toDTO(){
-        ModelMapper modelMapper = new ModelMapper();
-        return modelMapper.map(this, ClienteDTO.class);
+        return EntityMapper.toDTO(this);
     }
 }
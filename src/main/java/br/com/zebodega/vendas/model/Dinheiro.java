@@ -0,0 +1,157 @@
+package br.com.zebodega.vendas.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Valor monetário em reais, representado em ponto fixo como uma quantidade inteira de centavos.
+ *
+ * <p>As operações são feitas sobre {@code long}, sem {@link BigDecimal}, e falham com
+ * {@link ArithmeticException} em caso de estouro. No banco o valor é gravado em centavos pelo
+ * {@link DinheiroConverter}; no JSON é escrito como número decimal exato com duas casas (por exemplo
+ * {@code 1234.50}) e aceito como número ou texto com no máximo duas casas decimais.</p>
+ *
+ * @param centavos Quantidade de centavos.
+ */
+@JsonSerialize(using = Dinheiro.Serializador.class)
+@JsonDeserialize(using = Dinheiro.Desserializador.class)
+public record Dinheiro(long centavos) implements Comparable<Dinheiro>, Serializable {
+
+    public static final Dinheiro ZERO = new Dinheiro(0);
+
+    /**
+     * Cria o valor a partir de uma quantidade de centavos.
+     *
+     * @param centavos Quantidade de centavos.
+     * @return Valor correspondente.
+     */
+    public static Dinheiro deCentavos(long centavos) {
+        return centavos == 0 ? ZERO : new Dinheiro(centavos);
+    }
+
+    /**
+     * Cria o valor a partir de um decimal em reais, sem arredondamento.
+     *
+     * @param valor Valor em reais.
+     * @return Valor correspondente.
+     * @throws ArithmeticException Se o valor tiver mais de duas casas decimais ou não couber em {@code long}.
+     */
+    public static Dinheiro de(BigDecimal valor) {
+        return deCentavos(valor.movePointRight(2).longValueExact());
+    }
+
+    /**
+     * Cria o valor a partir de um texto decimal em reais, como {@code "1234.5"}.
+     *
+     * @param valor Texto do valor.
+     * @return Valor correspondente.
+     * @throws NumberFormatException Se o texto não for um número decimal.
+     * @throws ArithmeticException Se o valor tiver mais de duas casas decimais.
+     */
+    public static Dinheiro de(String valor) {
+        return de(new BigDecimal(valor.trim()));
+    }
+
+    public Dinheiro somar(Dinheiro outro) {
+        return deCentavos(Math.addExact(centavos, outro.centavos));
+    }
+
+    public Dinheiro subtrair(Dinheiro outro) {
+        return deCentavos(Math.subtractExact(centavos, outro.centavos));
+    }
+
+    public Dinheiro multiplicar(long quantidade) {
+        return deCentavos(Math.multiplyExact(centavos, quantidade));
+    }
+
+    /**
+     * Divide o valor em partes iguais, arredondando o centavo pela regra do banqueiro.
+     *
+     * @param divisor Quantidade de partes; deve ser positiva.
+     * @return Valor de cada parte.
+     */
+    public Dinheiro dividir(long divisor) {
+        if (divisor <= 0) {
+            throw new ArithmeticException("O divisor deve ser positivo.");
+        }
+        long quociente = centavos / divisor;
+        long resto = Math.abs(centavos % divisor);
+        long falta = divisor - resto;
+        if (resto > falta || (resto == falta && (quociente & 1) != 0)) {
+            quociente += Long.signum(centavos);
+        }
+        return deCentavos(quociente);
+    }
+
+    public int signum() {
+        return Long.signum(centavos);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    @Override
+    public int compareTo(Dinheiro outro) {
+        return Long.compare(centavos, outro.centavos);
+    }
+
+    /**
+     * @return O valor em reais com duas casas decimais, como {@code "-12.05"}.
+     */
+    @Override
+    public String toString() {
+        long absoluto = Math.abs(centavos);
+        long fracao = absoluto % 100;
+        return (centavos < 0 ? "-" : "") + absoluto / 100 + (fracao < 10 ? ".0" : ".") + fracao;
+    }
+
+    static final class Serializador extends StdScalarSerializer<Dinheiro> {
+
+        Serializador() {
+            super(Dinheiro.class);
+        }
+
+        @Override
+        public void serialize(Dinheiro valor, JsonGenerator gerador, SerializerProvider provider) throws IOException {
+            gerador.writeNumber(valor.toString());
+        }
+    }
+
+    static final class Desserializador extends StdScalarDeserializer<Dinheiro> {
+
+        Desserializador() {
+            super(Dinheiro.class);
+        }
+
+        @Override
+        public Dinheiro deserialize(JsonParser leitor, DeserializationContext contexto) throws IOException {
+            try {
+                if (leitor.hasToken(JsonToken.VALUE_NUMBER_INT)) {
+                    return deCentavos(Math.multiplyExact(leitor.getLongValue(), 100L));
+                }
+                if (leitor.hasToken(JsonToken.VALUE_NUMBER_FLOAT)) {
+                    return de(leitor.getDecimalValue());
+                }
+                if (leitor.hasToken(JsonToken.VALUE_STRING)) {
+                    return de(leitor.getText());
+                }
+            } catch (ArithmeticException | NumberFormatException e) {
+                return (Dinheiro) contexto.handleWeirdStringValue(Dinheiro.class, leitor.getText(),
+                        "valor monetário deve ter no máximo duas casas decimais");
+            }
+            return (Dinheiro) contexto.handleUnexpectedToken(Dinheiro.class, leitor);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.zebodega.vendas.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Grava os atributos {@link Dinheiro} como uma coluna inteira com a quantidade de centavos.
+ * Aplicado automaticamente a todos os atributos desse tipo. Como {@link Dinheiro} é imutável, o Hibernate
+ * compara os valores diretamente na verificação de alterações, sem copiá-los para o estado original.
+ */
+@Immutable
+@Converter(autoApply = true)
+public class DinheiroConverter implements AttributeConverter<Dinheiro, Long> {
+
+    @Override
+    public Long convertToDatabaseColumn(Dinheiro valor) {
+        return valor == null ? null : valor.centavos();
+    }
+
+    @Override
+    public Dinheiro convertToEntityAttribute(Long centavos) {
+        return centavos == null ? null : Dinheiro.deCentavos(centavos);
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.zebodega.vendas.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Representa o estoque disponível de um produto.
+ *
+ * <p>Fica em uma tabela própria, fora da entidade Produto, que é mantida no cache de segundo nível: as
+ * reservas, muito mais frequentes que as alterações do cadastro, são comandos UPDATE em massa, e sobre a
+ * tabela do produto invalidariam todo o cache dos produtos a cada venda. Esta entidade não vai para o cache
+ * e só é alterada pelas operações atômicas do EstoqueService. Um produto sem linha nesta tabela tem estoque
+ * zero; a linha é criada pela migração ou na primeira reposição ou devolução, e removida junto com o produto.</p>
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "EstoqueProduto")
+public class EstoqueProdutoModel {
+
+    @Id
+    private Long idProduto;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "idProduto")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private ProdutoModel produto;
+
+    @Min(value = 0, message = "O estoque não pode ser negativo")
+    @Column(name = "quantidade", nullable = false)
+    private int quantidade;
+}
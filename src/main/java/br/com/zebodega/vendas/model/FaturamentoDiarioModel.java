@@ -0,0 +1,38 @@
+package br.com.zebodega.vendas.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Representa o consolidado diário de pedidos, com a quantidade e a soma do valor total dos pedidos
+ * de cada data de criação e status. Mantido de forma incremental pelas operações de escrita de pedidos.
+ * A soma é mantida diretamente em centavos, para que o consolidado seja atualizado com somas inteiras.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "FaturamentoDiario",
+        uniqueConstraints = @UniqueConstraint(name = "uk_faturamento_diario_data_status", columnNames = {"data", "status"}))
+public class FaturamentoDiarioModel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long idFaturamentoDiario;
+
+    @Column(name = "data", nullable = false)
+    private LocalDate data;
+
+    @Column(name = "status", length = 50, nullable = false)
+    private String status;
+
+    @Column(name = "quantidade", nullable = false)
+    private long quantidade;
+
+    @Column(name = "total", nullable = false)
+    private long totalCentavos;
+}
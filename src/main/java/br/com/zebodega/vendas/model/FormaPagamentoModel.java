@@ -1,5 +1,7 @@
 package br.com.zebodega.vendas.model;
 
+import br.com.zebodega.vendas.config.SequenciaAgrupada;
+import br.com.zebodega.vendas.mapper.EntityMapper;
 import br.com.zebodega.vendas.rest.dto.FormaPagamentoDTO;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
@@ -7,7 +9,8 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Representa a entidade FormaPagamento, responsável por armazenar os dados de uma forma de pagamento
@@ -18,10 +21,11 @@ import org.modelmapper.ModelMapper;
 @NoArgsConstructor
 @Entity
 @Table(name = "FormasPagamento")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class FormaPagamentoModel {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SequenciaAgrupada("forma_pagamento_seq")
     private Long idFormaPagamento;
 
     @NotBlank(message = "O nome é obrigatório")
@@ -40,7 +44,6 @@ public class FormaPagamentoModel {
      * @return Uma instância de FormaPagamentoDTO com os dados mapeados a partir do FormaPagamentoModel.
      */
     public FormaPagamentoDTO toDTO() {
-        ModelMapper modelMapper = new ModelMapper();
-        return modelMapper.map(this, FormaPagamentoDTO.class);
+        return EntityMapper.toDTO(this);
     }
 }
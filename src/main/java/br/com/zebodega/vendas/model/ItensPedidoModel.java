@@ -1,5 +1,7 @@
 package br.com.zebodega.vendas.model;
 
+import br.com.zebodega.vendas.config.SequenciaAgrupada;
+import br.com.zebodega.vendas.mapper.EntityMapper;
 import br.com.zebodega.vendas.rest.dto.ItensPedidoDTO;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
@@ -7,7 +9,6 @@ import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.modelmapper.ModelMapper;
 
 /**
  * Representa a entidade ItensPedido, responsável por armazenar os dados dos itens pedidos
@@ -17,11 +18,15 @@ import org.modelmapper.ModelMapper;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "ItensPedidos") // Nome pluralizado para melhor prática
+@Table(name = "ItensPedidos", // Nome pluralizado para melhor prática
+        indexes = {
+                @Index(name = "idx_itens_pedido_pedido", columnList = "idPedido"),
+                @Index(name = "idx_itens_pedido_produto", columnList = "idProduto")
+        })
 public class ItensPedidoModel {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SequenciaAgrupada("itens_pedido_seq")
     private Long idItensPedido;
 
     @NotNull(message = "O valor não pode ser nulo")
@@ -45,7 +50,6 @@ public class ItensPedidoModel {
      * @return Uma instância de ItensPedidoDTO com os dados mapeados a partir do ItensPedidoModel.
      */
     public ItensPedidoDTO toDTO() {
-        ModelMapper modelMapper = new ModelMapper();
-        return modelMapper.map(this, ItensPedidoDTO.class);
+        return EntityMapper.toDTO(this);
     }
 }
@@ -1,14 +1,14 @@
 package br.com.zebodega.vendas.model;
 
+import br.com.zebodega.vendas.config.SequenciaAgrupada;
+import br.com.zebodega.vendas.mapper.EntityMapper;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.modelmapper.ModelMapper;
 import br.com.zebodega.vendas.rest.dto.PedidoDTO;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 
 /**
@@ -19,21 +19,22 @@ import java.time.LocalDate;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "Pedido")
+@Table(name = "Pedido",
+        indexes = @Index(name = "idx_pedido_status_data_criacao", columnList = "status, dataCriacao"))
 public class PedidoModel {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long idPedido;  // O campo 'idPedido' é gerado automaticamente pelo banco
+    @SequenciaAgrupada("pedido_seq")
+    private Long idPedido;  // Obtido da sequência pedido_seq em faixas reservadas de uma vez (otimizador pooled), antes do INSERT
 
     @NotBlank(message = "O número do pedido é obrigatório")
     @Column(name = "numeroPedido", length = 255, nullable = false, unique = true)
     private String numeroPedido;
 
     @NotNull(message = "O valor total não pode ser nulo")
-    @DecimalMin(value = "0.0", message = "O valor total deve ser maior ou igual a zero")
+    @ValorNaoNegativo(message = "O valor total deve ser maior ou igual a zero")
     @Column(name = "valorTotal", nullable = false)
-    private BigDecimal valorTotal;  // Mudado para BigDecimal
+    private Dinheiro valorTotal;  // Gravado em centavos pelo DinheiroConverter
 
     @NotNull(message = "A data de criação não pode ser nula")
     @Column(name = "dataCriacao", nullable = false)
@@ -43,14 +44,18 @@ public class PedidoModel {
     @Column(name = "status", length = 50, nullable = false)
     private String status;  // Adicionada a propriedade 'status'
 
+    // Incrementada a cada alteração; uma gravação sobre uma versão já alterada por outra transação é rejeitada
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
     /**
      * Converte a entidade PedidoModel para seu correspondente DTO (PedidoDTO).
      *
      * @return Uma instância de PedidoDTO com os dados mapeados a partir do PedidoModel.
      */
     public PedidoDTO toDTO() {
-        ModelMapper modelMapper = new ModelMapper();
-        return modelMapper.map(this, PedidoDTO.class);
+        return EntityMapper.toDTO(this);
     }
 
 }
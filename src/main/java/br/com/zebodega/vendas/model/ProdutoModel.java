@@ -1,14 +1,15 @@
 package br.com.zebodega.vendas.model;
 
+import br.com.zebodega.vendas.config.SequenciaAgrupada;
+import br.com.zebodega.vendas.mapper.EntityMapper;
 import br.com.zebodega.vendas.rest.dto.ProdutoDTO;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.modelmapper.ModelMapper;
-
-import java.math.BigDecimal;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Representa a entidade Produto, responsável por armazenar os dados de um produto
@@ -18,11 +19,14 @@ import java.math.BigDecimal;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "Produto")
+@Table(name = "Produto",
+        uniqueConstraints = @UniqueConstraint(name = "uk_produto_nome_normalizado", columnNames = "nomeNormalizado"),
+        indexes = @Index(name = "idx_produto_ativo", columnList = "ativo, idProduto"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class ProdutoModel {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SequenciaAgrupada("produto_seq")
     private Long idProduto;
 
     @NotBlank(message = "O valor é obrigatório")
@@ -31,6 +35,12 @@ public class ProdutoModel {
     @Column(name = "nome", length = 255, nullable = false, unique = true)
     private String nome;
 
+    // Nome em minúsculas calculado pelo banco; as buscas por nome sem diferenciar maiúsculas comparam esta coluna,
+    // que tem índice, pois uma comparação sobre lower(nome) percorreria a tabela inteira
+    @Column(name = "nomeNormalizado", insertable = false, updatable = false,
+            columnDefinition = "varchar(255) generated always as (lower(nome))")
+    private String nomeNormalizado;
+
     @NotBlank(message = "O valor é obrigatório")
     @NotNull(message = "O valor não pode ser nulo")
     @Size(message = "O valor máximo não pode ultrapassar 255 caracteres", max = 255)
@@ -38,9 +48,9 @@ public class ProdutoModel {
     private String descricao;
 
     @NotNull(message = "O valor não pode ser nulo")
-    @DecimalMin(value = "0.0", message = "O preço não pode ser negativo")
+    @ValorNaoNegativo(message = "O preço não pode ser negativo")
     @Column(name = "preco", nullable = false)
-    private BigDecimal preco;
+    private Dinheiro preco;
 
     @NotNull(message = "O valor não pode ser nulo")
     @Min(value = 0, message = "O valor mínimo para o campo ativo é 0")
@@ -48,13 +58,17 @@ public class ProdutoModel {
     @Column(name = "ativo", length = 1, nullable = false)
     private byte ativo;
 
+    // Incrementada a cada alteração; uma gravação sobre uma versão já alterada por outra transação é rejeitada
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
     /**
      * Converte a entidade ProdutoModel para seu correspondente DTO.
      *
      * @return Uma instância de ProdutoDTO com os dados mapeados a partir do ProdutoModel.
      */
     public ProdutoDTO toDTO(){
-        ModelMapper modelMapper = new ModelMapper();
-        return modelMapper.map(this, ProdutoDTO.class);
+        return EntityMapper.toDTO(this);
     }
 }
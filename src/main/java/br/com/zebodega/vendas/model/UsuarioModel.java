@@ -1,12 +1,13 @@
 package br.com.zebodega.vendas.model;
 
+import br.com.zebodega.vendas.config.SequenciaAgrupada;
+import br.com.zebodega.vendas.mapper.EntityMapper;
 import br.com.zebodega.vendas.rest.dto.UsuarioDTO;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.modelmapper.ModelMapper;
 
 /**
  * Representa a entidade Usuario, responsável por armazenar os dados de um usuário
@@ -21,7 +22,7 @@ import org.modelmapper.ModelMapper;
 public class UsuarioModel {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SequenciaAgrupada("usuario_seq")
     private Long idUsuario;
 
     @NotBlank(message = "O valor é obrigatório")
@@ -40,6 +41,7 @@ public class UsuarioModel {
     @Column(name = "ativo", length = 1, nullable = false)
     private byte ativo;
 
+    // A restrição de unicidade cria o índice usado por existsByCliente; um índice a mais seria duplicado
     @NotNull(message = "Vinculação a um cliente é obrigatório!")
     @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JoinColumn(name = "idCliente", nullable = false, unique = true)
@@ -51,7 +53,6 @@ public class UsuarioModel {
      * @return Uma instância de UsuarioDTO com os dados mapeados a partir do UsuarioModel.
      */
     public UsuarioDTO toDTO() {
-        ModelMapper modelMapper = new ModelMapper();
-        return modelMapper.map(this, UsuarioDTO.class);
+        return EntityMapper.toDTO(this);
     }
 }
@@ -0,0 +1,36 @@
+package br.com.zebodega.vendas.model;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Exige que o valor monetário seja maior ou igual a zero. Valores nulos são considerados válidos.
+ */
+@Documented
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = ValorNaoNegativo.Validador.class)
+public @interface ValorNaoNegativo {
+
+    String message() default "O valor não pode ser negativo";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+
+    class Validador implements ConstraintValidator<ValorNaoNegativo, Dinheiro> {
+
+        @Override
+        public boolean isValid(Dinheiro valor, ConstraintValidatorContext context) {
+            return valor == null || valor.signum() >= 0;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.zebodega.vendas.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Representa a versão gravada de uma tabela servida com requisição condicional, incrementada na mesma
+ * transação de cada alteração da tabela (ver VersaoTabelaService).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "VersaoTabela")
+public class VersaoTabelaModel {
+
+    @Id
+    @Column(name = "tabela", length = 50)
+    private String tabela;
+
+    @Column(name = "versao", nullable = false)
+    private long versao;
+}
@@ -0,0 +1,15 @@
+package br.com.zebodega.vendas.repository;
+
+/**
+ * Projeção com os campos únicos de um cliente.
+ */
+public interface ChavesCliente {
+
+    Long getIdCliente();
+
+    String getCpf();
+
+    String getEmail();
+
+    String getTelefone();
+}
@@ -1,9 +1,20 @@
 package br.com.zebodega.vendas.repository;
 
 import br.com.zebodega.vendas.model.ClienteModel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 /**
  * Repositório responsável por gerenciar as operações de persistência
  * relacionadas à entidade ClienteModel.
@@ -19,6 +30,14 @@ public interface ClienteRepository extends JpaRepository<ClienteModel, Long> {
      */
     boolean existsByCpf(String cpf);
 
+    /**
+     * Busca o cliente cadastrado com o CPF especificado.
+     *
+     * @param cpf O CPF do cliente.
+     * @return Cliente encontrado, ou vazio se não houver.
+     */
+    Optional<ClienteModel> findByCpf(String cpf);
+
     /**
      * Verifica se existe um cliente cadastrado com o e-mail especificado.
      *
@@ -26,4 +45,59 @@ public interface ClienteRepository extends JpaRepository<ClienteModel, Long> {
      * @return {@code true} se existir um cliente com o e-mail fornecido, {@code false} caso contrário.
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Busca, em uma única consulta, os campos únicos dos clientes que possuam o CPF, o e-mail
+     * ou o telefone especificados.
+     *
+     * @param cpf O CPF a ser verificado.
+     * @param email O e-mail a ser verificado.
+     * @param telefone O telefone a ser verificado.
+     * @return Lista com identificador, CPF, e-mail e telefone de cada cliente encontrado.
+     */
+    // União de três buscas pelos índices únicos: o H2 não combina índices de colunas diferentes ligadas por OR
+    // e percorreria a tabela inteira
+    @Query("select c.idCliente as idCliente, c.cpf as cpf, c.email as email, c.telefone as telefone " +
+            "from ClienteModel c where c.cpf = :cpf " +
+            "union select c.idCliente, c.cpf, c.email, c.telefone from ClienteModel c where c.email = :email " +
+            "union select c.idCliente, c.cpf, c.email, c.telefone from ClienteModel c where c.telefone = :telefone")
+    List<ChavesCliente> findByCpfOrEmailOrTelefone(@Param("cpf") String cpf, @Param("email") String email,
+                                                   @Param("telefone") String telefone);
+
+    /**
+     * Busca os campos únicos dos clientes que possuam qualquer um dos CPFs, e-mails ou telefones informados.
+     *
+     * @param cpfs Os CPFs a serem verificados.
+     * @param emails Os e-mails a serem verificados.
+     * @param telefones Os telefones a serem verificados.
+     * @return Lista com CPF, e-mail e telefone de cada cliente encontrado.
+     */
+    @Query("select c.idCliente as idCliente, c.cpf as cpf, c.email as email, c.telefone as telefone " +
+            "from ClienteModel c where c.cpf in :cpfs " +
+            "union select c.idCliente, c.cpf, c.email, c.telefone from ClienteModel c where c.email in :emails " +
+            "union select c.idCliente, c.cpf, c.email, c.telefone from ClienteModel c where c.telefone in :telefones")
+    List<ChavesCliente> findByCpfInOrEmailInOrTelefoneIn(@Param("cpfs") Collection<String> cpfs,
+                                                         @Param("emails") Collection<String> emails,
+                                                         @Param("telefones") Collection<String> telefones);
+
+    /**
+     * Busca a próxima página de clientes por paginação por chave, a partir do identificador informado.
+     *
+     * @param idCliente Último identificador já lido; são retornados apenas registros com identificador maior.
+     * @param limit Quantidade máxima de registros da página.
+     * @return Lista de clientes ordenada pelo identificador.
+     */
+    List<ClienteModel> findByIdClienteGreaterThanOrderByIdClienteAsc(Long idCliente, Limit limit);
+
+    /**
+     * Percorre todos os clientes em ordem de identificador, lendo-os do banco sob demanda.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     *
+     * @return Fluxo de clientes ordenado pelo identificador.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<ClienteModel> streamAllByOrderByIdClienteAsc();
 }
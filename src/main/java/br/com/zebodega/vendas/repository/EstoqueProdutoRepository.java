@@ -0,0 +1,52 @@
+package br.com.zebodega.vendas.repository;
+
+import br.com.zebodega.vendas.model.EstoqueProdutoModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositório responsável por gerenciar as operações de persistência
+ * relacionadas à entidade EstoqueProdutoModel.
+ *
+ * <p>Os comandos de alteração são UPDATEs em massa sobre a tabela do estoque; como ela não é lida por nenhuma
+ * entidade ou consulta em cache, eles não invalidam o cache de segundo nível dos produtos.</p>
+ */
+@Repository
+public interface EstoqueProdutoRepository extends JpaRepository<EstoqueProdutoModel, Long> {
+
+    /**
+     * Retira a quantidade informada do estoque do produto, desde que haja o suficiente. A verificação e a
+     * retirada são feitas em um único comando, sem leitura prévia nem bloqueio além do próprio UPDATE.
+     *
+     * @param idProduto O identificador do produto.
+     * @param quantidade A quantidade a ser retirada.
+     * @return {@code 1} se a quantidade foi retirada; {@code 0} se o produto não tiver estoque ou ele for insuficiente.
+     */
+    @Modifying
+    @Query("update EstoqueProdutoModel e set e.quantidade = e.quantidade - :quantidade " +
+            "where e.idProduto = :idProduto and e.quantidade >= :quantidade")
+    int retirar(@Param("idProduto") Long idProduto, @Param("quantidade") int quantidade);
+
+    /**
+     * Devolve ao estoque do produto a quantidade informada.
+     *
+     * @param idProduto O identificador do produto.
+     * @param quantidade A quantidade a ser devolvida.
+     * @return {@code 1} se o estoque foi atualizado; {@code 0} se o produto ainda não tiver linha de estoque.
+     */
+    @Modifying
+    @Query("update EstoqueProdutoModel e set e.quantidade = e.quantidade + :quantidade where e.idProduto = :idProduto")
+    int devolver(@Param("idProduto") Long idProduto, @Param("quantidade") int quantidade);
+
+    /**
+     * Obtém o estoque atual do produto, sem carregar a entidade.
+     *
+     * @param idProduto O identificador do produto.
+     * @return O estoque do produto, ou {@code null} se ele ainda não tiver linha de estoque.
+     */
+    @Query("select e.quantidade from EstoqueProdutoModel e where e.idProduto = :idProduto")
+    Integer obterQuantidade(@Param("idProduto") Long idProduto);
+}
@@ -0,0 +1,103 @@
+package br.com.zebodega.vendas.repository;
+
+import br.com.zebodega.vendas.model.FaturamentoDiarioModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+/**
+ * Repositório responsável por gerenciar as operações de persistência
+ * relacionadas à entidade FaturamentoDiarioModel.
+ */
+@Repository
+public interface FaturamentoDiarioRepository extends JpaRepository<FaturamentoDiarioModel, Long> {
+
+    /**
+     * Soma as variações informadas ao consolidado da data e status especificados.
+     *
+     * @param data A data de criação dos pedidos.
+     * @param status O status dos pedidos.
+     * @param quantidade Variação na quantidade de pedidos.
+     * @param totalCentavos Variação na soma do valor total, em centavos.
+     * @return Quantidade de registros atualizados; {@code 0} se ainda não existir consolidado para a chave.
+     */
+    @Modifying
+    @Query("update FaturamentoDiarioModel f " +
+            "set f.quantidade = f.quantidade + :quantidade, f.totalCentavos = f.totalCentavos + :totalCentavos " +
+            "where f.data = :data and f.status = :status")
+    int acumular(@Param("data") LocalDate data,
+                 @Param("status") String status,
+                 @Param("quantidade") long quantidade,
+                 @Param("totalCentavos") long totalCentavos);
+
+    /**
+     * Soma o total consolidado de um status em um intervalo de datas, lendo no máximo um registro por dia.
+     *
+     * @param dataInicial A data inicial para a busca.
+     * @param dataFinal A data final para a busca.
+     * @param status O status dos pedidos considerados.
+     * @return Soma do valor total em centavos, ou {@code null} se não houver consolidado no período.
+     */
+    @Query("select sum(f.totalCentavos) from FaturamentoDiarioModel f " +
+            "where f.data between :dataInicial and :dataFinal and f.status = :status")
+    Long somarTotal(@Param("dataInicial") LocalDate dataInicial,
+                    @Param("dataFinal") LocalDate dataFinal,
+                    @Param("status") String status);
+
+    /**
+     * Remove todos os registros do consolidado.
+     *
+     * @return Quantidade de registros removidos.
+     */
+    @Modifying
+    @Query("delete from FaturamentoDiarioModel")
+    int removerTodos();
+
+    /**
+     * Regenera o consolidado a partir da tabela de pedidos, agrupando por data de criação e status.
+     *
+     * @return Quantidade de registros inseridos.
+     */
+    @Modifying
+    @Query("insert into FaturamentoDiarioModel (data, status, quantidade, totalCentavos) " +
+            "select p.dataCriacao, p.status, count(p), sum(cast(p.valorTotal as Long)) " +
+            "from PedidoModel p group by p.dataCriacao, p.status")
+    int reconstruirAPartirDosPedidos();
+
+    /**
+     * Remove o consolidado de um status em um intervalo de datas.
+     *
+     * @param dataInicial A data inicial do período.
+     * @param dataFinal A data final do período.
+     * @param status O status dos pedidos considerados.
+     * @return Quantidade de registros removidos.
+     */
+    @Modifying
+    @Query("delete from FaturamentoDiarioModel f " +
+            "where f.data between :dataInicial and :dataFinal and f.status = :status")
+    int removerPeriodo(@Param("dataInicial") LocalDate dataInicial,
+                       @Param("dataFinal") LocalDate dataFinal,
+                       @Param("status") String status);
+
+    /**
+     * Regenera o consolidado de um status em um intervalo de datas a partir da tabela de pedidos.
+     *
+     * @param dataInicial A data inicial do período.
+     * @param dataFinal A data final do período.
+     * @param status O status dos pedidos considerados.
+     * @return Quantidade de registros inseridos.
+     */
+    @Modifying
+    @Query("insert into FaturamentoDiarioModel (data, status, quantidade, totalCentavos) " +
+            "select p.dataCriacao, p.status, count(p), sum(cast(p.valorTotal as Long)) " +
+            "from PedidoModel p " +
+            "where p.dataCriacao between :dataInicial and :dataFinal and p.status = :status " +
+            "group by p.dataCriacao, p.status")
+    int reconstruirPeriodoAPartirDosPedidos(@Param("dataInicial") LocalDate dataInicial,
+                                            @Param("dataFinal") LocalDate dataFinal,
+                                            @Param("status") String status);
+}
@@ -1,9 +1,16 @@
 package br.com.zebodega.vendas.repository;
 
 import br.com.zebodega.vendas.model.FormaPagamentoModel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 /**
  * Repositório responsável por gerenciar as operações de persistência
  * relacionadas à entidade FormaPagmentoModel.
@@ -18,5 +25,34 @@ public interface FormaPagamentoRepository extends JpaRepository<FormaPagamentoMo
      * @param idFormaPagamento a ser verificado.
      * @return {@code true} se existir idFormaPagamento fornecido, {@code false} caso contrário.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByIdFormaPagamento(Long idFormaPagamento);
+
+    /**
+     * Busca todas as formas de pagamento, ordenadas pelo identificador.
+     *
+     * @return Lista de formas de pagamento.
+     */
+    List<FormaPagamentoModel> findAllByOrderByIdFormaPagamentoAsc();
+
+    /**
+     * Busca a próxima página de formas de pagamento por paginação por chave, a partir do identificador informado.
+     *
+     * @param idFormaPagamento Último identificador já lido; são retornados apenas registros com identificador maior.
+     * @param limit Quantidade máxima de registros da página.
+     * @return Lista de formas de pagamento ordenada pelo identificador.
+     */
+    List<FormaPagamentoModel> findByIdFormaPagamentoGreaterThanOrderByIdFormaPagamentoAsc(Long idFormaPagamento, Limit limit);
+
+    /**
+     * Percorre todos os formas de pagamento em ordem de identificador, lendo-os do banco sob demanda.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     *
+     * @return Fluxo de formas de pagamento ordenado pelo identificador.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<FormaPagamentoModel> streamAllByOrderByIdFormaPagamentoAsc();
 }
@@ -2,9 +2,20 @@ package br.com.zebodega.vendas.repository;
 
 import br.com.zebodega.vendas.model.ItensPedidoModel;
 import br.com.zebodega.vendas.model.PedidoModel;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 /**
  * Repositório responsável por gerenciar as operações de persistência
  * relacionadas à entidade ItensPedidoModel.
@@ -20,4 +31,55 @@ public interface ItensPedidoRepository extends JpaRepository<ItensPedidoModel, L
      */
     boolean existsByPedido(PedidoModel pedido);
 
+    /**
+     * Busca o item de pedido pelo identificador, bloqueando a sua linha até o fim da transação, de modo que
+     * alterações concorrentes do mesmo item sejam aplicadas uma após a outra, cada uma vendo a anterior.
+     *
+     * @param idItensPedido Identificador do item.
+     * @return O item encontrado, ou vazio se não existir.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<ItensPedidoModel> findComBloqueioByIdItensPedido(Long idItensPedido);
+
+    /**
+     * Busca todos os itens de pedido, carregando pedido e produto na mesma consulta.
+     *
+     * @return Lista de todos os itens de pedido.
+     */
+    @Override
+    @EntityGraph(attributePaths = {"pedido", "produto"})
+    List<ItensPedidoModel> findAll();
+
+    /**
+     * Busca os itens de um pedido, carregando pedido e produto na mesma consulta.
+     *
+     * @param idPedido Identificador do pedido.
+     * @return Lista dos itens do pedido ordenada pelo identificador.
+     */
+    @EntityGraph(attributePaths = {"pedido", "produto"})
+    List<ItensPedidoModel> findByPedidoIdPedidoOrderByIdItensPedidoAsc(Long idPedido);
+
+    /**
+     * Busca a próxima página de itens de pedido por paginação por chave, a partir do identificador informado,
+     * carregando pedido e produto na mesma consulta.
+     *
+     * @param idItensPedido Último identificador já lido; são retornados apenas registros com identificador maior.
+     * @param limit Quantidade máxima de registros da página.
+     * @return Lista de itens de pedido ordenada pelo identificador.
+     */
+    @EntityGraph(attributePaths = {"pedido", "produto"})
+    List<ItensPedidoModel> findByIdItensPedidoGreaterThanOrderByIdItensPedidoAsc(Long idItensPedido, Limit limit);
+
+    /**
+     * Percorre todos os itens de pedido em ordem de identificador, lendo-os do banco sob demanda.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     *
+     * @return Fluxo de itens de pedido ordenado pelo identificador.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @EntityGraph(attributePaths = {"pedido", "produto"})
+    Stream<ItensPedidoModel> streamAllByOrderByIdItensPedidoAsc();
 }
@@ -1,10 +1,19 @@
 package br.com.zebodega.vendas.repository;
 
 import br.com.zebodega.vendas.model.PedidoModel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositório responsável por gerenciar as operações de persistência
@@ -21,6 +30,23 @@ public interface PedidoRepository extends JpaRepository<PedidoModel, Long> {
      */
     boolean existsByNumeroPedido(String numeroPedido);
 
+    /**
+     * Busca um pedido pelo número de pedido.
+     *
+     * @param numeroPedido O número do pedido.
+     * @return O pedido encontrado, se existir.
+     */
+    Optional<PedidoModel> findByNumeroPedido(String numeroPedido);
+
+    /**
+     * Busca, dentre os números de pedido informados, aqueles que já estão cadastrados.
+     *
+     * @param numerosPedido Os números de pedido a serem verificados.
+     * @return Lista com os números de pedido já existentes.
+     */
+    @Query("select p.numeroPedido from PedidoModel p where p.numeroPedido in :numerosPedido")
+    List<String> findNumerosPedidoExistentes(@Param("numerosPedido") Collection<String> numerosPedido);
+
     /**
      * Busca pedidos dentro de um intervalo de datas e com status específico.
      *
@@ -31,4 +57,59 @@ public interface PedidoRepository extends JpaRepository<PedidoModel, Long> {
      */
     List<PedidoModel> findByDataCriacaoBetweenAndStatus(LocalDate dataInicial, LocalDate dataFinal, String status);
 
+    /**
+     * Calcula, em uma única consulta agregada, a quantidade, a soma, o menor e o maior valor total
+     * (em centavos) dos pedidos com o status informado dentro de um intervalo de datas; a média é
+     * derivada da soma e da quantidade pela projeção.
+     *
+     * @param dataInicial A data inicial para a busca.
+     * @param dataFinal A data final para a busca.
+     * @param status O status dos pedidos considerados.
+     * @return Resumo do faturamento no período.
+     */
+    @Query("select count(p) as quantidade, sum(cast(p.valorTotal as Long)) as total, " +
+            "min(cast(p.valorTotal as Long)) as minimo, max(cast(p.valorTotal as Long)) as maximo " +
+            "from PedidoModel p " +
+            "where p.dataCriacao between :dataInicial and :dataFinal and p.status = :status")
+    ResumoFaturamento resumirFaturamento(@Param("dataInicial") LocalDate dataInicial,
+                                         @Param("dataFinal") LocalDate dataFinal,
+                                         @Param("status") String status);
+
+    /**
+     * Calcula os agregados de faturamento (em centavos) agrupados por data de criação, em ordem cronológica.
+     *
+     * @param dataInicial A data inicial para a busca.
+     * @param dataFinal A data final para a busca.
+     * @param status O status dos pedidos considerados.
+     * @return Um resumo por dia que possua pedidos no período.
+     */
+    @Query("select p.dataCriacao as data, count(p) as quantidade, sum(cast(p.valorTotal as Long)) as total, " +
+            "min(cast(p.valorTotal as Long)) as minimo, max(cast(p.valorTotal as Long)) as maximo " +
+            "from PedidoModel p " +
+            "where p.dataCriacao between :dataInicial and :dataFinal and p.status = :status " +
+            "group by p.dataCriacao order by p.dataCriacao")
+    List<ResumoFaturamento> resumirFaturamentoPorDia(@Param("dataInicial") LocalDate dataInicial,
+                                                     @Param("dataFinal") LocalDate dataFinal,
+                                                     @Param("status") String status);
+
+    /**
+     * Busca a próxima página de pedidos por paginação por chave, a partir do identificador informado.
+     *
+     * @param idPedido Último identificador já lido; são retornados apenas registros com identificador maior.
+     * @param limit Quantidade máxima de registros da página.
+     * @return Lista de pedidos ordenada pelo identificador.
+     */
+    List<PedidoModel> findByIdPedidoGreaterThanOrderByIdPedidoAsc(Long idPedido, Limit limit);
+
+    /**
+     * Percorre todos os pedidos em ordem de identificador, lendo-os do banco sob demanda.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     *
+     * @return Fluxo de pedidos ordenado pelo identificador.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<PedidoModel> streamAllByOrderByIdPedidoAsc();
 }
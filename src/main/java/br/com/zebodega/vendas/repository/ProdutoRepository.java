@@ -1,9 +1,20 @@
 package br.com.zebodega.vendas.repository;
 
 import br.com.zebodega.vendas.model.ProdutoModel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 /**
  * Repositório responsável por gerenciar as operações de persistência
  * relacionadas à entidade ProdutoModel.
@@ -13,11 +24,62 @@ public interface ProdutoRepository extends JpaRepository<ProdutoModel, Long> {
 
     /**
      * Verifica se existe um produto cadastrado com o nome especificado,
-     * ignorando maiúsculas e minúsculas.
+     * ignorando maiúsculas e minúsculas. Compara pelo nome normalizado, que tem índice.
      *
      * @param nome o nome do produto a ser verificado.
      * @return {@code true} se existir um produto com o nome fornecido,
      *         {@code false} caso contrário.
      */
-    boolean existsByNomeIgnoreCase(String nome);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select count(p) > 0 from ProdutoModel p where p.nomeNormalizado = lower(:nome)")
+    boolean existsByNomeIgnoreCase(@Param("nome") String nome);
+
+    /**
+     * Busca o produto cadastrado com o nome especificado, ignorando maiúsculas e minúsculas.
+     * Compara pelo nome normalizado, que tem índice.
+     *
+     * @param nome o nome do produto a ser buscado.
+     * @return o produto encontrado, ou vazio se não houver produto com o nome fornecido.
+     */
+    @Query("select p from ProdutoModel p where p.nomeNormalizado = lower(:nome)")
+    Optional<ProdutoModel> findByNomeIgnoreCase(@Param("nome") String nome);
+
+    /**
+     * Busca, dentre os nomes informados em minúsculas, aqueles que já pertencem a algum produto,
+     * ignorando maiúsculas e minúsculas.
+     *
+     * @param nomes Os nomes, em minúsculas, a serem verificados.
+     * @return Lista com os nomes já existentes, em minúsculas.
+     */
+    @Query("select p.nomeNormalizado from ProdutoModel p where p.nomeNormalizado in :nomes")
+    List<String> findNomesExistentes(@Param("nomes") Collection<String> nomes);
+
+    /**
+     * Busca os produtos com a situação especificada, ordenados pelo identificador.
+     *
+     * @param ativo {@code 1} para produtos ativos, {@code 0} para inativos.
+     * @return Lista de produtos com a situação informada.
+     */
+    List<ProdutoModel> findByAtivoOrderByIdProdutoAsc(byte ativo);
+
+    /**
+     * Busca a próxima página de produtos por paginação por chave, a partir do identificador informado.
+     *
+     * @param idProduto Último identificador já lido; são retornados apenas registros com identificador maior.
+     * @param limit Quantidade máxima de registros da página.
+     * @return Lista de produtos ordenada pelo identificador.
+     */
+    List<ProdutoModel> findByIdProdutoGreaterThanOrderByIdProdutoAsc(Long idProduto, Limit limit);
+
+    /**
+     * Percorre todos os produtos em ordem de identificador, lendo-os do banco sob demanda.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     *
+     * @return Fluxo de produtos ordenado pelo identificador.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<ProdutoModel> streamAllByOrderByIdProdutoAsc();
 }
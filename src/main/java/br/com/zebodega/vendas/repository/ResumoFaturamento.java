@@ -0,0 +1,38 @@
+package br.com.zebodega.vendas.repository;
+
+import br.com.zebodega.vendas.model.Dinheiro;
+
+import java.time.LocalDate;
+
+/**
+ * Projeção com os agregados de faturamento calculados diretamente no banco de dados.
+ * Os valores monetários são expressos em centavos.
+ */
+public interface ResumoFaturamento {
+
+    /**
+     * @return Data de criação agrupada, ou {@code null} quando a consulta não agrupa por dia.
+     */
+    LocalDate getData();
+
+    Long getQuantidade();
+
+    Long getTotal();
+
+    Long getMinimo();
+
+    Long getMaximo();
+
+    /**
+     * Calcula o valor médio a partir da soma e da quantidade em centavos, com o mesmo arredondamento de
+     * {@link Dinheiro#dividir(long)}, em vez de fazer a média dos valores decimais.
+     *
+     * @return Valor médio em centavos, ou {@code null} quando não há pedidos.
+     */
+    default Long getMedia() {
+        if (getQuantidade() == null || getQuantidade() == 0 || getTotal() == null) {
+            return null;
+        }
+        return Dinheiro.deCentavos(getTotal()).dividir(getQuantidade()).centavos();
+    }
+}
@@ -2,9 +2,16 @@ package br.com.zebodega.vendas.repository;
 
 import br.com.zebodega.vendas.model.ClienteModel;
 import br.com.zebodega.vendas.model.UsuarioModel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 /**
  * Repositório responsável por gerenciar as operações de persistência
  * relacionadas à entidade UsuarioeModel.
@@ -19,4 +26,25 @@ public interface UsuarioRepository extends JpaRepository<UsuarioModel, Long> {
      * @return {@code true} se existir idcliente fornecido, {@code false} caso contrário.
      */
     boolean existsByCliente(ClienteModel cliente);
+
+    /**
+     * Busca a próxima página de usuários por paginação por chave, a partir do identificador informado.
+     *
+     * @param idUsuario Último identificador já lido; são retornados apenas registros com identificador maior.
+     * @param limit Quantidade máxima de registros da página.
+     * @return Lista de usuários ordenada pelo identificador.
+     */
+    List<UsuarioModel> findByIdUsuarioGreaterThanOrderByIdUsuarioAsc(Long idUsuario, Limit limit);
+
+    /**
+     * Percorre todos os usuários em ordem de identificador, lendo-os do banco sob demanda.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     *
+     * @return Fluxo de usuários ordenado pelo identificador.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<UsuarioModel> streamAllByOrderByIdUsuarioAsc();
 }
@@ -0,0 +1,35 @@
+package br.com.zebodega.vendas.repository;
+
+import br.com.zebodega.vendas.model.VersaoTabelaModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositório responsável por gerenciar as operações de persistência
+ * relacionadas à entidade VersaoTabelaModel.
+ */
+@Repository
+public interface VersaoTabelaRepository extends JpaRepository<VersaoTabelaModel, String> {
+
+    /**
+     * Incrementa a versão da tabela em um único comando.
+     *
+     * @param tabela O nome da tabela.
+     * @return Quantidade de registros atualizados; {@code 0} se a tabela ainda não tiver versão gravada.
+     */
+    @Modifying
+    @Query("update VersaoTabelaModel v set v.versao = v.versao + 1 where v.tabela = :tabela")
+    int incrementar(@Param("tabela") String tabela);
+
+    /**
+     * Obtém a versão gravada da tabela.
+     *
+     * @param tabela O nome da tabela.
+     * @return A versão, ou {@code null} se a tabela ainda não tiver versão gravada.
+     */
+    @Query("select v.versao from VersaoTabelaModel v where v.tabela = :tabela")
+    Long obterVersao(@Param("tabela") String tabela);
+}
@@ -2,13 +2,21 @@ package br.com.zebodega.vendas.rest.controller;
 
 import br.com.zebodega.vendas.model.ClienteModel;
 import br.com.zebodega.vendas.rest.dto.ClienteDTO;
+import br.com.zebodega.vendas.rest.dto.FormatoImportacao;
+import br.com.zebodega.vendas.rest.dto.ImportacaoDTO;
+import br.com.zebodega.vendas.service.BuscaService;
 import br.com.zebodega.vendas.service.ClienteService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -25,15 +33,51 @@ public class ClienteController {
     @Autowired
     private ClienteService clienteService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BuscaService buscaService;
+
+    /**
+     * Obtém uma página dos clientes cadastrados, paginada por chave a partir do identificador informado.
+     * O cursor da próxima página é devolvido no cabeçalho {@code X-Next-After}.
+     *
+     * @param after Último identificador já lido; a listagem começa no registro seguinte.
+     * @param limit Quantidade máxima de registros da página.
+     * @return Lista de ClienteDTO da página solicitada.
+     */
+    @GetMapping
+    public ResponseEntity<List<ClienteDTO>> obterTodos(@RequestParam(defaultValue = "0") Long after,
+                                                       @RequestParam(defaultValue = Paginacao.LIMITE_PADRAO) int limit) {
+        int limite = Paginacao.limitar(limit);
+        return Paginacao.responder(clienteService.obterPagina(after, limite));
+    }
+
     /**
-     * Obtém a lista de todos os clientes cadastrados.
+     * Transmite todos os clientes cadastrados em NDJSON, um registro por linha, à medida que são lidos do banco.
+     * Ativado pelo parâmetro {@code ?stream=true}.
      *
-     * @return Lista de ClienteDTO representando os clientes cadastrados.
+     * @return Corpo escrito de forma incremental.
      */
-    @GetMapping()
-    public ResponseEntity<List<ClienteDTO>> obterTodos() {
-        List<ClienteDTO> clienteDTOList = clienteService.obterTodos();
-        return ResponseEntity.ok(clienteDTOList);
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> transmitirTodos() {
+        return Paginacao.transmitir(objectMapper, clienteService::transmitirTodos);
+    }
+
+    /**
+     * Busca clientes por prefixo em nome, apelido, CPF (com ou sem pontuação) e e-mail, sem distinção de
+     * maiúsculas, minúsculas e acentos. Cada termo da consulta pode ser o início de uma palavra; todos precisam
+     * ser encontrados.
+     *
+     * @param q     Texto digitado.
+     * @param limit Quantidade máxima de resultados.
+     * @return Lista de ClienteDTO encontrados.
+     */
+    @GetMapping("/busca")
+    public ResponseEntity<List<ClienteDTO>> buscar(@RequestParam String q,
+                                                   @RequestParam(defaultValue = Paginacao.LIMITE_PADRAO) int limit) {
+        return ResponseEntity.ok(buscaService.buscarClientes(q, Paginacao.limitar(limit)));
     }
 
     /**
@@ -60,6 +104,21 @@ public class ClienteController {
         return ResponseEntity.status(HttpStatus.CREATED).body(novoClienteDTO);
     }
 
+    /**
+     * Importa clientes a partir de um arquivo CSV ({@code text/csv}) ou NDJSON ({@code application/x-ndjson})
+     * enviado no corpo da requisição, que é lido em fluxo e gravado em partes.
+     *
+     * @param tipoConteudo Cabeçalho Content-Type, que define o formato do arquivo.
+     * @param request Requisição cujo corpo contém o arquivo.
+     * @return ImportacaoDTO com o resumo da importação e os erros por linha.
+     */
+    @PostMapping(value = "/importacao", consumes = {"text/csv", Paginacao.NDJSON})
+    public ResponseEntity<ImportacaoDTO> importar(@RequestHeader(HttpHeaders.CONTENT_TYPE) String tipoConteudo,
+                                                  HttpServletRequest request) throws IOException {
+        ImportacaoDTO importacaoDTO = clienteService.importar(request.getInputStream(), FormatoImportacao.doTipoConteudo(tipoConteudo));
+        return ResponseEntity.status(HttpStatus.OK).body(importacaoDTO);
+    }
+
     /**
      * Atualiza os dados de um cliente existente.
      *
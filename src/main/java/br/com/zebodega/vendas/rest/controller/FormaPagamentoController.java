@@ -3,11 +3,17 @@ package br.com.zebodega.vendas.rest.controller;
 import br.com.zebodega.vendas.model.FormaPagamentoModel;
 import br.com.zebodega.vendas.rest.dto.FormaPagamentoDTO;
 import br.com.zebodega.vendas.service.FormaPagamentoService;
+import br.com.zebodega.vendas.service.VersaoTabelaService;
+import br.com.zebodega.vendas.service.VersaoTabelaService.Tabela;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -21,16 +27,57 @@ public class FormaPagamentoController {
     @Autowired
     private FormaPagamentoService formaPagamentoService;
 
+    @Autowired
+    private VersaoTabelaService versaoTabelaService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
-     * Obtém a lista de todas as formas de pagamento cadastradas.
+     * Obtém uma página dos formas de pagamento cadastradas, paginada por chave a partir do identificador informado.
+     * O cursor da próxima página é devolvido no cabeçalho {@code X-Next-After}. Quando o {@code If-None-Match}
+     * corresponde à versão atual da tabela, responde {@code 304} sem consultar o banco.
      *
-     * @return Lista de FormaPagamentoDTO representando as formas de pagamento cadastradas.
+     * @param after Último identificador já lido; a listagem começa no registro seguinte.
+     * @param limit Quantidade máxima de registros da página.
+     * @param requisicao Requisição, consultada para os cabeçalhos condicionais.
+     * @return Lista de FormaPagamentoDTO da página solicitada.
      */
     @GetMapping
-    public ResponseEntity<List<FormaPagamentoDTO>> obterTodos() {
+    public ResponseEntity<List<FormaPagamentoDTO>> obterTodos(@RequestParam(defaultValue = "0") Long after,
+                                                              @RequestParam(defaultValue = Paginacao.LIMITE_PADRAO) int limit,
+                                                              WebRequest requisicao) {
+        if (RequisicaoCondicional.naoModificado(requisicao, versaoTabelaService, Tabela.FORMA_PAGAMENTO)) {
+            return null;
+        }
+        int limite = Paginacao.limitar(limit);
+        return Paginacao.responder(formaPagamentoService.obterPagina(after, limite));
+    }
+
+    /**
+     * Transmite todos os formas de pagamento cadastradas em NDJSON, um registro por linha, à medida que são lidos do banco.
+     * Ativado pelo parâmetro {@code ?stream=true}.
+     *
+     * @return Corpo escrito de forma incremental.
+     */
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> transmitirTodos() {
+        return Paginacao.transmitir(objectMapper, formaPagamentoService::transmitirTodos);
+    }
+
+    /**
+     * Obtém o catálogo completo das formas de pagamento, servido a partir de um cache já serializado em JSON.
+     *
+     * @param requisicao Requisição, consultada para os cabeçalhos condicionais.
+     * @return Lista de FormaPagamentoDTO do catálogo.
+     */
+    @GetMapping("/catalogo")
+    public ResponseEntity<byte[]> obterCatalogo(WebRequest requisicao) {
 
-        List<FormaPagamentoDTO> formaPagamentoDTOList = formaPagamentoService.obterTodos();
-        return ResponseEntity.ok(formaPagamentoDTOList);
+        if (RequisicaoCondicional.naoModificado(requisicao, versaoTabelaService, Tabela.FORMA_PAGAMENTO)) {
+            return null;
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(formaPagamentoService.obterCatalogo());
 
     }
 
@@ -38,11 +85,15 @@ public class FormaPagamentoController {
      * Obtém uma forma de pagamento pelo ID.
      *
      * @param id ID da forma de pagamento.
+     * @param requisicao Requisição, consultada para os cabeçalhos condicionais.
      * @return FormaPagamentoDTO representando a forma de pagamento encontrada.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<FormaPagamentoDTO> obterPorId(@PathVariable Long id) {
+    public ResponseEntity<FormaPagamentoDTO> obterPorId(@PathVariable Long id, WebRequest requisicao) {
 
+        if (RequisicaoCondicional.naoModificado(requisicao, versaoTabelaService, Tabela.FORMA_PAGAMENTO)) {
+            return null;
+        }
         FormaPagamentoDTO formaPagamentoDTO = formaPagamentoService.obterPorId(id);
         return ResponseEntity.status(HttpStatus.OK).body(formaPagamentoDTO);
 
@@ -3,11 +3,13 @@ package br.com.zebodega.vendas.rest.controller;
 import br.com.zebodega.vendas.model.ItensPedidoModel;
 import br.com.zebodega.vendas.rest.dto.ItensPedidoDTO;
 import br.com.zebodega.vendas.service.ItensPedidoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -21,12 +23,33 @@ public class ItensPedidoController {
     @Autowired
     private ItensPedidoService itensPedidoService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Obtém uma página dos itens de pedido cadastrados, paginada por chave a partir do identificador informado.
+     * O cursor da próxima página é devolvido no cabeçalho {@code X-Next-After}.
+     *
+     * @param after Último identificador já lido; a listagem começa no registro seguinte.
+     * @param limit Quantidade máxima de registros da página.
+     * @return Lista de ItensPedidoDTO da página solicitada.
+     */
     @GetMapping
-    public ResponseEntity<List<ItensPedidoDTO>> obterTodos() {
-
-        List<ItensPedidoDTO> itensPedido = itensPedidoService.obterTodos();
-        return ResponseEntity.ok(itensPedido);
+    public ResponseEntity<List<ItensPedidoDTO>> obterTodos(@RequestParam(defaultValue = "0") Long after,
+                                                           @RequestParam(defaultValue = Paginacao.LIMITE_PADRAO) int limit) {
+        int limite = Paginacao.limitar(limit);
+        return Paginacao.responder(itensPedidoService.obterPagina(after, limite));
+    }
 
+    /**
+     * Transmite todos os itens de pedido cadastrados em NDJSON, um registro por linha, à medida que são lidos do banco.
+     * Ativado pelo parâmetro {@code ?stream=true}.
+     *
+     * @return Corpo escrito de forma incremental.
+     */
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> transmitirTodos() {
+        return Paginacao.transmitir(objectMapper, itensPedidoService::transmitirTodos);
     }
 
     @GetMapping("/{id}")
@@ -45,6 +68,22 @@ public class ItensPedidoController {
 
     }
 
+    /**
+     * Salva uma carga de novos itens de pedido, persistida em lotes com uma transação por parte.
+     * Se uma parte falhar, as anteriores permanecem gravadas e o corpo do erro informa, em {@code gravados},
+     * quantos itens do início da carga foram gravados; apenas os seguintes devem ser reenviados.
+     *
+     * @param novosItensPedido Lista de ItensPedidoModel a serem salvos.
+     * @return Lista de ItensPedidoDTO representando os itens salvos.
+     */
+    @PostMapping("/lote")
+    public ResponseEntity<List<ItensPedidoDTO>> salvarLote(@RequestBody List<ItensPedidoModel> novosItensPedido) {
+
+        List<ItensPedidoDTO> novosItensPedidoDTO = itensPedidoService.salvarLote(novosItensPedido);
+        return ResponseEntity.status(HttpStatus.CREATED).body(novosItensPedidoDTO);
+
+    }
+
     @PutMapping
     public ResponseEntity<ItensPedidoDTO> atualizar(@Valid @RequestBody ItensPedidoModel itensPedidoExistente) {
 
@@ -0,0 +1,93 @@
+package br.com.zebodega.vendas.rest.controller;
+
+import br.com.zebodega.vendas.rest.dto.PaginaDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Utilitário compartilhado pelos controladores para as listagens paginadas por chave
+ * ({@code ?after=<id>&limit=N}) e para a transmissão em NDJSON.
+ */
+final class Paginacao {
+
+    /**
+     * Tipo de mídia das listagens transmitidas linha a linha.
+     */
+    static final String NDJSON = "application/x-ndjson";
+
+    /**
+     * Cabeçalho com o valor de {@code after} para a próxima página.
+     */
+    static final String HEADER_PROXIMO = "X-Next-After";
+
+    static final String LIMITE_PADRAO = "100";
+
+    static final int LIMITE_MAXIMO = 1000;
+
+    /**
+     * Quantidade de linhas escritas entre cada descarga do buffer de saída.
+     */
+    private static final int LINHAS_POR_FLUSH = 256;
+
+    private Paginacao() {
+    }
+
+    /**
+     * Restringe o limite informado ao intervalo aceito pela API.
+     *
+     * @param limit Limite solicitado pelo cliente.
+     * @return Limite entre 1 e {@link #LIMITE_MAXIMO}.
+     */
+    static int limitar(int limit) {
+        return Math.max(1, Math.min(limit, LIMITE_MAXIMO));
+    }
+
+    /**
+     * Monta a resposta de uma página, expondo o cursor da próxima página no cabeçalho.
+     *
+     * @param pagina Página obtida no serviço.
+     * @return Resposta com os itens da página no corpo.
+     */
+    static <T> ResponseEntity<List<T>> responder(PaginaDTO<T> pagina) {
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+        if (pagina.getProximoAfter() != null) {
+            resposta.header(HEADER_PROXIMO, pagina.getProximoAfter().toString());
+        }
+        return resposta.body(pagina.getItens());
+    }
+
+    /**
+     * Transmite os registros em NDJSON, um objeto JSON por linha, à medida que são lidos do banco.
+     *
+     * @param objectMapper Serializador JSON da aplicação.
+     * @param produtor     Operação do serviço que entrega cada registro ao consumidor informado.
+     * @return Resposta cujo corpo é escrito de forma incremental.
+     */
+    static <T> ResponseEntity<StreamingResponseBody> transmitir(ObjectMapper objectMapper, Consumer<Consumer<T>> produtor) {
+        StreamingResponseBody corpo = saida -> {
+            try (JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida)) {
+                int[] linhas = {0};
+                produtor.accept(dto -> {
+                    try {
+                        objectMapper.writeValue(gerador, dto);
+                        gerador.writeRaw('\n');
+                        if (++linhas[0] % LINHAS_POR_FLUSH == 0) {
+                            gerador.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(corpo);
+    }
+}
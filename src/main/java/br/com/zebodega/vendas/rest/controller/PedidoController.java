@@ -1,11 +1,25 @@
 package br.com.zebodega.vendas.rest.controller;
 
 import br.com.zebodega.vendas.model.PedidoModel;
+import br.com.zebodega.vendas.rest.dto.FaturamentoDTO;
+import br.com.zebodega.vendas.rest.dto.ItensPedidoDTO;
+import br.com.zebodega.vendas.rest.dto.PedidoCompletoDTO;
 import br.com.zebodega.vendas.rest.dto.PedidoDTO;
+import br.com.zebodega.vendas.rest.dto.PeriodoAgrupamento;
+import br.com.zebodega.vendas.service.ItensPedidoService;
 import br.com.zebodega.vendas.service.PedidoService;
+import br.com.zebodega.vendas.service.VersaoTabelaService;
+import br.com.zebodega.vendas.service.VersaoTabelaService.Tabela;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -18,21 +32,135 @@ public class PedidoController {
     @Autowired
     private PedidoService pedidoService;
 
+    @Autowired
+    private ItensPedidoService itensPedidoService;
+
+    @Autowired
+    private VersaoTabelaService versaoTabelaService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Obtém uma página dos pedidos cadastrados, paginada por chave a partir do identificador informado.
+     * O cursor da próxima página é devolvido no cabeçalho {@code X-Next-After}. Quando o {@code If-None-Match}
+     * corresponde à versão atual da tabela, responde {@code 304} sem consultar o banco.
+     *
+     * @param after Último identificador já lido; a listagem começa no registro seguinte.
+     * @param limit Quantidade máxima de registros da página.
+     * @param requisicao Requisição, consultada para os cabeçalhos condicionais.
+     * @return Lista de PedidoDTO da página solicitada.
+     */
     @GetMapping
-    public List<PedidoDTO> obterTodos() {
-        return pedidoService.obterTodos();
+    public ResponseEntity<List<PedidoDTO>> obterTodos(@RequestParam(defaultValue = "0") Long after,
+                                                      @RequestParam(defaultValue = Paginacao.LIMITE_PADRAO) int limit,
+                                                      WebRequest requisicao) {
+        if (RequisicaoCondicional.naoModificado(requisicao, versaoTabelaService, Tabela.PEDIDO)) {
+            return null;
+        }
+        int limite = Paginacao.limitar(limit);
+        return Paginacao.responder(pedidoService.obterPagina(after, limite));
+    }
+
+    /**
+     * Transmite todos os pedidos cadastrados em NDJSON, um registro por linha, à medida que são lidos do banco.
+     * Ativado pelo parâmetro {@code ?stream=true}.
+     *
+     * @return Corpo escrito de forma incremental.
+     */
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> transmitirTodos() {
+        return Paginacao.transmitir(objectMapper, pedidoService::transmitirTodos);
+    }
+
+    /**
+     * Obtém o relatório de faturamento dos pedidos ativos no período, agrupado por dia, semana ou mês.
+     *
+     * @param dataInicial Data de início do período (yyyy-MM-dd).
+     * @param dataFinal Data de fim do período (yyyy-MM-dd).
+     * @param agrupamento Granularidade do relatório: DIA, SEMANA ou MES.
+     * @return Lista de FaturamentoDTO com os totais de cada período.
+     */
+    @GetMapping("/faturamento")
+    public ResponseEntity<List<FaturamentoDTO>> obterFaturamento(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicial,
+                                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFinal,
+                                                                 @RequestParam(defaultValue = "DIA") PeriodoAgrupamento agrupamento) {
+        return ResponseEntity.ok(pedidoService.obterFaturamentoAgrupado(dataInicial, dataFinal, agrupamento));
+    }
+
+    /**
+     * Regenera o consolidado diário de faturamento a partir da tabela de pedidos,
+     * para reconciliá-lo após cargas feitas diretamente no banco.
+     *
+     * @return Quantidade de registros diários gerados.
+     */
+    @PostMapping("/faturamento/reconstruir")
+    public ResponseEntity<Integer> reconstruirFaturamentoDiario() {
+        return ResponseEntity.ok(pedidoService.reconstruirFaturamentoDiario());
+    }
+
+    /**
+     * Aplica o desconto das faixas configuradas a todos os pedidos ativos criados no período, em lote.
+     *
+     * @param dataInicial Data de início do período (yyyy-MM-dd).
+     * @param dataFinal Data de fim do período (yyyy-MM-dd).
+     * @return Quantidade de pedidos reprecificados.
+     */
+    @PostMapping("/desconto")
+    public ResponseEntity<Integer> aplicarDescontoPeriodo(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicial,
+                                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFinal) {
+        return ResponseEntity.ok(pedidoService.aplicarDescontoPeriodo(dataInicial, dataFinal));
     }
 
     @GetMapping("/{id}")
-    public PedidoDTO obterPorId(@PathVariable Long id) {
+    public PedidoDTO obterPorId(@PathVariable Long id, WebRequest requisicao) {
+        if (RequisicaoCondicional.naoModificado(requisicao, versaoTabelaService, Tabela.PEDIDO)) {
+            return null;
+        }
         return pedidoService.obterPorId(id);
     }
 
+    /**
+     * Obtém os itens de um pedido.
+     *
+     * @param id ID do pedido.
+     * @return Lista de ItensPedidoDTO do pedido.
+     */
+    @GetMapping("/{id}/itens")
+    public ResponseEntity<List<ItensPedidoDTO>> obterItens(@PathVariable Long id) {
+        return ResponseEntity.ok(itensPedidoService.obterPorPedido(id));
+    }
+
     @PostMapping
     public PedidoDTO salvar(@RequestBody PedidoModel novoPedido) {
         return pedidoService.salvar(novoPedido);
     }
 
+    /**
+     * Cria um pedido junto com todos os seus itens em uma única chamada e transação.
+     * O valor total é calculado no servidor a partir dos preços cadastrados dos produtos.
+     *
+     * @param pedidoCompleto Cabeçalho do pedido e as linhas com {@code idProduto} e {@code quantidade}.
+     * @return PedidoCompletoDTO com o pedido e os itens gravados.
+     */
+    @PostMapping("/completo")
+    public ResponseEntity<PedidoCompletoDTO> salvarCompleto(@RequestBody PedidoCompletoDTO pedidoCompleto) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(pedidoService.salvarCompleto(pedidoCompleto));
+    }
+
+    /**
+     * Salva uma carga de novos pedidos, persistida em lotes com uma transação por parte.
+     * Se uma parte falhar, as anteriores permanecem gravadas e o corpo do erro informa, em {@code gravados},
+     * quantos pedidos do início da carga foram gravados; apenas os seguintes devem ser reenviados.
+     *
+     * @param novosPedidos Lista de PedidoModel a serem salvos.
+     * @return Lista de PedidoDTO representando os pedidos salvos.
+     */
+    @PostMapping("/lote")
+    public ResponseEntity<List<PedidoDTO>> salvarLote(@RequestBody List<PedidoModel> novosPedidos) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(pedidoService.salvarLote(novosPedidos));
+    }
+
     @PutMapping("/{id}")
     public PedidoDTO atualizar(@PathVariable Long id, @RequestBody PedidoModel pedidoAtualizado) {
         // Aqui definimos o ID corretamente
@@ -1,14 +1,28 @@
 package br.com.zebodega.vendas.rest.controller;
 
 import br.com.zebodega.vendas.model.ProdutoModel;
+import br.com.zebodega.vendas.rest.dto.EstoqueDTO;
+import br.com.zebodega.vendas.rest.dto.FormatoImportacao;
+import br.com.zebodega.vendas.rest.dto.ImportacaoDTO;
 import br.com.zebodega.vendas.rest.dto.ProdutoDTO;
+import br.com.zebodega.vendas.service.BuscaService;
+import br.com.zebodega.vendas.service.EstoqueService;
 import br.com.zebodega.vendas.service.ProdutoService;
+import br.com.zebodega.vendas.service.VersaoTabelaService;
+import br.com.zebodega.vendas.service.VersaoTabelaService.Tabela;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -21,17 +35,86 @@ public class ProdutoController {
     @Autowired
     private ProdutoService produtoService;
 
+    @Autowired
+    private EstoqueService estoqueService;
+
+    @Autowired
+    private VersaoTabelaService versaoTabelaService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BuscaService buscaService;
+
+    /**
+     * Obtém uma página dos produtos cadastrados, paginada por chave a partir do identificador informado.
+     * O cursor da próxima página é devolvido no cabeçalho {@code X-Next-After}. Quando o {@code If-None-Match}
+     * corresponde à versão atual da tabela, responde {@code 304} sem consultar o banco.
+     *
+     * @param after Último identificador já lido; a listagem começa no registro seguinte.
+     * @param limit Quantidade máxima de registros da página.
+     * @param requisicao Requisição, consultada para os cabeçalhos condicionais.
+     * @return Lista de ProdutoDTO da página solicitada.
+     */
     @GetMapping
-    public ResponseEntity<List<ProdutoDTO>> obterTodos() {
+    public ResponseEntity<List<ProdutoDTO>> obterTodos(@RequestParam(defaultValue = "0") Long after,
+                                                       @RequestParam(defaultValue = Paginacao.LIMITE_PADRAO) int limit,
+                                                       WebRequest requisicao) {
+        if (RequisicaoCondicional.naoModificado(requisicao, versaoTabelaService, Tabela.PRODUTO)) {
+            return null;
+        }
+        int limite = Paginacao.limitar(limit);
+        return Paginacao.responder(produtoService.obterPagina(after, limite));
+    }
+
+    /**
+     * Transmite todos os produtos cadastrados em NDJSON, um registro por linha, à medida que são lidos do banco.
+     * Ativado pelo parâmetro {@code ?stream=true}.
+     *
+     * @return Corpo escrito de forma incremental.
+     */
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> transmitirTodos() {
+        return Paginacao.transmitir(objectMapper, produtoService::transmitirTodos);
+    }
 
-        List<ProdutoDTO> produtos = produtoService.obterTodos();
-        return ResponseEntity.ok(produtos);
+    /**
+     * Obtém o catálogo completo dos produtos ativos, servido a partir de um cache já serializado em JSON.
+     *
+     * @param requisicao Requisição, consultada para os cabeçalhos condicionais.
+     * @return Lista de ProdutoDTO do catálogo.
+     */
+    @GetMapping("/catalogo")
+    public ResponseEntity<byte[]> obterCatalogo(WebRequest requisicao) {
 
+        if (RequisicaoCondicional.naoModificado(requisicao, versaoTabelaService, Tabela.PRODUTO)) {
+            return null;
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(produtoService.obterCatalogo());
+
+    }
+
+    /**
+     * Busca produtos por prefixo em nome e descrição, sem distinção de maiúsculas, minúsculas e acentos.
+     * Cada termo da consulta pode ser o início de uma palavra; todos precisam ser encontrados.
+     *
+     * @param q     Texto digitado.
+     * @param limit Quantidade máxima de resultados.
+     * @return Lista de ProdutoDTO encontrados.
+     */
+    @GetMapping("/busca")
+    public ResponseEntity<List<ProdutoDTO>> buscar(@RequestParam String q,
+                                                   @RequestParam(defaultValue = Paginacao.LIMITE_PADRAO) int limit) {
+        return ResponseEntity.ok(buscaService.buscarProdutos(q, Paginacao.limitar(limit)));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProdutoDTO> obterPorId(@PathVariable Long id) {
+    public ResponseEntity<ProdutoDTO> obterPorId(@PathVariable Long id, WebRequest requisicao) {
 
+        if (RequisicaoCondicional.naoModificado(requisicao, versaoTabelaService, Tabela.PRODUTO)) {
+            return null;
+        }
         ProdutoDTO produto = produtoService.obterPorId(id);
         return ResponseEntity.status(HttpStatus.OK).body(produto);
 
@@ -45,6 +128,44 @@ public class ProdutoController {
 
     }
 
+    /**
+     * Importa produtos a partir de um arquivo CSV ({@code text/csv}) ou NDJSON ({@code application/x-ndjson})
+     * enviado no corpo da requisição, que é lido em fluxo e gravado em partes.
+     *
+     * @param tipoConteudo Cabeçalho Content-Type, que define o formato do arquivo.
+     * @param request Requisição cujo corpo contém o arquivo.
+     * @return ImportacaoDTO com o resumo da importação e os erros por linha.
+     */
+    @PostMapping(value = "/importacao", consumes = {"text/csv", Paginacao.NDJSON})
+    public ResponseEntity<ImportacaoDTO> importar(@RequestHeader(HttpHeaders.CONTENT_TYPE) String tipoConteudo,
+                                                  HttpServletRequest request) throws IOException {
+        ImportacaoDTO importacaoDTO = produtoService.importar(request.getInputStream(), FormatoImportacao.doTipoConteudo(tipoConteudo));
+        return ResponseEntity.status(HttpStatus.OK).body(importacaoDTO);
+    }
+
+    /**
+     * Obtém o estoque atual do produto, lido do banco a cada chamada, sem cache nem ETag.
+     *
+     * @param id ID do produto.
+     * @return EstoqueDTO com o estoque disponível.
+     */
+    @GetMapping("/{id}/estoque")
+    public ResponseEntity<EstoqueDTO> obterEstoque(@PathVariable Long id) {
+        return ResponseEntity.ok(estoqueService.obter(id));
+    }
+
+    /**
+     * Acrescenta ao estoque do produto as unidades recebidas.
+     *
+     * @param id ID do produto.
+     * @param quantidade Quantidade recebida.
+     * @return EstoqueDTO com o estoque após a reposição.
+     */
+    @PostMapping("/{id}/estoque")
+    public ResponseEntity<EstoqueDTO> reporEstoque(@PathVariable Long id, @RequestParam int quantidade) {
+        return ResponseEntity.ok(estoqueService.repor(id, quantidade));
+    }
+
     @PutMapping
     public ResponseEntity<ProdutoDTO> atualizar(@Valid @RequestBody ProdutoModel produtoExistente) {
 
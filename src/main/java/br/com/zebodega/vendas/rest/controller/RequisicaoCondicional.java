@@ -0,0 +1,31 @@
+package br.com.zebodega.vendas.rest.controller;
+
+import br.com.zebodega.vendas.service.VersaoTabelaService;
+import br.com.zebodega.vendas.service.VersaoTabelaService.Tabela;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Utilitário compartilhado pelos controladores para as leituras condicionais
+ * ({@code If-None-Match}) baseadas na versão da tabela gravada no banco.
+ */
+final class RequisicaoCondicional {
+
+    private RequisicaoCondicional() {
+    }
+
+    /**
+     * Compara o cabeçalho {@code If-None-Match} da requisição com a versão atual da tabela, preenchendo
+     * {@code ETag} na resposta. Não há {@code Last-Modified}: com resolução de segundos, ele não distingue
+     * alterações feitas no mesmo segundo. Quando o cliente já possui a versão atual,
+     * a resposta é marcada como {@code 304 Not Modified} e o controlador deve retornar {@code null}
+     * sem consultar o serviço.
+     *
+     * @param requisicao          Requisição corrente.
+     * @param versaoTabelaService Serviço que mantém as versões das tabelas.
+     * @param tabela              Tabela lida pelo endpoint.
+     * @return {@code true} se o conteúdo não foi modificado desde a versão informada pelo cliente.
+     */
+    static boolean naoModificado(WebRequest requisicao, VersaoTabelaService versaoTabelaService, Tabela tabela) {
+        return requisicao.checkNotModified(versaoTabelaService.obterEtag(tabela));
+    }
+}
@@ -3,11 +3,13 @@ package br.com.zebodega.vendas.rest.controller;
 import br.com.zebodega.vendas.model.UsuarioModel;
 import br.com.zebodega.vendas.rest.dto.UsuarioDTO;
 import br.com.zebodega.vendas.service.UsuarioService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -21,12 +23,33 @@ public class UsuarioController {
     @Autowired
     private UsuarioService usuarioService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Obtém uma página dos usuários cadastrados, paginada por chave a partir do identificador informado.
+     * O cursor da próxima página é devolvido no cabeçalho {@code X-Next-After}.
+     *
+     * @param after Último identificador já lido; a listagem começa no registro seguinte.
+     * @param limit Quantidade máxima de registros da página.
+     * @return Lista de UsuarioDTO da página solicitada.
+     */
     @GetMapping
-    public ResponseEntity<List<UsuarioDTO>> obterTodos() {
-
-        List<UsuarioDTO> usuarios = usuarioService.obterTodos();
-        return ResponseEntity.ok(usuarios);
+    public ResponseEntity<List<UsuarioDTO>> obterTodos(@RequestParam(defaultValue = "0") Long after,
+                                                       @RequestParam(defaultValue = Paginacao.LIMITE_PADRAO) int limit) {
+        int limite = Paginacao.limitar(limit);
+        return Paginacao.responder(usuarioService.obterPagina(after, limite));
+    }
 
+    /**
+     * Transmite todos os usuários cadastrados em NDJSON, um registro por linha, à medida que são lidos do banco.
+     * Ativado pelo parâmetro {@code ?stream=true}.
+     *
+     * @return Corpo escrito de forma incremental.
+     */
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> transmitirTodos() {
+        return Paginacao.transmitir(objectMapper, usuarioService::transmitirTodos);
     }
 
     @GetMapping("/{id}")
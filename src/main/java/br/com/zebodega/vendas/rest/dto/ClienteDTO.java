@@ -1,8 +1,8 @@
 package br.com.zebodega.vendas.rest.dto;
 
+import br.com.zebodega.vendas.mapper.EntityMapper;
 import br.com.zebodega.vendas.model.ClienteModel;
 import lombok.Data;
-import org.modelmapper.ModelMapper;
 
 import java.time.LocalDate;
 
@@ -26,7 +26,6 @@ public class ClienteDTO {
          * @return Uma instância de ClienteModel com os dados mapeados a partir do ClienteDTO.
          */
         public ClienteModel toModel() {
-                ModelMapper modelMapper = new ModelMapper();
-                return modelMapper.map(this, ClienteModel.class);
+                return EntityMapper.toModel(this);
         }
 }
\ No newline at end of file
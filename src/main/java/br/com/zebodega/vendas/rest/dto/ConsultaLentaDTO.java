@@ -0,0 +1,32 @@
+package br.com.zebodega.vendas.rest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * DTO de um comando SQL do ranking das execuções mais lentas.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ConsultaLentaDTO {
+
+    private String sql;
+
+    /**
+     * Tempo de execução, incluindo a leitura do resultado, em milissegundos.
+     */
+    private double duracaoMs;
+
+    /**
+     * Linhas lidas ou alteradas; {@code -1} quando o driver não informa.
+     */
+    private long linhas;
+
+    private int parametros;
+
+    private Instant instante;
+}
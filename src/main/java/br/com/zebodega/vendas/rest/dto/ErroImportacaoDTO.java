@@ -0,0 +1,26 @@
+package br.com.zebodega.vendas.rest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO que descreve um erro encontrado em uma linha do arquivo importado.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ErroImportacaoDTO {
+
+    /**
+     * Número da linha no arquivo, iniciando em 1.
+     */
+    private long linha;
+
+    /**
+     * Campo com erro, ou {@code null} quando o erro se refere à linha inteira.
+     */
+    private String campo;
+
+    private String mensagem;
+}
@@ -0,0 +1,21 @@
+package br.com.zebodega.vendas.rest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO que representa o estoque disponível de um produto.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EstoqueDTO {
+
+    private Long idProduto;
+
+    /**
+     * Quantidade disponível para venda.
+     */
+    private long estoque;
+}
@@ -0,0 +1,32 @@
+package br.com.zebodega.vendas.rest.dto;
+
+import br.com.zebodega.vendas.model.Dinheiro;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * DTO com os totais de faturamento de um período do relatório.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FaturamentoDTO {
+
+    /**
+     * Primeiro dia do período agrupado.
+     */
+    private LocalDate inicio;
+
+    private long quantidade;
+
+    private Dinheiro total;
+
+    private Dinheiro minimo;
+
+    private Dinheiro maximo;
+
+    private Dinheiro media;
+}
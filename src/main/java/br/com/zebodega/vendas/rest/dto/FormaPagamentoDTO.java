@@ -1,8 +1,8 @@
 package br.com.zebodega.vendas.rest.dto;
 
+import br.com.zebodega.vendas.mapper.EntityMapper;
 import br.com.zebodega.vendas.model.FormaPagamentoModel;
 import lombok.Data;
-import org.modelmapper.ModelMapper;
 
 @Data
 public class FormaPagamentoDTO {
@@ -14,7 +14,6 @@ public class FormaPagamentoDTO {
     private String descricao;
 
     public FormaPagamentoModel toModel(){
-        ModelMapper modelMapper = new ModelMapper();
-        return modelMapper.map(this, FormaPagamentoModel.class);
+        return EntityMapper.toModel(this);
     }
 }
@@ -0,0 +1,42 @@
+package br.com.zebodega.vendas.rest.dto;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Formatos aceitos pelos endpoints de importação em massa.
+ */
+public enum FormatoImportacao {
+
+    /**
+     * Texto separado por vírgula ou ponto e vírgula, com os nomes dos campos na primeira linha.
+     */
+    CSV("text/csv"),
+
+    /**
+     * Um objeto JSON por linha.
+     */
+    NDJSON("application/x-ndjson");
+
+    private final MediaType tipoConteudo;
+
+    FormatoImportacao(String tipoConteudo) {
+        this.tipoConteudo = MediaType.parseMediaType(tipoConteudo);
+    }
+
+    /**
+     * Obtém o formato correspondente ao cabeçalho Content-Type da requisição.
+     *
+     * @param tipoConteudo Valor do cabeçalho Content-Type.
+     * @return Formato da importação.
+     * @throws IllegalArgumentException Se o tipo de conteúdo não for suportado.
+     */
+    public static FormatoImportacao doTipoConteudo(String tipoConteudo) {
+        MediaType tipo = MediaType.parseMediaType(tipoConteudo);
+        for (FormatoImportacao formato : values()) {
+            if (formato.tipoConteudo.isCompatibleWith(tipo)) {
+                return formato;
+            }
+        }
+        throw new IllegalArgumentException("Tipo de conteúdo não suportado para importação: " + tipoConteudo);
+    }
+}
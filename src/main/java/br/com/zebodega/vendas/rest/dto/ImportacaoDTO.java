@@ -0,0 +1,33 @@
+package br.com.zebodega.vendas.rest.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO com o resultado de uma importação em massa.
+ */
+@Data
+public class ImportacaoDTO {
+
+    /**
+     * Quantidade de linhas de dados lidas do arquivo.
+     */
+    private long linhasLidas;
+
+    /**
+     * Quantidade de registros gravados na base de dados.
+     */
+    private long importados;
+
+    /**
+     * Quantidade total de erros encontrados, incluindo os que não constam em {@link #erros}.
+     */
+    private long totalErros;
+
+    /**
+     * Erros por linha, limitados a {@code vendas.importacao.maximo-erros} entradas.
+     */
+    private List<ErroImportacaoDTO> erros = new ArrayList<>();
+}
@@ -1,9 +1,9 @@
 package br.com.zebodega.vendas.rest.dto;
 
 
+import br.com.zebodega.vendas.mapper.EntityMapper;
 import br.com.zebodega.vendas.model.ItensPedidoModel;
 import lombok.Data;
-import org.modelmapper.ModelMapper;
 
 @Data
 public class ItensPedidoDTO {
@@ -15,7 +15,6 @@ public class ItensPedidoDTO {
     private Long idProduto;
 
     public ItensPedidoModel toModel(){
-        ModelMapper modelMapper = new ModelMapper();
-        return modelMapper.map(this, ItensPedidoModel.class);
+        return EntityMapper.toModel(this);
     }
 }
@@ -0,0 +1,29 @@
+package br.com.zebodega.vendas.rest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO que representa uma página de resultados obtida por paginação por chave (keyset).
+ *
+ * @param <T> Tipo dos itens da página.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PaginaDTO<T> {
+
+    /**
+     * Itens da página, ordenados pelo identificador.
+     */
+    private List<T> itens;
+
+    /**
+     * Identificador a ser informado em {@code after} para obter a próxima página,
+     * ou {@code null} quando não houver mais registros.
+     */
+    private Long proximoAfter;
+}
@@ -0,0 +1,42 @@
+package br.com.zebodega.vendas.rest.dto;
+
+import br.com.zebodega.vendas.model.Dinheiro;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO do pedido completo: o cabeçalho do pedido junto com todas as suas linhas de itens,
+ * recebido e devolvido pelo endpoint {@code POST /pedido/completo}.
+ */
+@Data
+public class PedidoCompletoDTO {
+
+    /**
+     * Identificador gerado para o pedido; ignorado na entrada.
+     */
+    private Long idPedido;
+
+    private String numeroPedido;
+
+    /**
+     * Data do pedido; quando omitida, é usada a data atual.
+     */
+    private LocalDate dataCriacao;
+
+    /**
+     * Situação do pedido; quando omitida, o pedido é criado como ATIVO.
+     */
+    private String status;
+
+    /**
+     * Soma de {@code preco × quantidade} dos itens, calculada pelo servidor; ignorada na entrada.
+     */
+    private Dinheiro valorTotal;
+
+    /**
+     * Linhas do pedido, cada uma com {@code idProduto} e {@code quantidade}.
+     */
+    private List<ItensPedidoDTO> itens;
+}
@@ -1,16 +1,17 @@
 package br.com.zebodega.vendas.rest.dto;
 
 
+import br.com.zebodega.vendas.mapper.EntityMapper;
+import br.com.zebodega.vendas.model.Dinheiro;
 import br.com.zebodega.vendas.model.PedidoModel;
 import lombok.Data;
-import org.modelmapper.ModelMapper;
 
 import java.time.LocalDate;
 
 @Data
 public class PedidoDTO {
 
-    private float valorTotal;
+    private Dinheiro valorTotal;
 
     private LocalDate dataHora;
 
@@ -24,8 +25,10 @@ public class PedidoDTO {
 
     private Long idCliente;
 
+    // Versão do registro, a ser devolvida nas alterações para que não sobrescrevam mudanças que o cliente não viu
+    private Long versao;
+
     public PedidoModel toModel(){
-        ModelMapper modelMapper = new ModelMapper();
-        return modelMapper.map(this, PedidoModel.class);
+        return EntityMapper.toModel(this);
     }
 }
@@ -0,0 +1,30 @@
+package br.com.zebodega.vendas.rest.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Granularidade de agrupamento dos relatórios de faturamento.
+ */
+public enum PeriodoAgrupamento {
+
+    DIA,
+    SEMANA,
+    MES;
+
+    /**
+     * Obtém a data inicial do período ao qual a data informada pertence.
+     * Semanas iniciam na segunda-feira.
+     *
+     * @param data Data a ser agrupada.
+     * @return Primeiro dia do período.
+     */
+    public LocalDate inicio(LocalDate data) {
+        return switch (this) {
+            case DIA -> data;
+            case SEMANA -> data.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MES -> data.withDayOfMonth(1);
+        };
+    }
+}
@@ -1,8 +1,9 @@
 package br.com.zebodega.vendas.rest.dto;
 
+import br.com.zebodega.vendas.mapper.EntityMapper;
+import br.com.zebodega.vendas.model.Dinheiro;
 import br.com.zebodega.vendas.model.ProdutoModel;
 import lombok.Data;
-import org.modelmapper.ModelMapper;
 
 @Data
 public class ProdutoDTO {
@@ -12,12 +13,14 @@ public class ProdutoDTO {
 
     private String descricao;
 
-    private  float preco;
+    private Dinheiro preco;
 
     private boolean ativo;
 
+    // Versão do registro, a ser devolvida nas alterações para que não sobrescrevam mudanças que o cliente não viu
+    private Long versao;
+
     public ProdutoModel toModel(){
-        ModelMapper modelMapper = new ModelMapper();
-        return modelMapper.map(this, ProdutoModel.class);
+        return EntityMapper.toModel(this);
     }
 }
@@ -1,8 +1,8 @@
 package br.com.zebodega.vendas.rest.dto;
 
+import br.com.zebodega.vendas.mapper.EntityMapper;
 import br.com.zebodega.vendas.model.UsuarioModel;
 import lombok.Data;
-import org.modelmapper.ModelMapper;
 
 @Data
 public class UsuarioDTO {
@@ -17,7 +17,6 @@ public class UsuarioDTO {
     private Long idCliente;
 
     public UsuarioModel toModel(){
-        ModelMapper modelMapper = new ModelMapper();
-        return modelMapper.map(this, UsuarioModel.class);
+        return EntityMapper.toModel(this);
     }
 }
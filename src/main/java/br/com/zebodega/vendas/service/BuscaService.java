@@ -0,0 +1,172 @@
+package br.com.zebodega.vendas.service;
+
+import br.com.zebodega.vendas.config.MetricasConfig;
+import br.com.zebodega.vendas.model.ClienteModel;
+import br.com.zebodega.vendas.model.ProdutoModel;
+import br.com.zebodega.vendas.repository.ClienteRepository;
+import br.com.zebodega.vendas.repository.ProdutoRepository;
+import br.com.zebodega.vendas.rest.dto.ClienteDTO;
+import br.com.zebodega.vendas.rest.dto.ProdutoDTO;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Serviço de busca por prefixo de produtos ({@code nome} e {@code descricao}) e clientes ({@code nome},
+ * {@code apelido}, {@code cpf} e {@code email}), atendida por índices em memória ({@link IndiceBusca}).
+ *
+ * <p>Os índices são montados a partir do banco na inicialização, antes de a aplicação passar a receber
+ * requisições, e mantidos pelos serviços de escrita, que registram aqui cada inclusão, alteração ou remoção;
+ * dentro de uma transação, o registro só é aplicado após o commit. Gravações feitas diretamente pelos
+ * repositórios, fora dos serviços, só entram no índice na próxima inicialização.</p>
+ */
+@Service
+@Timed(value = MetricasConfig.TEMPO_SERVICO, histogram = true)
+public class BuscaService implements SmartInitializingSingleton, MeterBinder {
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final IndiceBusca<ProdutoDTO> produtos = new IndiceBusca<>();
+
+    private final IndiceBusca<ClienteDTO> clientes = new IndiceBusca<>();
+
+    /**
+     * Monta os índices com todos os produtos e clientes cadastrados.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        // Transação de escrita, para que a leitura seja feita no primário mesmo com réplicas configuradas
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            LeituraEmFluxo.transmitir(produtoRepository.streamAllByOrderByIdProdutoAsc(), Function.identity(),
+                    produto -> produtos.indexar(produto.getIdProduto(), produto.toDTO(), produto.getNome(), produto.getDescricao()),
+                    entityManager);
+            LeituraEmFluxo.transmitir(clienteRepository.streamAllByOrderByIdClienteAsc(), Function.identity(),
+                    cliente -> clientes.indexar(cliente.getIdCliente(), cliente.toDTO(),
+                            cliente.getNome(), cliente.getApelido(), cliente.getCpf(), cliente.getEmail()),
+                    entityManager);
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("vendas.busca.registros", produtos, IndiceBusca::tamanho)
+                .description("Registros no índice de busca em memória")
+                .tag("indice", "produto")
+                .register(registry);
+        Gauge.builder("vendas.busca.registros", clientes, IndiceBusca::tamanho)
+                .description("Registros no índice de busca em memória")
+                .tag("indice", "cliente")
+                .register(registry);
+    }
+
+    /**
+     * Busca produtos cujo nome ou descrição tenham palavras começando com cada termo da consulta, sem
+     * distinção de maiúsculas, minúsculas e acentos.
+     *
+     * @param consulta Texto digitado.
+     * @param limite   Quantidade máxima de resultados.
+     * @return Lista de ProdutoDTO encontrados, em ordem alfabética da palavra correspondente.
+     */
+    public List<ProdutoDTO> buscarProdutos(String consulta, int limite) {
+        return produtos.buscar(consulta, limite);
+    }
+
+    /**
+     * Busca clientes cujo nome, apelido, CPF ou e-mail tenham palavras começando com cada termo da consulta,
+     * sem distinção de maiúsculas, minúsculas e acentos. O CPF pode ser informado com ou sem pontuação.
+     *
+     * @param consulta Texto digitado.
+     * @param limite   Quantidade máxima de resultados.
+     * @return Lista de ClienteDTO encontrados, em ordem alfabética da palavra correspondente.
+     */
+    public List<ClienteDTO> buscarClientes(String consulta, int limite) {
+        return clientes.buscar(consulta, limite);
+    }
+
+    /**
+     * Registra a inclusão ou alteração de um produto.
+     *
+     * @param produto Produto gravado, com o identificador.
+     */
+    public void registrarProduto(ProdutoModel produto) {
+        ProdutoDTO dto = produto.toDTO();
+        Long id = produto.getIdProduto();
+        String nome = produto.getNome();
+        String descricao = produto.getDescricao();
+        aplicar(() -> produtos.indexar(id, dto, nome, descricao));
+    }
+
+    /**
+     * Registra a remoção de um produto.
+     *
+     * @param idProduto Identificador do produto removido; sem ele, nada é alterado.
+     */
+    public void removerProduto(Long idProduto) {
+        if (idProduto != null) {
+            aplicar(() -> produtos.remover(idProduto));
+        }
+    }
+
+    /**
+     * Registra a inclusão ou alteração de um cliente.
+     *
+     * @param cliente Cliente gravado, com o identificador.
+     */
+    public void registrarCliente(ClienteModel cliente) {
+        ClienteDTO dto = cliente.toDTO();
+        Long id = cliente.getIdCliente();
+        String nome = cliente.getNome();
+        String apelido = cliente.getApelido();
+        String cpf = cliente.getCpf();
+        String email = cliente.getEmail();
+        aplicar(() -> clientes.indexar(id, dto, nome, apelido, cpf, email));
+    }
+
+    /**
+     * Registra a remoção de um cliente.
+     *
+     * @param idCliente Identificador do cliente removido; sem ele, nada é alterado.
+     */
+    public void removerCliente(Long idCliente) {
+        if (idCliente != null) {
+            aplicar(() -> clientes.remover(idCliente));
+        }
+    }
+
+    // Método auxiliar que aplica a alteração após o commit da transação corrente ou, sem transação, de imediato
+    private static void aplicar(Runnable alteracao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            alteracao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                alteracao.run();
+            }
+        });
+    }
+}
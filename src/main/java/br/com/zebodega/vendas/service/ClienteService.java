@@ -1,20 +1,37 @@
 package br.com.zebodega.vendas.service;
 
+import br.com.zebodega.vendas.config.ConsultaRelatorio;
+import br.com.zebodega.vendas.config.MetricasConfig;
 import br.com.zebodega.vendas.exception.*;
 import br.com.zebodega.vendas.model.ClienteModel;
+import br.com.zebodega.vendas.repository.ChavesCliente;
 import br.com.zebodega.vendas.repository.ClienteRepository;
 import br.com.zebodega.vendas.rest.dto.ClienteDTO;
+import br.com.zebodega.vendas.rest.dto.FormatoImportacao;
+import br.com.zebodega.vendas.rest.dto.ImportacaoDTO;
+import br.com.zebodega.vendas.rest.dto.PaginaDTO;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
  * Serviço responsável pelas operações relacionadas aos clientes.
  */
 @Service
+@Timed(value = MetricasConfig.TEMPO_SERVICO, histogram = true)
 public class ClienteService {
 
     /**
@@ -24,6 +41,15 @@ public class ClienteService {
     @Autowired
     private ClienteRepository clienteRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ImportadorEmFluxo importadorEmFluxo;
+
+    @Autowired
+    private BuscaService buscaService;
+
     /**
      * Obtém um cliente pelo ID.
      *
@@ -39,16 +65,31 @@ public class ClienteService {
     }
 
     /**
-     * Obtém a lista de todos os clientes cadastrados.
+     * Obtém uma página de clientes por paginação por chave.
      *
-     * @return Lista de ClienteDTO representando os clientes cadastrados.
+     * @param after Último identificador já lido pelo cliente.
+     * @param limit Quantidade máxima de registros da página.
+     * @return Página de ClienteDTO e o cursor da próxima página.
      */
     @Transactional(readOnly = true)
-    public List<ClienteDTO> obterTodos() {
-        List<ClienteModel> listaClientes = clienteRepository.findAll();
-        return listaClientes.stream()
-                .map(clienteModel -> clienteModel.toDTO())
+    public PaginaDTO<ClienteDTO> obterPagina(Long after, int limit) {
+        List<ClienteModel> pagina = clienteRepository.findByIdClienteGreaterThanOrderByIdClienteAsc(after, Limit.of(limit));
+        List<ClienteDTO> itens = pagina.stream()
+                .map(ClienteModel::toDTO)
                 .collect(Collectors.toList());
+        Long proximoAfter = pagina.size() < limit ? null : pagina.get(pagina.size() - 1).getIdCliente();
+        return new PaginaDTO<>(itens, proximoAfter);
+    }
+
+    /**
+     * Percorre todos os clientes cadastrados, entregando cada um ao consumidor à medida que é lido do banco.
+     *
+     * @param consumidor Destino de cada ClienteDTO.
+     */
+    @ConsultaRelatorio
+    @Transactional(readOnly = true)
+    public void transmitirTodos(Consumer<ClienteDTO> consumidor) {
+        LeituraEmFluxo.transmitir(clienteRepository.streamAllByOrderByIdClienteAsc(), ClienteModel::toDTO, consumidor, entityManager);
     }
 
     /**
@@ -56,7 +97,7 @@ public class ClienteService {
      *
      * @param novoCliente ClienteModel contendo os dados do novo cliente.
      * @return ClienteDTO representando o cliente salvo.
-     * @throws ConstraintException    Se o CPF ou e-mail já existirem.
+     * @throws ConstraintException    Se o CPF, e-mail ou telefone já existirem, informando todos os campos em conflito.
      * @throws DataIntegrityException Se ocorrer violação de integridade.
      * @throws BusinessRuleException  Se houver violação de regra de negócio.
      * @throws SQLException           Se ocorrer falha de conexão com o banco de dados.
@@ -64,18 +105,14 @@ public class ClienteService {
     @Transactional
     public ClienteDTO salvar(ClienteModel novoCliente) {
         try {
-            //Caso ocorra uma tentativa de salvar um novo cliente com um cpf já existente.
-            if (clienteRepository.existsByCpf(novoCliente.getCpf())) {
-                throw new ConstraintException("Já existe um cliente cadastrado com esse CPF: " + novoCliente.getCpf() + " na base de dados!");
-            }
-
-            //Caso ocorra uma tentativa de salvar um novo cliente com um e-mail já existente.
-            if (clienteRepository.existsByEmail(novoCliente.getEmail())) {
-                throw new ConstraintException("Já existe um cliente com esse E-MAIL " + novoCliente.getEmail() + " na base de dados!");
-            }
+            //Caso ocorra uma tentativa de salvar um novo cliente com cpf, e-mail ou telefone já existentes.
+            verificarUnicidade(novoCliente, clienteRepository.findByCpfOrEmailOrTelefone(
+                    novoCliente.getCpf(), novoCliente.getEmail(), novoCliente.getTelefone()), null);
 
             //Salva o novo cliente na base de dados.
-            return clienteRepository.save(novoCliente).toDTO();
+            ClienteModel clienteSalvo = clienteRepository.save(novoCliente);
+            buscaService.registrarCliente(clienteSalvo);
+            return clienteSalvo.toDTO();
 
         } catch (DataIntegrityException e) {
             throw new DataIntegrityException("Erro! Não foi possível salvar o cliente " + novoCliente.getNome() + " !");
@@ -92,6 +129,41 @@ public class ClienteService {
         }
     }
 
+    /**
+     * Importa clientes a partir de um arquivo CSV ou NDJSON lido em fluxo, validando cada linha e
+     * descartando CPFs, e-mails ou telefones já cadastrados ou repetidos no arquivo.
+     *
+     * @param entrada Conteúdo do arquivo.
+     * @param formato Formato do conteúdo.
+     * @return Resumo da importação com os erros por linha.
+     */
+    public ImportacaoDTO importar(InputStream entrada, FormatoImportacao formato) {
+        return importadorEmFluxo.importar(entrada, formato, ClienteModel.class, new RegraImportacao<>() {
+            @Override
+            public Map<String, String> chaves(ClienteModel cliente) {
+                return Map.of("cpf", cliente.getCpf(), "email", cliente.getEmail(), "telefone", cliente.getTelefone());
+            }
+
+            @Override
+            public Map<String, Set<String>> chavesExistentes(Map<String, Set<String>> chavesPorCampo) {
+                Map<String, Set<String>> existentes = Map.of("cpf", new HashSet<>(), "email", new HashSet<>(), "telefone", new HashSet<>());
+                for (ChavesCliente chaves : clienteRepository.findByCpfInOrEmailInOrTelefoneIn(
+                        chavesPorCampo.get("cpf"), chavesPorCampo.get("email"), chavesPorCampo.get("telefone"))) {
+                    existentes.get("cpf").add(chaves.getCpf());
+                    existentes.get("email").add(chaves.getEmail());
+                    existentes.get("telefone").add(chaves.getTelefone());
+                }
+                return existentes;
+            }
+
+            @Override
+            public void salvar(List<ClienteModel> clientes) {
+                clientes.forEach(cliente -> cliente.setIdCliente(null));
+                clienteRepository.saveAll(clientes).forEach(buscaService::registrarCliente);
+            }
+        });
+    }
+
     /**
      * Atualiza os dados de um cliente existente.
      *
@@ -105,12 +177,23 @@ public class ClienteService {
     @Transactional
     public ClienteDTO atualizar(ClienteModel clienteExistente) {
         try {
+            List<ChavesCliente> clientesEncontrados = clienteRepository.findByCpfOrEmailOrTelefone(
+                    clienteExistente.getCpf(), clienteExistente.getEmail(), clienteExistente.getTelefone());
+
             //Caso ocorra uma tentativa de salvar um cliente que não existe utilizando um cpf.
-            if (!clienteRepository.existsByCpf(clienteExistente.getCpf())) {
-                throw new ConstraintException("O cliente com esse CPF " + clienteExistente.getCpf() + " não existe na base de dados!");
-            }
+            ChavesCliente clienteAtual = clientesEncontrados.stream()
+                    .filter(chaves -> chaves.getCpf().equals(clienteExistente.getCpf()))
+                    .findFirst()
+                    .orElseThrow(() -> new ConstraintException("O cliente com esse CPF " + clienteExistente.getCpf() + " não existe na base de dados!"));
+
+            //Caso o e-mail ou o telefone informados já pertençam a outro cliente.
+            verificarUnicidade(clienteExistente, clientesEncontrados, clienteAtual.getIdCliente());
+
             //Atualiza o cliente na base de dados.
-            return clienteRepository.save(clienteExistente).toDTO();
+            clienteExistente.setIdCliente(clienteAtual.getIdCliente());
+            ClienteModel clienteAtualizado = clienteRepository.save(clienteExistente);
+            buscaService.registrarCliente(clienteAtualizado);
+            return clienteAtualizado.toDTO();
 
         } catch (DataIntegrityException e) {
             throw new DataIntegrityException("Erro! Não foi possível atualizar o cliente " + clienteExistente.getNome() + " !");
@@ -142,12 +225,12 @@ public class ClienteService {
     public void deletar(ClienteModel clienteExistente) {
         try {
             //Caso ocorra uma tentativa de deletar um cliente que não existe utilizando um cpf.
-            if (!clienteRepository.existsByCpf(clienteExistente.getCpf())) {
-                throw new ConstraintException("O cliente com esse CPF " + clienteExistente.getCpf() + " não existe na base de dados!");
-            }
+            ClienteModel clientePersistido = clienteRepository.findByCpf(clienteExistente.getCpf())
+                    .orElseThrow(() -> new ConstraintException("O cliente com esse CPF " + clienteExistente.getCpf() + " não existe na base de dados!"));
 
-            //Deletar o cliente na base de dados.
-            clienteRepository.delete(clienteExistente);
+            //Deletar o cliente encontrado pelo CPF, e não o ID informado na requisição, na base de dados e no índice de busca.
+            clienteRepository.delete(clientePersistido);
+            buscaService.removerCliente(clientePersistido.getIdCliente());
 
         } catch (DataIntegrityException e) {
             throw new DataIntegrityException("Erro! Não foi possível deletar o cliente " + clienteExistente.getNome() + " !");
@@ -165,4 +248,28 @@ public class ClienteService {
             throw new ObjectNotFoundException("Erro! Não foi possível deletar o cliente" + clienteExistente.getNome() + ". Não encontrado no banco de dados!");
         }
     }
-}
\ No newline at end of file
+
+    // Método auxiliar que reúne, a partir do resultado de uma única consulta, todos os campos únicos em conflito
+    private void verificarUnicidade(ClienteModel cliente, List<ChavesCliente> clientesEncontrados, Long idClientePermitido) {
+        List<FieldMessage> conflitos = new ArrayList<>();
+        for (ChavesCliente encontrado : clientesEncontrados) {
+            if (encontrado.getIdCliente().equals(idClientePermitido)) {
+                continue;
+            }
+            if (encontrado.getCpf().equals(cliente.getCpf())) {
+                conflitos.add(new FieldMessage("cpf", "Já existe um cliente cadastrado com esse CPF: " + cliente.getCpf() + " na base de dados!"));
+            }
+            if (encontrado.getEmail().equals(cliente.getEmail())) {
+                conflitos.add(new FieldMessage("email", "Já existe um cliente com esse E-MAIL " + cliente.getEmail() + " na base de dados!"));
+            }
+            if (encontrado.getTelefone().equals(cliente.getTelefone())) {
+                conflitos.add(new FieldMessage("telefone", "Já existe um cliente com esse TELEFONE " + cliente.getTelefone() + " na base de dados!"));
+            }
+        }
+        if (!conflitos.isEmpty()) {
+            throw new ConstraintException(conflitos.stream()
+                    .map(FieldMessage::getMessage)
+                    .collect(Collectors.joining(" ")), conflitos);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package br.com.zebodega.vendas.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Estimativa em memória do estoque disponível de um produto, dividida em faixas atualizadas de forma independente.
+ *
+ * <p>Cada retirada começa por uma faixa aleatória e só recorre às demais se ela não bastar, de modo que threads
+ * concorrentes raramente disputam o mesmo contador. As faixas ficam espaçadas no vetor para não compartilharem
+ * linha de cache. A estimativa não substitui o banco, que continua sendo a referência: ela só recusa, sem
+ * acessá-lo, as retiradas que com certeza excederiam o estoque.</p>
+ */
+final class ContadorEstoque {
+
+    // Posições do vetor por faixa: 16 longs ocupam 128 bytes, separando as faixas em linhas de cache distintas
+    private static final int ESPACAMENTO = 16;
+
+    private final AtomicLongArray faixas;
+
+    private final int quantidadeFaixas;
+
+    private final long criadoEm = System.nanoTime();
+
+    private final AtomicBoolean substituido = new AtomicBoolean();
+
+    ContadorEstoque(long disponivel, int quantidadeFaixas) {
+        this.quantidadeFaixas = quantidadeFaixas;
+        this.faixas = new AtomicLongArray(quantidadeFaixas * ESPACAMENTO);
+        for (int i = 0; i < quantidadeFaixas; i++) {
+            long parte = disponivel / quantidadeFaixas + (i < disponivel % quantidadeFaixas ? 1 : 0);
+            faixas.set(i * ESPACAMENTO, parte);
+        }
+    }
+
+    /**
+     * Retira a quantidade das faixas, se a soma delas for suficiente.
+     *
+     * @param quantidade Quantidade a ser retirada.
+     * @return {@code true} se a quantidade foi retirada; {@code false} se não havia o suficiente, sem alterar o total.
+     */
+    boolean retirar(long quantidade) {
+        int inicio = ThreadLocalRandom.current().nextInt(quantidadeFaixas);
+        long retirado = 0;
+        for (int i = 0; i < quantidadeFaixas && retirado < quantidade; i++) {
+            retirado += retirarDaFaixa((inicio + i) % quantidadeFaixas, quantidade - retirado);
+        }
+        if (retirado < quantidade) {
+            faixas.addAndGet(inicio * ESPACAMENTO, retirado);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Devolve a quantidade a uma das faixas.
+     *
+     * @param quantidade Quantidade a ser devolvida.
+     */
+    void devolver(long quantidade) {
+        faixas.addAndGet(ThreadLocalRandom.current().nextInt(quantidadeFaixas) * ESPACAMENTO, quantidade);
+    }
+
+    /**
+     * Soma das faixas; sob concorrência, é apenas aproximada.
+     *
+     * @return Quantidade disponível estimada.
+     */
+    long disponivel() {
+        long soma = 0;
+        for (int i = 0; i < quantidadeFaixas; i++) {
+            soma += faixas.get(i * ESPACAMENTO);
+        }
+        return soma;
+    }
+
+    /**
+     * Tempo decorrido desde a leitura do banco que originou a estimativa.
+     *
+     * @return Idade da estimativa, em nanossegundos.
+     */
+    long idadeNanos() {
+        return System.nanoTime() - criadoEm;
+    }
+
+    /**
+     * Marca a estimativa como em substituição por uma nova leitura do banco.
+     *
+     * @return {@code true} apenas para o primeiro a pedir a substituição.
+     */
+    boolean iniciarSubstituicao() {
+        return substituido.compareAndSet(false, true);
+    }
+
+    // Método auxiliar que retira da faixa o quanto ela tiver, até o máximo informado
+    private long retirarDaFaixa(int faixa, long maximo) {
+        int posicao = faixa * ESPACAMENTO;
+        while (true) {
+            long atual = faixas.get(posicao);
+            if (atual <= 0) {
+                return 0;
+            }
+            long parte = Math.min(atual, maximo);
+            if (faixas.compareAndSet(posicao, atual, atual - parte)) {
+                return parte;
+            }
+        }
+    }
+}
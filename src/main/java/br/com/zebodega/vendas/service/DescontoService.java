@@ -0,0 +1,130 @@
+package br.com.zebodega.vendas.service;
+
+import br.com.zebodega.vendas.model.Dinheiro;
+import br.com.zebodega.vendas.model.PedidoModel;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Motor de descontos dos pedidos, com as faixas lidas uma única vez da propriedade {@code vendas.desconto.faixas}.
+ *
+ * <p>Cada faixa tem a forma {@code limite:taxa} e vale para valores totais acima do limite; vale a faixa de
+ * maior limite atingida. Os limites ficam pré-calculados em centavos e as taxas em partes por milhão, de modo
+ * que o cálculo é feito apenas com aritmética de {@code long}, sem criar objetos. O desconto é arredondado
+ * para o centavo mais próximo (metade para cima), a mesma regra usada pelo banco na reprecificação em lote.</p>
+ */
+@Service
+public class DescontoService {
+
+    private static final long PARTES_POR_MILHAO = 1_000_000L;
+
+    private final long[] limitesCentavos;
+
+    private final long[] taxasPorMilhao;
+
+    // Taxas no formato decimal, usadas como parâmetros do comando de reprecificação em lote
+    private final BigDecimal[] taxas;
+
+    // Comando de reprecificação em lote, montado uma vez a partir das faixas
+    private final String comandoReprecificacao;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public DescontoService(@Value("${vendas.desconto.faixas:500.00:0.05,1000.00:0.10}") String faixas) {
+        String[] definicoes = faixas.isBlank() ? new String[0] : faixas.split(",");
+        limitesCentavos = new long[definicoes.length];
+        taxasPorMilhao = new long[definicoes.length];
+        taxas = new BigDecimal[definicoes.length];
+        for (int i = 0; i < definicoes.length; i++) {
+            String[] partes = definicoes[i].trim().split(":");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Faixa de desconto inválida: '" + definicoes[i] + "' (esperado limite:taxa).");
+            }
+            limitesCentavos[i] = Dinheiro.de(partes[0]).centavos();
+            taxas[i] = new BigDecimal(partes[1].trim());
+            if (taxas[i].signum() < 0 || taxas[i].compareTo(BigDecimal.ONE) >= 0) {
+                throw new IllegalArgumentException("A taxa da faixa de desconto deve estar entre 0 e 1: '" + definicoes[i] + "'.");
+            }
+            if (i > 0 && limitesCentavos[i] <= limitesCentavos[i - 1]) {
+                throw new IllegalArgumentException("As faixas de desconto devem estar em ordem crescente de limite.");
+            }
+            taxasPorMilhao[i] = taxas[i].multiply(BigDecimal.valueOf(PARTES_POR_MILHAO)).longValueExact();
+        }
+        comandoReprecificacao = montarComandoReprecificacao();
+    }
+
+    /**
+     * Calcula o valor total com o desconto da faixa correspondente.
+     *
+     * @param valorTotal Valor total do pedido.
+     * @return Valor com desconto; o próprio valor informado se nenhuma faixa for atingida.
+     */
+    public Dinheiro aplicar(Dinheiro valorTotal) {
+        long valorComDesconto = aplicar(valorTotal.centavos());
+        return valorComDesconto == valorTotal.centavos() ? valorTotal : Dinheiro.deCentavos(valorComDesconto);
+    }
+
+    /**
+     * Calcula, em centavos, o valor total com o desconto da faixa correspondente, sem alocar objetos.
+     *
+     * @param valorCentavos Valor total do pedido em centavos.
+     * @return Valor com desconto em centavos.
+     */
+    public long aplicar(long valorCentavos) {
+        for (int i = limitesCentavos.length - 1; i >= 0; i--) {
+            if (valorCentavos > limitesCentavos[i]) {
+                return valorCentavos - (valorCentavos * taxasPorMilhao[i] + PARTES_POR_MILHAO / 2) / PARTES_POR_MILHAO;
+            }
+        }
+        return valorCentavos;
+    }
+
+    /**
+     * Aplica o desconto, com um único UPDATE, a todos os pedidos ativos criados no período cujo valor
+     * atinja alguma faixa. Cada execução aplica o desconto novamente sobre o valor corrente, assim como
+     * {@code PedidoService.aplicarDescontoPedido}. Deve participar da transação do chamador, que é
+     * responsável por atualizar o consolidado de faturamento.
+     *
+     * @param dataInicial Data de início do período.
+     * @param dataFinal Data de fim do período.
+     * @return Quantidade de pedidos reprecificados.
+     */
+    @Transactional
+    public int reprecificar(LocalDate dataInicial, LocalDate dataFinal) {
+        if (limitesCentavos.length == 0) {
+            return 0;
+        }
+        // Comando nativo, pois a aritmética é feita sobre a coluna em centavos; só a região de pedidos é invalidada
+        NativeQuery<?> comando = entityManager.createNativeQuery(comandoReprecificacao)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(PedidoModel.class)
+                .setParameter("dataInicial", dataInicial)
+                .setParameter("dataFinal", dataFinal);
+        for (int i = 0; i < limitesCentavos.length; i++) {
+            comando.setParameter("limite" + i, limitesCentavos[i]).setParameter("taxa" + i, taxas[i]);
+        }
+        return comando.executeUpdate();
+    }
+
+    // Método auxiliar que monta o UPDATE com um CASE por faixa, da maior para a menor
+    private String montarComandoReprecificacao() {
+        StringBuilder comando = new StringBuilder("update pedido set valor_total = case");
+        for (int i = limitesCentavos.length - 1; i >= 0; i--) {
+            comando.append(" when valor_total > :limite").append(i)
+                    .append(" then valor_total - round(valor_total * :taxa").append(i).append(", 0)");
+        }
+        // A versão é incrementada para que atualizações concorrentes do mesmo pedido não desfaçam o desconto
+        return comando.append(" else valor_total end, versao = versao + 1")
+                .append(" where status = 'ATIVO' and data_criacao between :dataInicial and :dataFinal")
+                .append(" and valor_total > :limite0")
+                .toString();
+    }
+}
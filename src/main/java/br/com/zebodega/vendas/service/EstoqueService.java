@@ -0,0 +1,281 @@
+package br.com.zebodega.vendas.service;
+
+import br.com.zebodega.vendas.config.MetricasConfig;
+import br.com.zebodega.vendas.exception.ConflictException;
+import br.com.zebodega.vendas.exception.ConstraintException;
+import br.com.zebodega.vendas.exception.ObjectNotFoundException;
+import br.com.zebodega.vendas.model.EstoqueProdutoModel;
+import br.com.zebodega.vendas.repository.EstoqueProdutoRepository;
+import br.com.zebodega.vendas.repository.ProdutoRepository;
+import br.com.zebodega.vendas.rest.dto.EstoqueDTO;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Serviço responsável pelo estoque dos produtos: reservas, liberações e reposições.
+ *
+ * <p>Cada operação é um único UPDATE condicional ({@code where quantidade >= ?}) executado e confirmado em uma
+ * transação própria, de modo que a linha do estoque fica bloqueada apenas durante o comando, e não durante a
+ * transação de quem reservou. Em troca, a reserva não é desfeita junto com aquela transação: quem reserva deve
+ * liberar o que não usar, como faz {@link #executarComReserva(Map, Supplier)}.</p>
+ *
+ * <p>O estoque fica fora da entidade e do DTO do produto ({@link EstoqueProdutoModel}), de modo que as suas
+ * alterações não invalidam os caches nem a versão da tabela de produtos, e é lido sempre do banco.</p>
+ *
+ * <p>Antes do banco, cada produto tem um {@link ContadorEstoque} em memória, lido do banco no primeiro uso,
+ * que recusa sem acessá-lo as reservas acima do disponível. Quando o banco recusa uma reserva aceita pela
+ * estimativa, ela é relida; quando a estimativa recusa, ela é relida se for mais antiga que
+ * {@code vendas.estoque.ressincronizacao}, o que recupera as devoluções feitas por outras instâncias.</p>
+ */
+@Service
+@Timed(value = MetricasConfig.TEMPO_SERVICO, histogram = true)
+public class EstoqueService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EstoqueService.class);
+
+    @Autowired
+    private EstoqueProdutoRepository estoqueProdutoRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${vendas.estoque.faixas:8}")
+    private int faixas;
+
+    @Value("${vendas.estoque.ressincronizacao:1s}")
+    private Duration ressincronizacao;
+
+    private final ConcurrentMap<Long, ContadorEstoque> contadores = new ConcurrentHashMap<>();
+
+    /**
+     * Reserva a quantidade informada do estoque do produto.
+     *
+     * @param idProduto  Identificador do produto.
+     * @param quantidade Quantidade a ser reservada.
+     * @throws ConflictException       Se o estoque for insuficiente, com o estoque estimado.
+     * @throws ObjectNotFoundException Se o produto não existir.
+     */
+    public void reservar(Long idProduto, int quantidade) {
+        validarQuantidade(quantidade);
+        ContadorEstoque contador = contador(idProduto);
+        if (!contador.retirar(quantidade)) {
+            if (contador.idadeNanos() < ressincronizacao.toNanos()) {
+                throw estoqueInsuficiente(idProduto, quantidade, contador);
+            }
+            contador = ressincronizar(idProduto, contador);
+            if (!contador.retirar(quantidade)) {
+                throw estoqueInsuficiente(idProduto, quantidade, contador);
+            }
+        }
+
+        int retirados;
+        try {
+            retirados = emTransacaoPropria(() -> estoqueProdutoRepository.retirar(idProduto, quantidade));
+        } catch (RuntimeException e) {
+            devolverAoContador(idProduto, quantidade);
+            throw e;
+        }
+        if (retirados == 0) {
+            // O banco tinha menos do que a estimativa, que passa a ser a dele
+            throw estoqueInsuficiente(idProduto, quantidade, ressincronizar(idProduto, contador));
+        }
+    }
+
+    /**
+     * Devolve ao estoque do produto uma quantidade reservada anteriormente. Se o produto ainda não tiver linha de
+     * estoque, ela é criada com a quantidade devolvida.
+     *
+     * @param idProduto  Identificador do produto.
+     * @param quantidade Quantidade a ser devolvida.
+     * @throws ObjectNotFoundException Se o produto não existir.
+     */
+    public void liberar(Long idProduto, int quantidade) {
+        validarQuantidade(quantidade);
+        if (emTransacaoPropria(() -> estoqueProdutoRepository.devolver(idProduto, quantidade)) == 0) {
+            criarEstoque(idProduto, quantidade);
+        }
+        devolverAoContador(idProduto, quantidade);
+    }
+
+    /**
+     * Devolve ao estoque as quantidades liberadas por uma gravação já confirmada, como a remoção de um item.
+     * A gravação não pode mais ser desfeita, então uma devolução que falhe não é propagada a quem gravou: ela é
+     * registrada no log e a estimativa em memória do produto é descartada, para ser relida do banco.
+     *
+     * @param quantidades Quantidade a devolver de cada produto, pelo identificador.
+     */
+    public void liberarAposConfirmacao(Map<Long, Integer> quantidades) {
+        quantidades.forEach((idProduto, quantidade) -> {
+            try {
+                liberar(idProduto, quantidade);
+            } catch (RuntimeException e) {
+                contadores.remove(idProduto);
+                LOG.error("Não foi possível devolver {} unidade(s) ao estoque do produto {}.", quantidade, idProduto, e);
+            }
+        });
+    }
+
+    /**
+     * Obtém o estoque atual do produto, lido do banco.
+     *
+     * @param idProduto Identificador do produto.
+     * @return EstoqueDTO com o estoque disponível.
+     * @throws ObjectNotFoundException Se o produto não existir.
+     */
+    public EstoqueDTO obter(Long idProduto) {
+        return new EstoqueDTO(idProduto, lerEstoque(idProduto));
+    }
+
+    /**
+     * Acrescenta unidades recebidas ao estoque do produto.
+     *
+     * @param idProduto  Identificador do produto.
+     * @param quantidade Quantidade recebida.
+     * @return EstoqueDTO com o estoque após a reposição.
+     * @throws ObjectNotFoundException Se o produto não existir.
+     */
+    public EstoqueDTO repor(Long idProduto, int quantidade) {
+        validarQuantidade(quantidade);
+        if (emTransacaoPropria(() -> estoqueProdutoRepository.devolver(idProduto, quantidade)) == 0) {
+            criarEstoque(idProduto, quantidade);
+        }
+        devolverAoContador(idProduto, quantidade);
+        return obter(idProduto);
+    }
+
+    /**
+     * Reserva as quantidades informadas, por produto, e executa a operação que as consome. Se alguma reserva for
+     * recusada ou a operação falhar, as reservas já feitas são liberadas e a exceção é propagada.
+     *
+     * <p>Os produtos são reservados em ordem de identificador. A operação deve controlar a própria transação.</p>
+     *
+     * @param quantidades Quantidade a reservar de cada produto, pelo identificador.
+     * @param operacao    Operação executada com as reservas feitas.
+     * @return Resultado da operação.
+     * @throws ConflictException Se o estoque de algum produto for insuficiente.
+     */
+    public <R> R executarComReserva(Map<Long, Integer> quantidades, Supplier<R> operacao) {
+        Map<Long, Integer> reservadas = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<Long, Integer> quantidade : new TreeMap<>(quantidades).entrySet()) {
+                reservar(quantidade.getKey(), quantidade.getValue());
+                reservadas.put(quantidade.getKey(), quantidade.getValue());
+            }
+            return operacao.get();
+        } catch (RuntimeException e) {
+            reservadas.forEach((idProduto, quantidade) -> {
+                try {
+                    liberar(idProduto, quantidade);
+                } catch (RuntimeException erro) {
+                    e.addSuppressed(erro);
+                }
+            });
+            throw e;
+        }
+    }
+
+    // Método auxiliar que obtém a estimativa do produto, lendo o banco no primeiro uso
+    private ContadorEstoque contador(Long idProduto) {
+        ContadorEstoque contador = contadores.get(idProduto);
+        if (contador == null) {
+            ContadorEstoque novo = new ContadorEstoque(lerEstoque(idProduto), faixas);
+            contador = Objects.requireNonNullElse(contadores.putIfAbsent(idProduto, novo), novo);
+        }
+        return contador;
+    }
+
+    // Método auxiliar que substitui a estimativa por uma nova leitura do banco; só a primeira thread a pedir relê
+    private ContadorEstoque ressincronizar(Long idProduto, ContadorEstoque anterior) {
+        if (!anterior.iniciarSubstituicao()) {
+            return contadores.getOrDefault(idProduto, anterior);
+        }
+        try {
+            ContadorEstoque novo = new ContadorEstoque(lerEstoque(idProduto), faixas);
+            contadores.replace(idProduto, anterior, novo);
+            return novo;
+        } catch (RuntimeException e) {
+            // Sem a leitura, a estimativa é descartada e refeita no próximo uso
+            contadores.remove(idProduto, anterior);
+            throw e;
+        }
+    }
+
+    // Método auxiliar que devolve à estimativa atual do produto uma quantidade que o banco não chegou a retirar
+    private void devolverAoContador(Long idProduto, int quantidade) {
+        ContadorEstoque contador = contadores.get(idProduto);
+        if (contador != null) {
+            contador.devolver(quantidade);
+        }
+    }
+
+    // Método auxiliar que grava a primeira reposição do produto; se outra reposição criar a linha antes, soma a ela
+    private void criarEstoque(Long idProduto, int quantidade) {
+        try {
+            emTransacaoPropria(() -> {
+                if (!produtoRepository.existsById(idProduto)) {
+                    throw produtoNaoEncontrado(idProduto);
+                }
+                estoqueProdutoRepository.saveAndFlush(
+                        new EstoqueProdutoModel(null, produtoRepository.getReferenceById(idProduto), quantidade));
+                return 1;
+            });
+        } catch (DataIntegrityViolationException e) {
+            if (emTransacaoPropria(() -> estoqueProdutoRepository.devolver(idProduto, quantidade)) == 0) {
+                throw e;
+            }
+        }
+    }
+
+    // Método auxiliar que lê o estoque do banco; o produto sem linha de estoque ainda não foi reposto e tem zero
+    private long lerEstoque(Long idProduto) {
+        Integer estoque = estoqueProdutoRepository.obterQuantidade(idProduto);
+        if (estoque != null) {
+            return estoque;
+        }
+        if (!produtoRepository.existsById(idProduto)) {
+            throw produtoNaoEncontrado(idProduto);
+        }
+        return 0;
+    }
+
+    private int emTransacaoPropria(Supplier<Integer> comando) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transactionTemplate.execute(status -> comando.get());
+    }
+
+    private static void validarQuantidade(int quantidade) {
+        if (quantidade <= 0) {
+            throw new ConstraintException("A quantidade deve ser maior que zero.");
+        }
+    }
+
+    private static ConflictException estoqueInsuficiente(Long idProduto, int quantidade, ContadorEstoque contador) {
+        return new ConflictException("Estoque insuficiente do produto " + idProduto + " para reservar " + quantidade + " unidade(s).",
+                new EstoqueDTO(idProduto, Math.max(contador.disponivel(), 0)));
+    }
+
+    private static ObjectNotFoundException produtoNaoEncontrado(Long idProduto) {
+        return new ObjectNotFoundException("Produto com ID " + idProduto + " não encontrado.");
+    }
+}
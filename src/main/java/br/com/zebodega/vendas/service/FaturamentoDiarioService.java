@@ -0,0 +1,178 @@
+package br.com.zebodega.vendas.service;
+
+import br.com.zebodega.vendas.model.Dinheiro;
+import br.com.zebodega.vendas.model.FaturamentoDiarioModel;
+import br.com.zebodega.vendas.model.PedidoModel;
+import br.com.zebodega.vendas.repository.FaturamentoDiarioRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Serviço responsável por manter o consolidado diário de pedidos.
+ *
+ * <p>As operações de registro participam da transação de escrita do pedido e aplicam apenas a
+ * diferença entre os valores anteriores e os novos, de modo que o consolidado acompanha a tabela
+ * de pedidos sem a necessidade de reagregá-la. As variações são calculadas em centavos, com somas inteiras.</p>
+ *
+ * <p>O registro de uma data e status ainda sem consolidado é criado zerado, em transação própria, antes de
+ * receber a variação: dois pedidos que sejam os primeiros do dia não disputam a mesma inclusão dentro das suas
+ * transações, o que faria um deles falhar pela restrição única. Um registro zerado cujo pedido acabe não
+ * sendo gravado não altera as somas.</p>
+ */
+@Service
+public class FaturamentoDiarioService {
+
+    @Autowired
+    private FaturamentoDiarioRepository faturamentoDiarioRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Registra a inclusão de um pedido no consolidado.
+     *
+     * @param pedido Pedido incluído.
+     */
+    @Transactional
+    public void registrarInclusao(PedidoModel pedido) {
+        acumular(pedido.getDataCriacao(), pedido.getStatus(), 1, centavos(pedido.getValorTotal()));
+    }
+
+    /**
+     * Registra a inclusão de vários pedidos no consolidado, aplicando uma única variação
+     * por data de criação e status.
+     *
+     * @param pedidos Pedidos incluídos.
+     */
+    @Transactional
+    public void registrarInclusoes(Collection<PedidoModel> pedidos) {
+        Map<Chave, Acumulado> variacoes = new LinkedHashMap<>();
+        for (PedidoModel pedido : pedidos) {
+            Acumulado acumulado = variacoes.computeIfAbsent(new Chave(pedido.getDataCriacao(), pedido.getStatus()), chave -> new Acumulado());
+            acumulado.quantidade++;
+            acumulado.totalCentavos += centavos(pedido.getValorTotal());
+        }
+        variacoes.forEach((chave, acumulado) -> acumular(chave.data(), chave.status(), acumulado.quantidade, acumulado.totalCentavos));
+    }
+
+    /**
+     * Registra a remoção de um pedido do consolidado.
+     *
+     * @param pedido Pedido removido, com os valores que estavam persistidos.
+     */
+    @Transactional
+    public void registrarRemocao(PedidoModel pedido) {
+        acumular(pedido.getDataCriacao(), pedido.getStatus(), -1, -centavos(pedido.getValorTotal()));
+    }
+
+    /**
+     * Registra a alteração de um pedido, movendo-o entre chaves do consolidado quando a data
+     * de criação ou o status mudarem.
+     *
+     * @param dataAnterior Data de criação persistida antes da alteração.
+     * @param statusAnterior Status persistido antes da alteração.
+     * @param valorAnterior Valor total persistido antes da alteração.
+     * @param pedidoAtual Pedido com os valores após a alteração.
+     */
+    @Transactional
+    public void registrarAlteracao(LocalDate dataAnterior, String statusAnterior, Dinheiro valorAnterior, PedidoModel pedidoAtual) {
+        long valorAtual = centavos(pedidoAtual.getValorTotal());
+        if (Objects.equals(dataAnterior, pedidoAtual.getDataCriacao()) && Objects.equals(statusAnterior, pedidoAtual.getStatus())) {
+            long diferenca = valorAtual - centavos(valorAnterior);
+            if (diferenca != 0) {
+                acumular(dataAnterior, statusAnterior, 0, diferenca);
+            }
+            return;
+        }
+        acumular(dataAnterior, statusAnterior, -1, -centavos(valorAnterior));
+        acumular(pedidoAtual.getDataCriacao(), pedidoAtual.getStatus(), 1, valorAtual);
+    }
+
+    /**
+     * Soma o total consolidado de um status em um intervalo de datas.
+     *
+     * @param dataInicial Data de início da busca.
+     * @param dataFinal Data de fim da busca.
+     * @param status Status dos pedidos considerados.
+     * @return Soma do valor total no período.
+     */
+    @Transactional(readOnly = true)
+    public Dinheiro somarTotal(LocalDate dataInicial, LocalDate dataFinal, String status) {
+        Long total = faturamentoDiarioRepository.somarTotal(dataInicial, dataFinal, status);
+        return total == null ? Dinheiro.ZERO : Dinheiro.deCentavos(total);
+    }
+
+    /**
+     * Descarta o consolidado e o regenera a partir da tabela de pedidos. Deve ser usado para
+     * reconciliar o consolidado após cargas feitas diretamente no banco.
+     *
+     * @return Quantidade de registros diários gerados.
+     */
+    @Transactional
+    public int reconstruir() {
+        faturamentoDiarioRepository.removerTodos();
+        return faturamentoDiarioRepository.reconstruirAPartirDosPedidos();
+    }
+
+    /**
+     * Regenera o consolidado de um status em um intervalo de datas a partir da tabela de pedidos.
+     * Deve ser usado após alterações em lote feitas diretamente no banco.
+     *
+     * @param dataInicial Data de início do período.
+     * @param dataFinal Data de fim do período.
+     * @param status Status dos pedidos considerados.
+     * @return Quantidade de registros diários gerados.
+     */
+    @Transactional
+    public int reconstruirPeriodo(LocalDate dataInicial, LocalDate dataFinal, String status) {
+        faturamentoDiarioRepository.removerPeriodo(dataInicial, dataFinal, status);
+        return faturamentoDiarioRepository.reconstruirPeriodoAPartirDosPedidos(dataInicial, dataFinal, status);
+    }
+
+    // Método auxiliar que aplica a variação sobre o registro existente ou cria o registro do dia
+    private void acumular(LocalDate data, String status, long quantidade, long totalCentavos) {
+        if (data == null || status == null) {
+            return;
+        }
+        if (faturamentoDiarioRepository.acumular(data, status, quantidade, totalCentavos) == 0) {
+            criarRegistro(data, status);
+            faturamentoDiarioRepository.acumular(data, status, quantidade, totalCentavos);
+        }
+    }
+
+    // Método auxiliar que cria e confirma o registro zerado da chave; se outra transação já o tiver criado,
+    // a restrição única recusa esta inclusão e o registro existente é usado
+    private void criarRegistro(LocalDate data, String status) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            transactionTemplate.executeWithoutResult(transacao ->
+                    faturamentoDiarioRepository.saveAndFlush(new FaturamentoDiarioModel(null, data, status, 0, 0)));
+        } catch (DataIntegrityViolationException e) {
+            // Criado por outra transação
+        }
+    }
+
+    private static long centavos(Dinheiro valorTotal) {
+        return valorTotal == null ? 0 : valorTotal.centavos();
+    }
+
+    private record Chave(LocalDate data, String status) {
+    }
+
+    private static final class Acumulado {
+        private long quantidade;
+        private long totalCentavos;
+    }
+}
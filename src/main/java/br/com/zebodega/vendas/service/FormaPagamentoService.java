@@ -1,22 +1,52 @@
 package br.com.zebodega.vendas.service;
 
+import br.com.zebodega.vendas.config.CacheConfig;
+import br.com.zebodega.vendas.config.ConsultaRelatorio;
+import br.com.zebodega.vendas.config.LeituraConsistente;
+import br.com.zebodega.vendas.config.MetricasConfig;
 import br.com.zebodega.vendas.exception.*;
 import br.com.zebodega.vendas.model.FormaPagamentoModel;
 import br.com.zebodega.vendas.repository.FormaPagamentoRepository;
 import br.com.zebodega.vendas.rest.dto.FormaPagamentoDTO;
+import br.com.zebodega.vendas.rest.dto.PaginaDTO;
+import br.com.zebodega.vendas.service.VersaoTabelaService.Tabela;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = MetricasConfig.TEMPO_SERVICO, histogram = true)
 public class FormaPagamentoService {
 
     @Autowired
     private FormaPagamentoRepository formaPagamentoRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private VersaoTabelaService versaoTabelaService;
+
+    // A chave inclui a versão gravada da tabela, para que uma alteração feita por outra instância não seja
+    // respondida com o conteúdo anterior sob o ETag novo
+    @Cacheable(cacheNames = CacheConfig.FORMA_PAGAMENTO, key = "@versaoTabelaService.obterVersao('FORMA_PAGAMENTO') + '-' + #id")
+    @LeituraConsistente
     @Transactional(readOnly = true)
     public FormaPagamentoDTO obterPorId(Long id) {
         FormaPagamentoModel formaPagamento = formaPagamentoRepository.findById(id)
@@ -24,30 +54,76 @@ public class FormaPagamentoService {
         return formaPagamento.toDTO();
     }
 
+    /**
+     * Obtém o catálogo das formas de pagamento, já serializado em JSON.
+     * O resultado permanece em cache, pela versão da tabela, até a próxima alteração {@code salvar},
+     * {@code atualizar} ou {@code deletar}.
+     *
+     * @return Conteúdo JSON da lista de FormaPagamentoDTO.
+     */
+    @Cacheable(cacheNames = CacheConfig.CATALOGO_FORMAS_PAGAMENTO, key = "@versaoTabelaService.obterVersao('FORMA_PAGAMENTO')")
+    @LeituraConsistente
     @Transactional(readOnly = true)
-    public List<FormaPagamentoDTO> obterTodos() {
-        List<FormaPagamentoModel> listaFormaPagamentos = formaPagamentoRepository.findAll();
-        return listaFormaPagamentos.stream()
+    public byte[] obterCatalogo() {
+        List<FormaPagamentoDTO> catalogo = formaPagamentoRepository.findAllByOrderByIdFormaPagamentoAsc().stream()
                 .map(FormaPagamentoModel::toDTO)
                 .collect(Collectors.toList());
+        try {
+            return objectMapper.writeValueAsBytes(catalogo);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Obtém uma página de formas de pagamento por paginação por chave.
+     *
+     * @param after Último identificador já lido pelo cliente.
+     * @param limit Quantidade máxima de registros da página.
+     * @return Página de FormaPagamentoDTO e o cursor da próxima página.
+     */
+    @LeituraConsistente
+    @Transactional(readOnly = true)
+    public PaginaDTO<FormaPagamentoDTO> obterPagina(Long after, int limit) {
+        List<FormaPagamentoModel> pagina = formaPagamentoRepository.findByIdFormaPagamentoGreaterThanOrderByIdFormaPagamentoAsc(after, Limit.of(limit));
+        List<FormaPagamentoDTO> itens = pagina.stream()
+                .map(FormaPagamentoModel::toDTO)
+                .collect(Collectors.toList());
+        Long proximoAfter = pagina.size() < limit ? null : pagina.get(pagina.size() - 1).getIdFormaPagamento();
+        return new PaginaDTO<>(itens, proximoAfter);
+    }
+
+    /**
+     * Percorre todos os formas de pagamento cadastrados, entregando cada um ao consumidor à medida que é lido do banco.
+     *
+     * @param consumidor Destino de cada FormaPagamentoDTO.
+     */
+    @ConsultaRelatorio
+    @Transactional(readOnly = true)
+    public void transmitirTodos(Consumer<FormaPagamentoDTO> consumidor) {
+        LeituraEmFluxo.transmitir(formaPagamentoRepository.streamAllByOrderByIdFormaPagamentoAsc(), FormaPagamentoModel::toDTO, consumidor, entityManager);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.FORMA_PAGAMENTO, CacheConfig.CATALOGO_FORMAS_PAGAMENTO}, allEntries = true)
     @Transactional
     public FormaPagamentoDTO salvar(FormaPagamentoModel novaFormaPagamento) {
         verificarExistenciaPorId(novaFormaPagamento.getIdFormaPagamento(), false);
         return salvarOuAtualizarFormaPagamento(novaFormaPagamento);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.FORMA_PAGAMENTO, CacheConfig.CATALOGO_FORMAS_PAGAMENTO}, allEntries = true)
     @Transactional
     public FormaPagamentoDTO atualizar(FormaPagamentoModel formaPagamentoExistente) {
         verificarExistenciaPorId(formaPagamentoExistente.getIdFormaPagamento(), true);
         return salvarOuAtualizarFormaPagamento(formaPagamentoExistente);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.FORMA_PAGAMENTO, CacheConfig.CATALOGO_FORMAS_PAGAMENTO}, allEntries = true)
     @Transactional
     public void deletar(FormaPagamentoModel formaPagamentoExistente) {
         verificarExistenciaPorId(formaPagamentoExistente.getIdFormaPagamento(), true);
         try {
+            versaoTabelaService.registrarAlteracao(Tabela.FORMA_PAGAMENTO);
             formaPagamentoRepository.delete(formaPagamentoExistente);
         } catch (DataIntegrityException e) {
             throw new DataIntegrityException("Erro ao deletar a forma de pagamento " + formaPagamentoExistente.getIdFormaPagamento());
@@ -70,6 +146,7 @@ public class FormaPagamentoService {
     // Método auxiliar para salvar ou atualizar forma de pagamento
     private FormaPagamentoDTO salvarOuAtualizarFormaPagamento(FormaPagamentoModel formaPagamento) {
         try {
+            versaoTabelaService.registrarAlteracao(Tabela.FORMA_PAGAMENTO);
             return formaPagamentoRepository.save(formaPagamento).toDTO();
         } catch (DataIntegrityException e) {
             throw new DataIntegrityException("Erro ao salvar/atualizar a forma de pagamento " + formaPagamento.getIdFormaPagamento());
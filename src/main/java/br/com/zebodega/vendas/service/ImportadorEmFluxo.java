@@ -0,0 +1,237 @@
+package br.com.zebodega.vendas.service;
+
+import br.com.zebodega.vendas.rest.dto.ErroImportacaoDTO;
+import br.com.zebodega.vendas.rest.dto.FormatoImportacao;
+import br.com.zebodega.vendas.rest.dto.ImportacaoDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Componente responsável pela importação em massa de registros a partir de um fluxo CSV ou NDJSON.
+ *
+ * <p>O arquivo é lido linha a linha, sem ser carregado por completo em memória. Cada linha é convertida
+ * e validada com as anotações de Bean Validation da entidade. As linhas válidas são agrupadas em partes
+ * de {@code vendas.lote.tamanho} registros; para cada parte, os campos únicos são conferidos contra a
+ * base de dados em uma única consulta e contra as linhas já aprovadas da parte, e os registros aprovados são
+ * gravados em uma transação própria. Duplicidades com partes anteriores são detectadas pela consulta
+ * da parte seguinte, já que as anteriores estão gravadas.</p>
+ */
+@Component
+class ImportadorEmFluxo {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${vendas.lote.tamanho:1000}")
+    private int tamanhoLote;
+
+    @Value("${vendas.importacao.maximo-erros:1000}")
+    private int maximoErros;
+
+    /**
+     * Importa os registros do fluxo informado.
+     *
+     * @param entrada Conteúdo do arquivo, codificado em UTF-8.
+     * @param formato Formato do conteúdo.
+     * @param tipo    Classe da entidade importada.
+     * @param regra   Regras de unicidade e gravação da entidade.
+     * @return Resumo da importação com os erros por linha.
+     */
+    <T> ImportacaoDTO importar(InputStream entrada, FormatoImportacao formato, Class<T> tipo, RegraImportacao<T> regra) {
+        ImportacaoDTO resultado = new ImportacaoDTO();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8))) {
+            long numeroLinha = 0;
+            String linha;
+            Conversor<T> conversor;
+
+            if (formato == FormatoImportacao.CSV) {
+                String cabecalho = null;
+                while (cabecalho == null && (linha = leitor.readLine()) != null) {
+                    numeroLinha++;
+                    if (!linha.isBlank()) {
+                        cabecalho = linha.startsWith("\uFEFF") ? linha.substring(1) : linha;
+                    }
+                }
+                if (cabecalho == null) {
+                    return resultado;
+                }
+                char separador = cabecalho.indexOf(';') >= 0 && cabecalho.indexOf(',') < 0 ? ';' : ',';
+                List<String> campos = dividir(cabecalho, separador);
+                conversor = conteudo -> objectMapper.convertValue(paraMapa(campos, dividir(conteudo, separador)), tipo);
+            } else {
+                conversor = conteudo -> objectMapper.readValue(conteudo, tipo);
+            }
+
+            List<T> parte = new ArrayList<>(tamanhoLote);
+            List<Long> linhasParte = new ArrayList<>(tamanhoLote);
+            while ((linha = leitor.readLine()) != null) {
+                numeroLinha++;
+                if (linha.isBlank()) {
+                    continue;
+                }
+                resultado.setLinhasLidas(resultado.getLinhasLidas() + 1);
+
+                T registro;
+                try {
+                    registro = conversor.converter(linha);
+                } catch (IOException | IllegalArgumentException e) {
+                    registrarErro(resultado, numeroLinha, null, "Linha com formato inválido: " + e.getMessage());
+                    continue;
+                }
+
+                Set<ConstraintViolation<T>> violacoes = validator.validate(registro);
+                if (!violacoes.isEmpty()) {
+                    for (ConstraintViolation<T> violacao : violacoes) {
+                        registrarErro(resultado, numeroLinha, violacao.getPropertyPath().toString(), violacao.getMessage());
+                    }
+                    continue;
+                }
+
+                parte.add(registro);
+                linhasParte.add(numeroLinha);
+                if (parte.size() == tamanhoLote) {
+                    gravarParte(parte, linhasParte, regra, transactionTemplate, resultado);
+                    parte.clear();
+                    linhasParte.clear();
+                }
+            }
+            if (!parte.isEmpty()) {
+                gravarParte(parte, linhasParte, regra, transactionTemplate, resultado);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return resultado;
+    }
+
+    // Método auxiliar que confere os campos únicos de uma parte e grava os registros aprovados em uma transação
+    private <T> void gravarParte(List<T> parte, List<Long> linhasParte, RegraImportacao<T> regra,
+                                 TransactionTemplate transactionTemplate, ImportacaoDTO resultado) {
+        try {
+            Integer gravados = transactionTemplate.execute(status -> {
+                List<Map<String, String>> chavesRegistros = new ArrayList<>(parte.size());
+                Map<String, Set<String>> chavesPorCampo = new HashMap<>();
+                for (T registro : parte) {
+                    Map<String, String> chaves = regra.chaves(registro);
+                    chavesRegistros.add(chaves);
+                    chaves.forEach((campo, valor) -> chavesPorCampo.computeIfAbsent(campo, c -> new HashSet<>()).add(valor));
+                }
+
+                Map<String, Set<String>> existentes = regra.chavesExistentes(chavesPorCampo);
+                Map<String, Set<String>> vistas = new HashMap<>();
+                List<T> aprovados = new ArrayList<>(parte.size());
+                for (int i = 0; i < parte.size(); i++) {
+                    boolean conflito = false;
+                    for (Map.Entry<String, String> chave : chavesRegistros.get(i).entrySet()) {
+                        String campo = chave.getKey();
+                        String valor = chave.getValue();
+                        if (existentes.getOrDefault(campo, Set.of()).contains(valor)) {
+                            registrarErro(resultado, linhasParte.get(i), campo, "Já existe um registro cadastrado com esse valor: " + valor);
+                            conflito = true;
+                        } else if (vistas.getOrDefault(campo, Set.of()).contains(valor)) {
+                            registrarErro(resultado, linhasParte.get(i), campo, "Valor repetido no arquivo: " + valor);
+                            conflito = true;
+                        }
+                    }
+                    // Só os valores de linhas aprovadas passam a bloquear as seguintes; os de uma linha recusada
+                    // não chegam a ser gravados
+                    if (!conflito) {
+                        chavesRegistros.get(i).forEach((campo, valor) -> vistas.computeIfAbsent(campo, c -> new HashSet<>()).add(valor));
+                        aprovados.add(parte.get(i));
+                    }
+                }
+
+                regra.salvar(aprovados);
+                entityManager.flush();
+                entityManager.clear();
+                return aprovados.size();
+            });
+            resultado.setImportados(resultado.getImportados() + gravados);
+        } catch (RuntimeException e) {
+            for (Long linha : linhasParte) {
+                registrarErro(resultado, linha, null, "Não foi possível gravar a parte do arquivo que contém esta linha: " + e.getMessage());
+            }
+        }
+    }
+
+    private void registrarErro(ImportacaoDTO resultado, long linha, String campo, String mensagem) {
+        resultado.setTotalErros(resultado.getTotalErros() + 1);
+        if (resultado.getErros().size() < maximoErros) {
+            resultado.getErros().add(new ErroImportacaoDTO(linha, campo, mensagem));
+        }
+    }
+
+    // Associa os valores de uma linha CSV aos nomes de campo do cabeçalho, tratando valores vazios como nulos
+    private static Map<String, String> paraMapa(List<String> campos, List<String> valores) {
+        if (valores.size() != campos.size()) {
+            throw new IllegalArgumentException("a linha possui " + valores.size() + " campos, mas o cabeçalho possui " + campos.size() + ".");
+        }
+        Map<String, String> mapa = new HashMap<>();
+        for (int i = 0; i < campos.size(); i++) {
+            String valor = valores.get(i).trim();
+            mapa.put(campos.get(i).trim(), valor.isEmpty() ? null : valor);
+        }
+        return mapa;
+    }
+
+    // Divide uma linha CSV pelo separador, respeitando campos entre aspas e aspas duplicadas como escape
+    private static List<String> dividir(String linha, char separador) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c != '"') {
+                    atual.append(c);
+                } else if (i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else {
+                    entreAspas = false;
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == separador) {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+
+    @FunctionalInterface
+    private interface Conversor<T> {
+        T converter(String linha) throws IOException;
+    }
+}
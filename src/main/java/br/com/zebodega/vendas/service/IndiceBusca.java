@@ -0,0 +1,213 @@
+package br.com.zebodega.vendas.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido em memória para busca por prefixo, sem distinção de maiúsculas, minúsculas e acentos.
+ *
+ * <p>Os textos de cada registro são normalizados e divididos em termos, e cada termo aponta para os registros que
+ * o contêm. Os termos ficam ordenados, de modo que os que começam com um prefixo formam um intervalo contíguo.
+ * Uma consulta percorre o intervalo do seu termo mais seletivo e confere os demais termos nos termos guardados
+ * de cada registro candidato, parando ao atingir o limite; o custo acompanha o tamanho da resposta, e não o
+ * do índice.</p>
+ *
+ * <p>As consultas não bloqueiam. As alterações são serializadas entre si, e uma consulta concorrente vê cada
+ * registro antes ou depois da alteração, nunca pela metade.</p>
+ *
+ * @param <T> Tipo do valor devolvido pelas consultas.
+ */
+final class IndiceBusca<T> {
+
+    // Pontos, hífens e barras entre dígitos, como os de um CPF formatado, são descartados em vez de separar termos
+    private static final Pattern SEPARADOR_DIGITOS = Pattern.compile("(?<=\\d)[.\\-/](?=\\d)");
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARADOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ConcurrentMap<Long, Entrada<T>> entradas = new ConcurrentHashMap<>();
+
+    private final ConcurrentSkipListMap<String, Set<Long>> termos = new ConcurrentSkipListMap<>();
+
+    private final ReentrantLock alteracao = new ReentrantLock();
+
+    /**
+     * Inclui o registro no índice ou substitui os seus textos e o seu valor.
+     *
+     * @param id     Identificador do registro.
+     * @param valor  Valor devolvido pelas consultas.
+     * @param textos Textos pesquisáveis do registro; nulos são ignorados.
+     */
+    void indexar(Long id, T valor, String... textos) {
+        String[] novos = normalizar(textos);
+        alteracao.lock();
+        try {
+            for (String termo : novos) {
+                termos.computeIfAbsent(termo, t -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+            Entrada<T> anterior = entradas.put(id, new Entrada<>(valor, novos));
+            if (anterior != null) {
+                Set<String> mantidos = Set.of(novos);
+                for (String termo : anterior.termos()) {
+                    if (!mantidos.contains(termo)) {
+                        removerDoTermo(termo, id);
+                    }
+                }
+            }
+        } finally {
+            alteracao.unlock();
+        }
+    }
+
+    /**
+     * Remove o registro do índice, se presente.
+     *
+     * @param id Identificador do registro.
+     */
+    void remover(Long id) {
+        alteracao.lock();
+        try {
+            Entrada<T> anterior = entradas.remove(id);
+            if (anterior != null) {
+                for (String termo : anterior.termos()) {
+                    removerDoTermo(termo, id);
+                }
+            }
+        } finally {
+            alteracao.unlock();
+        }
+    }
+
+    /**
+     * Busca os registros que têm, para cada termo da consulta, algum termo que comece com ele. Os resultados
+     * seguem a ordem alfabética dos termos que correspondem ao termo mais seletivo da consulta.
+     *
+     * @param consulta Texto digitado; termos parciais são tratados como prefixos.
+     * @param limite   Quantidade máxima de resultados.
+     * @return Valores dos registros encontrados; vazio se a consulta não tiver termos.
+     */
+    List<T> buscar(String consulta, int limite) {
+        String[] prefixos = normalizar(consulta);
+        List<T> resultado = new ArrayList<>();
+        if (prefixos.length == 0) {
+            return resultado;
+        }
+        String guia = escolherGuia(prefixos);
+        Set<Long> vistos = new HashSet<>();
+        for (Map.Entry<String, Set<Long>> termo : termos.tailMap(guia).entrySet()) {
+            if (!termo.getKey().startsWith(guia)) {
+                break;
+            }
+            for (Long id : termo.getValue()) {
+                if (!vistos.add(id)) {
+                    continue;
+                }
+                Entrada<T> entrada = entradas.get(id);
+                if (entrada != null && entrada.contemTodos(prefixos)) {
+                    resultado.add(entrada.valor());
+                    if (resultado.size() >= limite) {
+                        return resultado;
+                    }
+                }
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Quantidade de registros no índice.
+     *
+     * @return Quantidade de registros indexados.
+     */
+    int tamanho() {
+        return entradas.size();
+    }
+
+    // Método auxiliar que escolhe o prefixo com menos registros candidatos; a contagem de cada um é interrompida
+    // assim que passa a do melhor até então, começando pelos mais longos, que costumam ser os mais seletivos
+    private String escolherGuia(String[] prefixos) {
+        if (prefixos.length == 1) {
+            return prefixos[0];
+        }
+        String[] porTamanho = prefixos.clone();
+        Arrays.sort(porTamanho, Comparator.comparingInt(String::length).reversed());
+        String guia = porTamanho[0];
+        long menorCusto = Long.MAX_VALUE;
+        for (String prefixo : porTamanho) {
+            long custo = 0;
+            for (Map.Entry<String, Set<Long>> termo : termos.tailMap(prefixo).entrySet()) {
+                if (!termo.getKey().startsWith(prefixo) || custo >= menorCusto) {
+                    break;
+                }
+                custo += termo.getValue().size();
+            }
+            if (custo < menorCusto) {
+                menorCusto = custo;
+                guia = prefixo;
+            }
+        }
+        return guia;
+    }
+
+    // Método auxiliar que retira o registro do termo e descarta o termo que ficar vazio
+    private void removerDoTermo(String termo, Long id) {
+        Set<Long> ids = termos.get(termo);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            termos.remove(termo, ids);
+        }
+    }
+
+    // Método auxiliar que converte os textos em termos sem acentos, em minúsculas e sem repetições
+    private static String[] normalizar(String... textos) {
+        Set<String> normalizados = new LinkedHashSet<>();
+        for (String texto : textos) {
+            if (texto == null) {
+                continue;
+            }
+            String semSeparadores = SEPARADOR_DIGITOS.matcher(texto).replaceAll("");
+            String semAcentos = ACENTOS.matcher(Normalizer.normalize(semSeparadores, Normalizer.Form.NFD)).replaceAll("");
+            for (String termo : SEPARADOR.split(semAcentos.toLowerCase(Locale.ROOT))) {
+                if (!termo.isEmpty()) {
+                    normalizados.add(termo);
+                }
+            }
+        }
+        return normalizados.toArray(String[]::new);
+    }
+
+    /**
+     * Valor e termos de um registro indexado.
+     */
+    private record Entrada<T>(T valor, String[] termos) {
+
+        boolean contemTodos(String[] prefixos) {
+            for (String prefixo : prefixos) {
+                boolean encontrado = false;
+                for (String termo : termos) {
+                    if (termo.startsWith(prefixo)) {
+                        encontrado = true;
+                        break;
+                    }
+                }
+                if (!encontrado) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -1,24 +1,54 @@
 package br.com.zebodega.vendas.service;
 
+import br.com.zebodega.vendas.config.ConsultaRelatorio;
+import br.com.zebodega.vendas.config.MetricasConfig;
 import br.com.zebodega.vendas.exception.*;
-import br.com.zebodega.vendas.model.ClienteModel;
 import br.com.zebodega.vendas.model.ItensPedidoModel;
+import br.com.zebodega.vendas.model.PedidoModel;
+import br.com.zebodega.vendas.model.ProdutoModel;
 import br.com.zebodega.vendas.repository.ItensPedidoRepository;
-import br.com.zebodega.vendas.rest.ClienteDTO;
-import br.com.zebodega.vendas.rest.ItensPedidoDTO;
+import br.com.zebodega.vendas.repository.PedidoRepository;
+import br.com.zebodega.vendas.rest.dto.ItensPedidoDTO;
+import br.com.zebodega.vendas.rest.dto.PaginaDTO;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = MetricasConfig.TEMPO_SERVICO, histogram = true)
 public class ItensPedidoService {
 
     @Autowired
     private ItensPedidoRepository itensPedidoRepository;
 
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EstoqueService estoqueService;
+
+    @Value("${vendas.lote.tamanho:1000}")
+    private int tamanhoLote;
+
     @Transactional(readOnly = true)
     public ItensPedidoDTO obterPorId(Long id) {
         ItensPedidoModel itensPedido = itensPedidoRepository.findById(id)
@@ -26,16 +56,140 @@ public class ItensPedidoService {
         return itensPedido.toDTO();
     }
 
+    /**
+     * Obtém os itens de um pedido, carregados junto com pedido e produto em uma única consulta.
+     *
+     * @param idPedido Identificador do pedido.
+     * @return Lista de ItensPedidoDTO do pedido.
+     * @throws ObjectNotFoundException Se o pedido não existir.
+     */
     @Transactional(readOnly = true)
-    public List<ItensPedidoDTO> obterTodos(){
-        List<ItensPedidoModel> listaItensPedido = itensPedidoRepository.findAll();
+    public List<ItensPedidoDTO> obterPorPedido(Long idPedido) {
+        List<ItensPedidoModel> itens = itensPedidoRepository.findByPedidoIdPedidoOrderByIdItensPedidoAsc(idPedido);
+        if (itens.isEmpty() && !pedidoRepository.existsById(idPedido)) {
+            throw new ObjectNotFoundException("Pedido com ID " + idPedido + " não encontrado.");
+        }
+        return itens.stream()
+                .map(ItensPedidoModel::toDTO)
+                .collect(Collectors.toList());
+    }
 
-        return listaItensPedido.stream().map(itensPedidoModel -> itensPedidoModel.toDTO())
+    /**
+     * Obtém uma página de itens de pedido por paginação por chave.
+     *
+     * @param after Último identificador já lido pelo cliente.
+     * @param limit Quantidade máxima de registros da página.
+     * @return Página de ItensPedidoDTO e o cursor da próxima página.
+     */
+    @Transactional(readOnly = true)
+    public PaginaDTO<ItensPedidoDTO> obterPagina(Long after, int limit) {
+        List<ItensPedidoModel> pagina = itensPedidoRepository.findByIdItensPedidoGreaterThanOrderByIdItensPedidoAsc(after, Limit.of(limit));
+        List<ItensPedidoDTO> itens = pagina.stream()
+                .map(ItensPedidoModel::toDTO)
                 .collect(Collectors.toList());
+        Long proximoAfter = pagina.size() < limit ? null : pagina.get(pagina.size() - 1).getIdItensPedido();
+        return new PaginaDTO<>(itens, proximoAfter);
+    }
+
+    /**
+     * Percorre todos os itens de pedido cadastrados, entregando cada um ao consumidor à medida que é lido do banco.
+     *
+     * @param consumidor Destino de cada ItensPedidoDTO.
+     */
+    @ConsultaRelatorio
+    @Transactional(readOnly = true)
+    public void transmitirTodos(Consumer<ItensPedidoDTO> consumidor) {
+        LeituraEmFluxo.transmitir(itensPedidoRepository.streamAllByOrderByIdItensPedidoAsc(), ItensPedidoModel::toDTO, consumidor, entityManager);
     }
 
-    @Transactional
+    /**
+     * Salva um novo item de pedido, reservando a sua quantidade no estoque do produto antes de gravá-lo.
+     * Se a gravação falhar, a reserva é liberada.
+     *
+     * @param novoItensPedido Item a ser salvo.
+     * @return ItensPedidoDTO do item salvo.
+     * @throws ConflictException Se o estoque do produto for insuficiente.
+     */
     public ItensPedidoDTO salvar(ItensPedidoModel novoItensPedido){
+        return estoqueService.executarComReserva(quantidadePorProduto(novoItensPedido),
+                () -> new TransactionTemplate(transactionManager).execute(status -> salvarReservado(novoItensPedido)));
+    }
+
+    /**
+     * Salva uma carga de novos itens de pedido, persistindo-os em partes de {@code vendas.lote.tamanho}
+     * registros, cada uma em sua própria transação e com os INSERTs enviados em lote.
+     *
+     * <p>Cada parte reserva, por produto, o estoque dos seus itens antes da sua transação e o libera se não
+     * for gravada. As partes já gravadas permanecem, com as suas reservas, se uma parte posterior falhar.</p>
+     *
+     * @param novosItensPedido Itens de pedido a serem salvos.
+     * @return Lista de ItensPedidoDTO representando os itens salvos.
+     * @throws ConstraintException   Se algum item não informar o pedido ou o produto.
+     * @throws PartialBatchException Se uma parte falhar, por exemplo por estoque insuficiente, com a quantidade
+     *                               de itens gravados pelas partes anteriores.
+     */
+    public List<ItensPedidoDTO> salvarLote(List<ItensPedidoModel> novosItensPedido) {
+        novosItensPedido.forEach(ItensPedidoService::validarReferencias);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        return ProcessamentoEmLotes.processarPartes(novosItensPedido, tamanhoLote,
+                parte -> estoqueService.executarComReserva(quantidadePorProduto(parte),
+                        () -> ProcessamentoEmLotes.gravarParte(transactionTemplate, entityManager, parte, this::salvarParte)));
+    }
+
+    /**
+     * Atualiza o item de pedido, ajustando as reservas de estoque à diferença de produto ou de quantidade em
+     * relação ao item gravado: o acréscimo é reservado antes da gravação e o que deixou de ser usado é liberado
+     * depois dela.
+     *
+     * <p>Na gravação, o item é relido com bloqueio e comparado com o que originou a diferença; se outra
+     * requisição o alterou nesse intervalo, nada é gravado, a reserva é liberada e a alteração é recusada,
+     * para que a mesma diferença não seja contada duas vezes.</p>
+     *
+     * @param itensPedidoExistente Item com o ID e os novos dados.
+     * @return ItensPedidoDTO do item atualizado.
+     * @throws ConflictException Se o estoque do produto for insuficiente para o acréscimo, ou se o item for
+     *                           alterado por outra requisição durante a atualização, com o seu estado atual.
+     */
+    public ItensPedidoDTO atualizar(ItensPedidoModel itensPedidoExistente){
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ItensPedidoModel itensPedidoGravado = transactionTemplate.execute(status -> buscarGravado(itensPedidoExistente));
+        Map<Long, Integer> variacao = variacaoEstoque(itensPedidoGravado, itensPedidoExistente);
+        Map<Long, Integer> acrescimos = new HashMap<>();
+        Map<Long, Integer> sobras = new HashMap<>();
+        variacao.forEach((idProduto, quantidade) -> {
+            if (quantidade > 0) {
+                acrescimos.put(idProduto, quantidade);
+            } else if (quantidade < 0) {
+                sobras.put(idProduto, -quantidade);
+            }
+        });
+
+        ItensPedidoDTO itensPedidoAtualizado = estoqueService.executarComReserva(acrescimos,
+                () -> transactionTemplate.execute(status -> {
+                    verificarInalterado(itensPedidoGravado, bloquearGravado(itensPedidoExistente));
+                    return atualizarReservado(itensPedidoExistente);
+                }));
+        estoqueService.liberarAposConfirmacao(sobras);
+        return itensPedidoAtualizado;
+    }
+
+    /**
+     * Remove o item de pedido e libera no estoque do produto a quantidade que estava reservada para ele. O item é
+     * lido com bloqueio, de modo que, entre remoções concorrentes do mesmo item, só a primeira libera o estoque.
+     *
+     * @param itensPedidoExistente Item a ser removido.
+     */
+    public void deletar(ItensPedidoModel itensPedidoExistente){
+        ItensPedidoModel itensPedidoGravado = new TransactionTemplate(transactionManager).execute(status -> {
+            ItensPedidoModel gravado = bloquearGravado(itensPedidoExistente);
+            deletarReservado(itensPedidoExistente);
+            return gravado;
+        });
+        estoqueService.liberarAposConfirmacao(quantidadePorProduto(itensPedidoGravado));
+    }
+
+    // Método auxiliar que grava o novo item depois de reservado o estoque
+    private ItensPedidoDTO salvarReservado(ItensPedidoModel novoItensPedido){
 
 
         try {
@@ -59,8 +213,8 @@ public class ItensPedidoService {
         }
     }
 
-    @Transactional
-    public ItensPedidoDTO atualizar(ItensPedidoModel itensPedidoExistente){
+    // Método auxiliar que grava o item alterado depois de reservado o acréscimo de estoque
+    private ItensPedidoDTO atualizarReservado(ItensPedidoModel itensPedidoExistente){
 
 
         try {
@@ -86,8 +240,8 @@ public class ItensPedidoService {
         }
     }
 
-    @Transactional
-    public void deletar(ItensPedidoModel itensPedidoExistente){
+    // Método auxiliar que remove o item; o estoque é liberado após a confirmação
+    private void deletarReservado(ItensPedidoModel itensPedidoExistente){
 
 
         try {
@@ -112,4 +266,68 @@ public class ItensPedidoService {
             throw new ObjectNotFoundException("Erro! não foi possível localizar os itens do pedido " + itensPedidoExistente.getPedido() + " no banco de dados");
         }
     }
+
+    // Método auxiliar que persiste uma parte da carga de itens, referenciando pedido e produto apenas pelo ID
+    private List<ItensPedidoDTO> salvarParte(List<ItensPedidoModel> novosItensPedido) {
+        for (ItensPedidoModel novoItensPedido : novosItensPedido) {
+            novoItensPedido.setPedido(entityManager.getReference(PedidoModel.class, novoItensPedido.getPedido().getIdPedido()));
+            novoItensPedido.setProduto(entityManager.getReference(ProdutoModel.class, novoItensPedido.getProduto().getIdProduto()));
+        }
+        return itensPedidoRepository.saveAll(novosItensPedido).stream()
+                .map(ItensPedidoModel::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    // Método auxiliar que carrega o item gravado, cuja quantidade está reservada, ou null se não houver;
+    // chamado em transação de escrita, para que a leitura seja feita no primário e não em uma réplica
+    private ItensPedidoModel buscarGravado(ItensPedidoModel itensPedido) {
+        return itensPedido.getIdItensPedido() == null ? null
+                : itensPedidoRepository.findById(itensPedido.getIdItensPedido()).orElse(null);
+    }
+
+    // Método auxiliar que relê o item gravado bloqueando a sua linha até o fim da transação, ou null se não houver
+    private ItensPedidoModel bloquearGravado(ItensPedidoModel itensPedido) {
+        return itensPedido.getIdItensPedido() == null ? null
+                : itensPedidoRepository.findComBloqueioByIdItensPedido(itensPedido.getIdItensPedido()).orElse(null);
+    }
+
+    // Método auxiliar que recusa a alteração se o produto ou a quantidade do item mudaram desde a leitura que
+    // originou a variação de estoque
+    private static void verificarInalterado(ItensPedidoModel lido, ItensPedidoModel atual) {
+        if (!quantidadePorProduto(lido).equals(quantidadePorProduto(atual))) {
+            throw new ConflictException("O itens pedido foi alterado por outra requisição durante a atualização.",
+                    atual != null ? atual.toDTO() : null);
+        }
+    }
+
+    // Método auxiliar que exige de cada item da carga os identificadores do pedido e do produto
+    private static void validarReferencias(ItensPedidoModel novoItensPedido) {
+        if (novoItensPedido.getPedido() == null || novoItensPedido.getPedido().getIdPedido() == null) {
+            throw new ConstraintException("Todo itens pedido da carga deve informar o id do pedido!");
+        }
+        if (novoItensPedido.getProduto() == null || novoItensPedido.getProduto().getIdProduto() == null) {
+            throw new ConstraintException("Todo itens pedido da carga deve informar o id do produto!");
+        }
+    }
+
+    // Método auxiliar que soma as quantidades dos itens por produto
+    private static Map<Long, Integer> quantidadePorProduto(List<ItensPedidoModel> itensPedido) {
+        return itensPedido.stream()
+                .collect(Collectors.toMap(item -> item.getProduto().getIdProduto(), ItensPedidoModel::getQuantidade, Math::addExact));
+    }
+
+    // Método auxiliar que obtém a quantidade do item por produto; vazio se o item não informar o produto
+    private static Map<Long, Integer> quantidadePorProduto(ItensPedidoModel itensPedido) {
+        if (itensPedido == null || itensPedido.getProduto() == null || itensPedido.getProduto().getIdProduto() == null) {
+            return Map.of();
+        }
+        return Map.of(itensPedido.getProduto().getIdProduto(), itensPedido.getQuantidade());
+    }
+
+    // Método auxiliar que calcula, por produto, quanto o item alterado usa a mais (positivo) ou a menos (negativo)
+    private static Map<Long, Integer> variacaoEstoque(ItensPedidoModel anterior, ItensPedidoModel atual) {
+        Map<Long, Integer> variacao = new HashMap<>(quantidadePorProduto(atual));
+        quantidadePorProduto(anterior).forEach((idProduto, quantidade) -> variacao.merge(idProduto, -quantidade, Integer::sum));
+        return variacao;
+    }
 }
@@ -0,0 +1,43 @@
+package br.com.zebodega.vendas.service;
+
+import jakarta.persistence.EntityManager;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Auxiliar dos serviços para percorrer um {@link Stream} de entidades vindo do repositório,
+ * entregando cada registro convertido ao consumidor e liberando periodicamente o contexto de
+ * persistência, de modo que a memória permaneça constante independentemente do tamanho da tabela.
+ */
+final class LeituraEmFluxo {
+
+    /**
+     * Quantidade de entidades lidas entre cada limpeza do contexto de persistência.
+     */
+    private static final int ENTIDADES_POR_LIMPEZA = 500;
+
+    private LeituraEmFluxo() {
+    }
+
+    /**
+     * Converte e entrega ao consumidor cada entidade do fluxo, fechando-o ao final.
+     *
+     * @param fluxo         Fluxo de entidades aberto pelo repositório.
+     * @param conversor     Conversão da entidade para o DTO.
+     * @param consumidor    Destino de cada DTO.
+     * @param entityManager Contexto de persistência da transação corrente.
+     */
+    static <M, D> void transmitir(Stream<M> fluxo, Function<M, D> conversor, Consumer<D> consumidor, EntityManager entityManager) {
+        try (fluxo) {
+            int[] lidos = {0};
+            fluxo.forEach(entidade -> {
+                consumidor.accept(conversor.apply(entidade));
+                if (++lidos[0] % ENTIDADES_POR_LIMPEZA == 0) {
+                    entityManager.clear();
+                }
+            });
+        }
+    }
+}
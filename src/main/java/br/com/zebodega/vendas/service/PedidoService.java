@@ -1,24 +1,89 @@
 package br.com.zebodega.vendas.service;
 
+import br.com.zebodega.vendas.config.ConsultaRelatorio;
+import br.com.zebodega.vendas.config.LeituraConsistente;
+import br.com.zebodega.vendas.config.MetricasConfig;
 import br.com.zebodega.vendas.exception.*;
+import br.com.zebodega.vendas.model.Dinheiro;
+import br.com.zebodega.vendas.model.ItensPedidoModel;
 import br.com.zebodega.vendas.model.PedidoModel;
+import br.com.zebodega.vendas.model.ProdutoModel;
+import br.com.zebodega.vendas.repository.ItensPedidoRepository;
 import br.com.zebodega.vendas.repository.PedidoRepository;
+import br.com.zebodega.vendas.repository.ProdutoRepository;
+import br.com.zebodega.vendas.repository.ResumoFaturamento;
+import br.com.zebodega.vendas.rest.dto.FaturamentoDTO;
+import br.com.zebodega.vendas.rest.dto.ItensPedidoDTO;
+import br.com.zebodega.vendas.rest.dto.PaginaDTO;
+import br.com.zebodega.vendas.rest.dto.PedidoCompletoDTO;
 import br.com.zebodega.vendas.rest.dto.PedidoDTO;
+import br.com.zebodega.vendas.rest.dto.PeriodoAgrupamento;
+import br.com.zebodega.vendas.service.VersaoTabelaService.Tabela;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = MetricasConfig.TEMPO_SERVICO, histogram = true)
 public class PedidoService {
 
     @Autowired
     private PedidoRepository pedidoRepository;
 
+    @Autowired
+    private FaturamentoDiarioService faturamentoDiarioService;
+
+    @Autowired
+    private VersaoTabelaService versaoTabelaService;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private ItensPedidoRepository itensPedidoRepository;
+
+    @Autowired
+    private DescontoService descontoService;
+
+    @Autowired
+    private EstoqueService estoqueService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${vendas.lote.tamanho:1000}")
+    private int tamanhoLote;
+
+    @Value("${vendas.concorrencia.tentativas:5}")
+    private int tentativas;
+
+    @Value("${vendas.concorrencia.espera-inicial:5ms}")
+    private Duration esperaInicial;
+
+    @LeituraConsistente
     @Transactional(readOnly = true)
     public PedidoDTO obterPorId(Long id) {
         PedidoModel pedido = pedidoRepository.findById(id)
@@ -26,34 +91,182 @@ public class PedidoService {
         return pedido.toDTO();
     }
 
+    /**
+     * Obtém uma página de pedidos por paginação por chave.
+     *
+     * @param after Último identificador já lido pelo cliente.
+     * @param limit Quantidade máxima de registros da página.
+     * @return Página de PedidoDTO e o cursor da próxima página.
+     */
+    @LeituraConsistente
+    @Transactional(readOnly = true)
+    public PaginaDTO<PedidoDTO> obterPagina(Long after, int limit) {
+        List<PedidoModel> pagina = pedidoRepository.findByIdPedidoGreaterThanOrderByIdPedidoAsc(after, Limit.of(limit));
+        List<PedidoDTO> itens = pagina.stream()
+                .map(PedidoModel::toDTO)
+                .collect(Collectors.toList());
+        Long proximoAfter = pagina.size() < limit ? null : pagina.get(pagina.size() - 1).getIdPedido();
+        return new PaginaDTO<>(itens, proximoAfter);
+    }
+
+    /**
+     * Percorre todos os pedidos cadastrados, entregando cada um ao consumidor à medida que é lido do banco.
+     *
+     * @param consumidor Destino de cada PedidoDTO.
+     */
+    @ConsultaRelatorio
     @Transactional(readOnly = true)
-    public List<PedidoDTO> obterTodos() {
-        List<PedidoModel> listaPedidos = pedidoRepository.findAll();
-        return listaPedidos.stream().map(PedidoModel::toDTO).collect(Collectors.toList());
+    public void transmitirTodos(Consumer<PedidoDTO> consumidor) {
+        LeituraEmFluxo.transmitir(pedidoRepository.streamAllByOrderByIdPedidoAsc(), PedidoModel::toDTO, consumidor, entityManager);
     }
 
     @Transactional
     public PedidoDTO salvar(PedidoModel novoPedido) {
         if (pedidoRepository.existsByNumeroPedido(novoPedido.getNumeroPedido())) {
-            throw new ConstraintException("Já existe um pedido cadastrado com esse número: " + novoPedido.getNumeroPedido() + " !");
+            String mensagem = "Já existe um pedido cadastrado com esse número: " + novoPedido.getNumeroPedido() + " !";
+            throw new ConstraintException(mensagem, List.of(new FieldMessage("numeroPedido", mensagem)));
         }
-        return pedidoRepository.save(novoPedido).toDTO();
+        versaoTabelaService.registrarAlteracao(Tabela.PEDIDO);
+        PedidoModel pedidoSalvo = pedidoRepository.save(novoPedido);
+        faturamentoDiarioService.registrarInclusao(pedidoSalvo);
+        return pedidoSalvo.toDTO();
     }
 
-    @Transactional
-    public PedidoDTO atualizar(PedidoModel pedidoExistente) {
-        if (!pedidoRepository.existsByNumeroPedido(pedidoExistente.getNumeroPedido())) {
-            throw new ConstraintException("O Pedido " + pedidoExistente.getNumeroPedido() + " não foi encontrado!");
+    /**
+     * Cria um pedido com todos os seus itens em uma única transação. Os produtos referenciados são
+     * carregados em uma só consulta {@code IN} e o {@code valorTotal} é calculado no servidor como a
+     * soma de {@code preco × quantidade}; os itens são gravados com INSERTs em lote.
+     *
+     * <p>As quantidades são reservadas no estoque, por produto, antes da transação, e liberadas se o pedido
+     * não for gravado (ver {@link EstoqueService}).</p>
+     *
+     * @param pedidoCompleto Cabeçalho do pedido e as linhas de itens.
+     * @return PedidoCompletoDTO com o identificador, o valor total e os itens gravados.
+     * @throws ConstraintException Se o número do pedido já existir ou alguma linha for inválida.
+     * @throws ObjectNotFoundException Se algum produto informado não existir.
+     * @throws BusinessRuleException Se algum produto informado estiver inativo.
+     * @throws ConflictException Se o estoque de algum produto for insuficiente.
+     */
+    public PedidoCompletoDTO salvarCompleto(PedidoCompletoDTO pedidoCompleto) {
+        validarPedidoCompleto(pedidoCompleto);
+
+        Map<Long, Integer> quantidades = pedidoCompleto.getItens().stream()
+                .collect(Collectors.toMap(ItensPedidoDTO::getIdProduto, ItensPedidoDTO::getQuantidade, Math::addExact));
+        return estoqueService.executarComReserva(quantidades,
+                () -> new TransactionTemplate(transactionManager).execute(status -> salvarCompletoReservado(pedidoCompleto)));
+    }
+
+    // Método auxiliar que grava o pedido completo depois de reservado o estoque dos itens
+    private PedidoCompletoDTO salvarCompletoReservado(PedidoCompletoDTO pedidoCompleto) {
+        Set<Long> idsProdutos = pedidoCompleto.getItens().stream()
+                .map(ItensPedidoDTO::getIdProduto)
+                .collect(Collectors.toSet());
+        Map<Long, ProdutoModel> produtos = produtoRepository.findAllById(idsProdutos).stream()
+                .collect(Collectors.toMap(ProdutoModel::getIdProduto, Function.identity()));
+        if (produtos.size() < idsProdutos.size()) {
+            Set<Long> ausentes = new TreeSet<>(idsProdutos);
+            ausentes.removeAll(produtos.keySet());
+            throw new ObjectNotFoundException("Produtos não encontrados: " + ausentes + ".");
+        }
+        List<String> inativos = produtos.values().stream()
+                .filter(produto -> produto.getAtivo() != 1)
+                .map(ProdutoModel::getNome)
+                .collect(Collectors.toList());
+        if (!inativos.isEmpty()) {
+            throw new BusinessRuleException("Não é possível vender produtos inativos: " + inativos + ".");
         }
-        return pedidoRepository.save(pedidoExistente).toDTO();
+
+        long valorTotalCentavos = 0;
+        for (ItensPedidoDTO item : pedidoCompleto.getItens()) {
+            long precoCentavos = produtos.get(item.getIdProduto()).getPreco().centavos();
+            valorTotalCentavos = Math.addExact(valorTotalCentavos, Math.multiplyExact(precoCentavos, item.getQuantidade()));
+        }
+
+        PedidoModel novoPedido = new PedidoModel();
+        novoPedido.setNumeroPedido(pedidoCompleto.getNumeroPedido());
+        novoPedido.setDataCriacao(pedidoCompleto.getDataCriacao() != null ? pedidoCompleto.getDataCriacao() : LocalDate.now());
+        novoPedido.setStatus(pedidoCompleto.getStatus() != null ? pedidoCompleto.getStatus() : "ATIVO");
+        novoPedido.setValorTotal(Dinheiro.deCentavos(valorTotalCentavos));
+        versaoTabelaService.registrarAlteracao(Tabela.PEDIDO);
+        PedidoModel pedidoSalvo = pedidoRepository.save(novoPedido);
+        faturamentoDiarioService.registrarInclusao(pedidoSalvo);
+
+        List<ItensPedidoModel> itens = pedidoCompleto.getItens().stream()
+                .map(item -> new ItensPedidoModel(null, item.getQuantidade(), pedidoSalvo, produtos.get(item.getIdProduto())))
+                .collect(Collectors.toList());
+        List<ItensPedidoDTO> itensSalvos = itensPedidoRepository.saveAll(itens).stream()
+                .map(ItensPedidoModel::toDTO)
+                .collect(Collectors.toList());
+
+        PedidoCompletoDTO pedidoCompletoSalvo = new PedidoCompletoDTO();
+        pedidoCompletoSalvo.setIdPedido(pedidoSalvo.getIdPedido());
+        pedidoCompletoSalvo.setNumeroPedido(pedidoSalvo.getNumeroPedido());
+        pedidoCompletoSalvo.setDataCriacao(pedidoSalvo.getDataCriacao());
+        pedidoCompletoSalvo.setStatus(pedidoSalvo.getStatus());
+        pedidoCompletoSalvo.setValorTotal(pedidoSalvo.getValorTotal());
+        pedidoCompletoSalvo.setItens(itensSalvos);
+        return pedidoCompletoSalvo;
     }
 
-    @Transactional
+    /**
+     * Salva uma carga de novos pedidos, persistindo-os em partes de {@code vendas.lote.tamanho}
+     * registros, cada uma em sua própria transação e com os INSERTs enviados em lote.
+     *
+     * @param novosPedidos Pedidos a serem salvos.
+     * @return Lista de PedidoDTO representando os pedidos salvos.
+     * @throws PartialBatchException Se uma parte falhar, por exemplo por um número de pedido repetido ou já
+     *                               existente, com a quantidade de pedidos gravados pelas partes anteriores.
+     */
+    public List<PedidoDTO> salvarLote(List<PedidoModel> novosPedidos) {
+        return ProcessamentoEmLotes.processar(novosPedidos, tamanhoLote, transactionManager, entityManager, this::salvarParte);
+    }
+
+    /**
+     * Atualiza o pedido com os dados informados. Se a {@code versao} for informada e o pedido já tiver sido
+     * alterado desde então, nada é gravado; sem ela, as alterações concorrentes são resolvidas repetindo a
+     * atualização sobre o estado mais recente, até {@code vendas.concorrencia.tentativas} vezes.
+     *
+     * @param pedidoExistente Pedido com o ID ou o número e os novos dados.
+     * @return PedidoDTO com os dados gravados e a nova versão.
+     * @throws ConflictException Se a versão informada não for a atual ou as tentativas se esgotarem.
+     */
+    public PedidoDTO atualizar(PedidoModel pedidoExistente) {
+        return RepeticaoOtimista.executar(transactionManager, tentativas, esperaInicial, () -> {
+            PedidoModel pedidoPersistido = buscarPersistido(pedidoExistente);
+            verificarVersao(pedidoExistente, pedidoPersistido);
+            LocalDate dataAnterior = pedidoPersistido.getDataCriacao();
+            String statusAnterior = pedidoPersistido.getStatus();
+            Dinheiro valorAnterior = pedidoPersistido.getValorTotal();
+
+            pedidoPersistido.setNumeroPedido(pedidoExistente.getNumeroPedido());
+            pedidoPersistido.setValorTotal(pedidoExistente.getValorTotal());
+            pedidoPersistido.setDataCriacao(pedidoExistente.getDataCriacao());
+            pedidoPersistido.setStatus(pedidoExistente.getStatus());
+            versaoTabelaService.registrarAlteracao(Tabela.PEDIDO);
+            PedidoModel pedidoAtualizado = pedidoRepository.saveAndFlush(pedidoPersistido);
+            faturamentoDiarioService.registrarAlteracao(dataAnterior, statusAnterior, valorAnterior, pedidoAtualizado);
+            return pedidoAtualizado.toDTO();
+        }, () -> buscarEstadoAtual(pedidoExistente), mensagemConflito(pedidoExistente));
+    }
+
+    /**
+     * Remove o pedido gravado com o ID ou, na falta dele, com o número informado. Se a {@code versao} for
+     * informada e o pedido já tiver sido alterado desde então, nada é removido; sem ela, a remoção é repetida
+     * sobre o estado mais recente em caso de alteração concorrente, como em {@link #atualizar(PedidoModel)}.
+     *
+     * @param pedidoExistente Pedido com o ID ou o número e, opcionalmente, a versão.
+     * @throws ConflictException Se a versão informada não for a atual ou as tentativas se esgotarem.
+     */
     public void deletar(PedidoModel pedidoExistente) {
-        if (!pedidoRepository.existsByNumeroPedido(pedidoExistente.getNumeroPedido())) {
-            throw new ConstraintException("O Pedido " + pedidoExistente.getNumeroPedido() + " não foi encontrado!");
-        }
-        pedidoRepository.delete(pedidoExistente);
+        RepeticaoOtimista.executar(transactionManager, tentativas, esperaInicial, () -> {
+            PedidoModel pedidoPersistido = buscarPersistido(pedidoExistente);
+            verificarVersao(pedidoExistente, pedidoPersistido);
+            versaoTabelaService.registrarAlteracao(Tabela.PEDIDO);
+            pedidoRepository.delete(pedidoPersistido);
+            pedidoRepository.flush();
+            faturamentoDiarioService.registrarRemocao(pedidoPersistido);
+            return null;
+        }, () -> buscarEstadoAtual(pedidoExistente), mensagemConflito(pedidoExistente));
     }
 
     /**
@@ -63,41 +276,203 @@ public class PedidoService {
      * @param dataFinal Data de fim da busca.
      * @return Faturamento total no período.
      */
+    @ConsultaRelatorio
     @Transactional(readOnly = true)
-    public BigDecimal calcularFaturamentoPeriodo(LocalDate dataInicial, LocalDate dataFinal) {
+    public Dinheiro calcularFaturamentoPeriodo(LocalDate dataInicial, LocalDate dataFinal) {
         if (dataInicial.isAfter(dataFinal)) {
             throw new IllegalArgumentException("A data inicial não pode ser posterior à data final.");
         }
-        List<PedidoModel> pedidos = pedidoRepository.findByDataCriacaoBetweenAndStatus(dataInicial, dataFinal, "ATIVO");
+        return faturamentoDiarioService.somarTotal(dataInicial, dataFinal, "ATIVO");
+    }
 
-        return pedidos.stream()
-                .map(PedidoModel::getValorTotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    /**
+     * Regenera o consolidado diário de faturamento a partir da tabela de pedidos.
+     *
+     * @return Quantidade de registros diários gerados.
+     */
+    @Transactional
+    public int reconstruirFaturamentoDiario() {
+        return faturamentoDiarioService.reconstruir();
     }
 
     /**
-     * Aplica desconto ao pedido, seguindo regras pré-definidas, caso ele esteja ativo.
+     * Obtém o relatório de faturamento dos pedidos ativos em um período, agrupado por dia, semana ou mês.
+     * Os agregados diários são calculados pelo banco em uma única consulta e consolidados no período pedido.
      *
-     * @param pedido Pedido ao qual será aplicado o desconto.
+     * @param dataInicial Data de início da busca.
+     * @param dataFinal Data de fim da busca.
+     * @param agrupamento Granularidade dos períodos do relatório.
+     * @return Totais de cada período que possua pedidos, em ordem cronológica.
+     */
+    @ConsultaRelatorio
+    @Transactional(readOnly = true)
+    public List<FaturamentoDTO> obterFaturamentoAgrupado(LocalDate dataInicial, LocalDate dataFinal, PeriodoAgrupamento agrupamento) {
+        if (dataInicial.isAfter(dataFinal)) {
+            throw new IllegalArgumentException("A data inicial não pode ser posterior à data final.");
+        }
+        List<ResumoFaturamento> resumosDiarios = pedidoRepository.resumirFaturamentoPorDia(dataInicial, dataFinal, "ATIVO");
+
+        // Os agregados de cada período são acumulados em centavos e convertidos apenas ao fechar o período
+        List<FaturamentoDTO> relatorio = new ArrayList<>();
+        LocalDate inicioAtual = null;
+        long quantidade = 0;
+        long total = 0;
+        long minimo = Long.MAX_VALUE;
+        long maximo = Long.MIN_VALUE;
+        for (ResumoFaturamento resumo : resumosDiarios) {
+            LocalDate inicio = agrupamento.inicio(resumo.getData());
+            if (inicioAtual != null && !inicioAtual.equals(inicio)) {
+                relatorio.add(fecharPeriodo(inicioAtual, quantidade, total, minimo, maximo));
+                quantidade = 0;
+                total = 0;
+                minimo = Long.MAX_VALUE;
+                maximo = Long.MIN_VALUE;
+            }
+            inicioAtual = inicio;
+            quantidade += resumo.getQuantidade();
+            total += resumo.getTotal();
+            minimo = Math.min(minimo, resumo.getMinimo());
+            maximo = Math.max(maximo, resumo.getMaximo());
+        }
+        if (inicioAtual != null) {
+            relatorio.add(fecharPeriodo(inicioAtual, quantidade, total, minimo, maximo));
+        }
+        return relatorio;
+    }
+
+    /**
+     * Aplica desconto ao pedido, seguindo as faixas de {@code vendas.desconto.faixas}, caso ele esteja ativo.
+     * O desconto é calculado sobre o valor gravado, não sobre o informado; com a {@code versao} informada, o
+     * desconto só é aplicado se o pedido não tiver sido alterado desde então, o que evita aplicá-lo duas vezes
+     * em uma chamada repetida. Alterações concorrentes são resolvidas como em {@link #atualizar(PedidoModel)}.
+     *
+     * @param pedido Pedido, identificado pelo ID ou pelo número, ao qual será aplicado o desconto.
      * @return Novo valor total do pedido após o desconto.
+     * @throws ConflictException Se a versão informada não for a atual ou as tentativas se esgotarem.
+     */
+    public Dinheiro aplicarDescontoPedido(PedidoModel pedido) {
+        return RepeticaoOtimista.executar(transactionManager, tentativas, esperaInicial, () -> {
+            PedidoModel pedidoPersistido = buscarPersistido(pedido);
+            verificarVersao(pedido, pedidoPersistido);
+            if (!"ATIVO".equalsIgnoreCase(pedidoPersistido.getStatus())) {
+                throw new BusinessRuleException("Apenas pedidos ativos podem receber descontos.");
+            }
+            LocalDate dataAnterior = pedidoPersistido.getDataCriacao();
+            String statusAnterior = pedidoPersistido.getStatus();
+            Dinheiro valorAnterior = pedidoPersistido.getValorTotal();
+
+            pedidoPersistido.setValorTotal(descontoService.aplicar(valorAnterior));
+            versaoTabelaService.registrarAlteracao(Tabela.PEDIDO);
+            PedidoModel pedidoAtualizado = pedidoRepository.saveAndFlush(pedidoPersistido);
+            faturamentoDiarioService.registrarAlteracao(dataAnterior, statusAnterior, valorAnterior, pedidoAtualizado);
+            return pedidoAtualizado.getValorTotal();
+        }, () -> buscarEstadoAtual(pedido), mensagemConflito(pedido));
+    }
+
+    /**
+     * Aplica o desconto a todos os pedidos ativos criados no período com um único UPDATE em lote,
+     * regenerando em seguida o consolidado de faturamento dos pedidos ativos do período.
+     *
+     * @param dataInicial Data de início do período.
+     * @param dataFinal Data de fim do período.
+     * @return Quantidade de pedidos reprecificados.
      */
     @Transactional
-    public BigDecimal aplicarDescontoPedido(PedidoModel pedido) {
-        if (!"ATIVO".equalsIgnoreCase(pedido.getStatus())) {
-            throw new BusinessRuleException("Apenas pedidos ativos podem receber descontos.");
+    public int aplicarDescontoPeriodo(LocalDate dataInicial, LocalDate dataFinal) {
+        if (dataInicial.isAfter(dataFinal)) {
+            throw new IllegalArgumentException("A data inicial não pode ser posterior à data final.");
+        }
+        int reprecificados = descontoService.reprecificar(dataInicial, dataFinal);
+        if (reprecificados > 0) {
+            versaoTabelaService.registrarAlteracao(Tabela.PEDIDO);
+            entityManager.clear();
+            faturamentoDiarioService.reconstruirPeriodo(dataInicial, dataFinal, "ATIVO");
+        }
+        return reprecificados;
+    }
+
+    // Método auxiliar que monta o período do relatório de faturamento a partir dos agregados em centavos; a média
+    // usa o mesmo arredondamento de ResumoFaturamento.getMedia
+    private static FaturamentoDTO fecharPeriodo(LocalDate inicio, long quantidade, long total, long minimo, long maximo) {
+        Dinheiro totalPeriodo = Dinheiro.deCentavos(total);
+        return new FaturamentoDTO(inicio, quantidade, totalPeriodo, Dinheiro.deCentavos(minimo),
+                Dinheiro.deCentavos(maximo), totalPeriodo.dividir(quantidade));
+    }
+
+    // Método auxiliar que valida o cabeçalho e as linhas do pedido completo, reunindo todos os erros encontrados
+    private void validarPedidoCompleto(PedidoCompletoDTO pedidoCompleto) {
+        List<FieldMessage> erros = new ArrayList<>();
+        if (pedidoCompleto.getNumeroPedido() == null || pedidoCompleto.getNumeroPedido().isBlank()) {
+            erros.add(new FieldMessage("numeroPedido", "O número do pedido é obrigatório"));
+        } else if (pedidoRepository.existsByNumeroPedido(pedidoCompleto.getNumeroPedido())) {
+            erros.add(new FieldMessage("numeroPedido", "Já existe um pedido cadastrado com esse número: " + pedidoCompleto.getNumeroPedido() + " !"));
+        }
+        if (pedidoCompleto.getItens() == null || pedidoCompleto.getItens().isEmpty()) {
+            erros.add(new FieldMessage("itens", "O pedido deve ter ao menos um item"));
+        } else {
+            for (int i = 0; i < pedidoCompleto.getItens().size(); i++) {
+                ItensPedidoDTO item = pedidoCompleto.getItens().get(i);
+                if (item.getIdProduto() == null) {
+                    erros.add(new FieldMessage("itens[" + i + "].idProduto", "Adicionar um produto é obrigatório!"));
+                }
+                if (item.getQuantidade() < 1) {
+                    erros.add(new FieldMessage("itens[" + i + "].quantidade", "A quantidade deve ser maior que zero"));
+                }
+            }
         }
+        if (!erros.isEmpty()) {
+            throw new ConstraintException("O pedido completo possui dados inválidos.", erros);
+        }
+    }
 
-        BigDecimal valorTotal = pedido.getValorTotal();
-        BigDecimal desconto = BigDecimal.ZERO;
+    // Método auxiliar que valida e persiste uma parte da carga de pedidos na transação corrente
+    private List<PedidoDTO> salvarParte(List<PedidoModel> novosPedidos) {
+        Set<String> numerosPedido = new HashSet<>();
+        for (PedidoModel novoPedido : novosPedidos) {
+            if (!numerosPedido.add(novoPedido.getNumeroPedido())) {
+                throw new ConstraintException("O número de pedido " + novoPedido.getNumeroPedido() + " está repetido na carga!");
+            }
+        }
+        List<String> existentes = pedidoRepository.findNumerosPedidoExistentes(numerosPedido);
+        if (!existentes.isEmpty()) {
+            String mensagem = "Já existem pedidos cadastrados com os números: " + existentes + " !";
+            throw new ConstraintException(mensagem, List.of(new FieldMessage("numeroPedido", mensagem)));
+        }
 
-        if (valorTotal.compareTo(new BigDecimal("500")) > 0 && valorTotal.compareTo(new BigDecimal("1000")) <= 0) {
-            desconto = valorTotal.multiply(new BigDecimal("0.05")); // 5% de desconto
-        } else if (valorTotal.compareTo(new BigDecimal("1000")) > 0) {
-            desconto = valorTotal.multiply(new BigDecimal("0.10")); // 10% de desconto
+        versaoTabelaService.registrarAlteracao(Tabela.PEDIDO);
+        List<PedidoModel> pedidosSalvos = pedidoRepository.saveAll(novosPedidos);
+        faturamentoDiarioService.registrarInclusoes(pedidosSalvos);
+        return pedidosSalvos.stream().map(PedidoModel::toDTO).collect(Collectors.toList());
+    }
+
+    // Método auxiliar que rejeita a alteração feita a partir de uma versão do pedido que já não é a atual
+    private static void verificarVersao(PedidoModel pedido, PedidoModel pedidoPersistido) {
+        if (pedido.getVersao() != null && !pedido.getVersao().equals(pedidoPersistido.getVersao())) {
+            throw new ConflictException("O pedido " + pedidoPersistido.getNumeroPedido()
+                    + " foi alterado por outra operação desde a versão " + pedido.getVersao() + ".", pedidoPersistido.toDTO());
         }
+    }
+
+    // Método auxiliar que monta a mensagem do conflito devolvido quando as tentativas se esgotam
+    private static String mensagemConflito(PedidoModel pedido) {
+        return "O pedido " + (pedido.getNumeroPedido() != null ? pedido.getNumeroPedido() : pedido.getIdPedido())
+                + " está sendo alterado por outras operações; tente novamente.";
+    }
+
+    // Método auxiliar que carrega o pedido persistido pelo ID ou, na falta dele, pelo número do pedido
+    private PedidoModel buscarPersistido(PedidoModel pedido) {
+        return localizarPersistido(pedido).orElseThrow(() -> new ConstraintException("O Pedido "
+                + (pedido.getNumeroPedido() != null ? pedido.getNumeroPedido() : pedido.getIdPedido()) + " não foi encontrado!"));
+    }
+
+    // Método auxiliar que obtém o estado atual devolvido no conflito; null se o pedido tiver sido removido
+    private PedidoDTO buscarEstadoAtual(PedidoModel pedido) {
+        return localizarPersistido(pedido).map(PedidoModel::toDTO).orElse(null);
+    }
 
-        pedido.setValorTotal(valorTotal.subtract(desconto));
-        pedidoRepository.save(pedido);
-        return pedido.getValorTotal();
+    private Optional<PedidoModel> localizarPersistido(PedidoModel pedido) {
+        return pedido.getIdPedido() != null
+                ? pedidoRepository.findById(pedido.getIdPedido())
+                : pedidoRepository.findByNumeroPedido(pedido.getNumeroPedido());
     }
 }
@@ -0,0 +1,84 @@
+package br.com.zebodega.vendas.service;
+
+import br.com.zebodega.vendas.exception.PartialBatchException;
+import jakarta.persistence.EntityManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Auxiliar dos serviços para persistir grandes volumes de registros, dividindo-os em partes
+ * processadas cada uma em sua própria transação.
+ *
+ * <p>Ao final de cada parte o contexto de persistência é descarregado e limpo, de modo que os
+ * INSERTs sejam enviados em lote pelo JDBC e a memória não cresça com o tamanho da carga.
+ * As partes já confirmadas permanecem gravadas caso uma parte posterior falhe; a falha é então
+ * lançada como {@link PartialBatchException}, com a quantidade de registros gravados.</p>
+ */
+final class ProcessamentoEmLotes {
+
+    private ProcessamentoEmLotes() {
+    }
+
+    /**
+     * Executa a operação sobre cada parte dos registros, em transações independentes.
+     *
+     * @param registros          Registros a serem processados.
+     * @param tamanhoLote        Quantidade máxima de registros por transação.
+     * @param transactionManager Gerenciador de transações da aplicação.
+     * @param entityManager      Contexto de persistência compartilhado.
+     * @param operacao           Operação aplicada a cada parte, retornando seus resultados.
+     * @return Resultados de todas as partes, na ordem dos registros.
+     * @throws PartialBatchException Se uma parte falhar, com a quantidade de registros das partes anteriores.
+     */
+    static <T, R> List<R> processar(List<T> registros, int tamanhoLote, PlatformTransactionManager transactionManager,
+                                    EntityManager entityManager, Function<List<T>, List<R>> operacao) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        return processarPartes(registros, tamanhoLote, parte -> gravarParte(transactionTemplate, entityManager, parte, operacao));
+    }
+
+    /**
+     * Aplica a gravação a cada parte dos registros, em ordem, interrompendo na primeira que falhar.
+     *
+     * @param registros   Registros a serem processados.
+     * @param tamanhoLote Quantidade máxima de registros por parte.
+     * @param gravacao    Gravação de uma parte, que confirma a sua própria transação.
+     * @return Resultados de todas as partes, na ordem dos registros.
+     * @throws PartialBatchException Se uma parte falhar, com a quantidade de registros das partes anteriores.
+     */
+    static <T, R> List<R> processarPartes(List<T> registros, int tamanhoLote, Function<List<T>, List<R>> gravacao) {
+        List<R> resultados = new ArrayList<>(registros.size());
+        for (int inicio = 0; inicio < registros.size(); inicio += tamanhoLote) {
+            List<T> parte = registros.subList(inicio, Math.min(inicio + tamanhoLote, registros.size()));
+            try {
+                resultados.addAll(gravacao.apply(parte));
+            } catch (RuntimeException e) {
+                throw new PartialBatchException(inicio, e);
+            }
+        }
+        return resultados;
+    }
+
+    /**
+     * Executa a operação sobre uma parte em uma transação, descarregando e limpando o contexto de persistência
+     * antes do commit.
+     *
+     * @param transactionTemplate Modelo da transação da parte.
+     * @param entityManager       Contexto de persistência compartilhado.
+     * @param parte               Registros da parte.
+     * @param operacao            Operação aplicada à parte, retornando seus resultados.
+     * @return Resultados da parte, na ordem dos registros.
+     */
+    static <T, R> List<R> gravarParte(TransactionTemplate transactionTemplate, EntityManager entityManager,
+                                      List<T> parte, Function<List<T>, List<R>> operacao) {
+        return transactionTemplate.execute(status -> {
+            List<R> resultadosParte = operacao.apply(parte);
+            entityManager.flush();
+            entityManager.clear();
+            return resultadosParte;
+        });
+    }
+}
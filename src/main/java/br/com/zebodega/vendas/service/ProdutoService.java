@@ -1,24 +1,78 @@
 package br.com.zebodega.vendas.service;
 
+import br.com.zebodega.vendas.config.CacheConfig;
+import br.com.zebodega.vendas.config.ConsultaRelatorio;
+import br.com.zebodega.vendas.config.LeituraConsistente;
+import br.com.zebodega.vendas.config.MetricasConfig;
 import br.com.zebodega.vendas.exception.*;
-import br.com.zebodega.vendas.model.ClienteModel;
 import br.com.zebodega.vendas.model.ProdutoModel;
 import br.com.zebodega.vendas.repository.ProdutoRepository;
-import br.com.zebodega.vendas.rest.ClienteDTO;
-import br.com.zebodega.vendas.rest.ProdutoDTO;
+import br.com.zebodega.vendas.rest.dto.FormatoImportacao;
+import br.com.zebodega.vendas.rest.dto.ImportacaoDTO;
+import br.com.zebodega.vendas.rest.dto.PaginaDTO;
+import br.com.zebodega.vendas.rest.dto.ProdutoDTO;
+import br.com.zebodega.vendas.service.VersaoTabelaService.Tabela;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = MetricasConfig.TEMPO_SERVICO, histogram = true)
 public class ProdutoService {
 
     @Autowired
     private ProdutoRepository produtoRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ImportadorEmFluxo importadorEmFluxo;
+
+    @Autowired
+    private VersaoTabelaService versaoTabelaService;
+
+    @Autowired
+    private BuscaService buscaService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${vendas.concorrencia.tentativas:5}")
+    private int tentativas;
+
+    @Value("${vendas.concorrencia.espera-inicial:5ms}")
+    private Duration esperaInicial;
+
+    // A chave inclui a versão gravada da tabela, para que uma alteração feita por outra instância não seja
+    // respondida com o conteúdo anterior sob o ETag novo
+    @Cacheable(cacheNames = CacheConfig.PRODUTO, key = "@versaoTabelaService.obterVersao('PRODUTO') + '-' + #id")
+    @LeituraConsistente
     @Transactional(readOnly = true)
     public ProdutoDTO obterPorId(Long id) {
         ProdutoModel produto = produtoRepository.findById(id)
@@ -26,26 +80,72 @@ public class ProdutoService {
         return produto.toDTO();
     }
 
+    /**
+     * Obtém o catálogo dos produtos ativos, já serializado em JSON.
+     * O resultado permanece em cache, pela versão da tabela, até a próxima alteração {@code salvar},
+     * {@code atualizar} ou {@code deletar}.
+     *
+     * @return Conteúdo JSON da lista de ProdutoDTO.
+     */
+    @Cacheable(cacheNames = CacheConfig.CATALOGO_PRODUTOS, key = "@versaoTabelaService.obterVersao('PRODUTO')")
+    @LeituraConsistente
     @Transactional(readOnly = true)
-    public List<ProdutoDTO> obterTodos(){
-        List<ProdutoModel> listaProdutos = produtoRepository.findAll();
+    public byte[] obterCatalogo() {
+        List<ProdutoDTO> catalogo = produtoRepository.findByAtivoOrderByIdProdutoAsc((byte) 1).stream()
+                .map(ProdutoModel::toDTO)
+                .collect(Collectors.toList());
+        try {
+            return objectMapper.writeValueAsBytes(catalogo);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
-        return listaProdutos.stream().map(produtoModel -> produtoModel.toDTO())
+    /**
+     * Obtém uma página de produtos por paginação por chave.
+     *
+     * @param after Último identificador já lido pelo cliente.
+     * @param limit Quantidade máxima de registros da página.
+     * @return Página de ProdutoDTO e o cursor da próxima página.
+     */
+    @LeituraConsistente
+    @Transactional(readOnly = true)
+    public PaginaDTO<ProdutoDTO> obterPagina(Long after, int limit) {
+        List<ProdutoModel> pagina = produtoRepository.findByIdProdutoGreaterThanOrderByIdProdutoAsc(after, Limit.of(limit));
+        List<ProdutoDTO> itens = pagina.stream()
+                .map(ProdutoModel::toDTO)
                 .collect(Collectors.toList());
+        Long proximoAfter = pagina.size() < limit ? null : pagina.get(pagina.size() - 1).getIdProduto();
+        return new PaginaDTO<>(itens, proximoAfter);
     }
 
+    /**
+     * Percorre todos os produtos cadastrados, entregando cada um ao consumidor à medida que é lido do banco.
+     *
+     * @param consumidor Destino de cada ProdutoDTO.
+     */
+    @ConsultaRelatorio
+    @Transactional(readOnly = true)
+    public void transmitirTodos(Consumer<ProdutoDTO> consumidor) {
+        LeituraEmFluxo.transmitir(produtoRepository.streamAllByOrderByIdProdutoAsc(), ProdutoModel::toDTO, consumidor, entityManager);
+    }
 
+    @CacheEvict(cacheNames = {CacheConfig.PRODUTO, CacheConfig.CATALOGO_PRODUTOS}, allEntries = true)
     @Transactional
     public ProdutoDTO salvar(ProdutoModel novoProduto){
 
 
         try {
             // Caso ocorra a tentaiva de salvar um produto com o nome já existente, mostre a exceção abaixo.
-            if (produtoRepository.existsByNome(novoProduto.getNome())) {
-                throw new ConstraintException("Já existe um produto cadastrado com esse nome" + novoProduto.getNome() + " !");
+            if (produtoRepository.existsByNomeIgnoreCase(novoProduto.getNome())) {
+                String mensagem = "Já existe um produto cadastrado com esse nome" + novoProduto.getNome() + " !";
+                throw new ConstraintException(mensagem, List.of(new FieldMessage("nome", mensagem)));
             }
 
-            return produtoRepository.save(novoProduto).toDTO();
+            versaoTabelaService.registrarAlteracao(Tabela.PRODUTO);
+            ProdutoModel produtoSalvo = produtoRepository.save(novoProduto);
+            buscaService.registrarProduto(produtoSalvo);
+            return produtoSalvo.toDTO();
         }catch (DataIntegrityException e ){
             throw new DataIntegrityException("Erro! Não foi possível criar um novo produto! " + novoProduto.getNome());
         }catch (ConstraintException e){
@@ -61,44 +161,93 @@ public class ProdutoService {
     }
 
 
-    @Transactional
-    public ProdutoDTO atualizar(ProdutoModel produtoExistente){
-
+    /**
+     * Importa produtos a partir de um arquivo CSV ou NDJSON lido em fluxo, validando cada linha e
+     * descartando nomes já cadastrados ou repetidos no arquivo.
+     *
+     * @param entrada Conteúdo do arquivo.
+     * @param formato Formato do conteúdo.
+     * @return Resumo da importação com os erros por linha.
+     */
+    @CacheEvict(cacheNames = {CacheConfig.PRODUTO, CacheConfig.CATALOGO_PRODUTOS}, allEntries = true)
+    public ImportacaoDTO importar(InputStream entrada, FormatoImportacao formato) {
+        return importadorEmFluxo.importar(entrada, formato, ProdutoModel.class, new RegraImportacao<>() {
+            @Override
+            public Map<String, String> chaves(ProdutoModel produto) {
+                return Map.of("nome", produto.getNome().toLowerCase(Locale.ROOT));
+            }
 
-        try {
-            // Caso ocorra a tentaiva de salvar um produto com o nome já existente, mostre a exceção abaixo.
-            if (!produtoRepository.existsByNome(produtoExistente.getNome())) {
-                throw new ConstraintException("O produto " + produtoExistente.getNome() + " não foi encontrado!");
+            @Override
+            public Map<String, Set<String>> chavesExistentes(Map<String, Set<String>> chavesPorCampo) {
+                return Map.of("nome", new HashSet<>(produtoRepository.findNomesExistentes(chavesPorCampo.get("nome"))));
             }
 
-            return produtoRepository.save(produtoExistente).toDTO();
-        }catch (DataIntegrityException e ){
-            throw new DataIntegrityException("Erro! Não foi possível atualizar o produto! " + produtoExistente.getNome());
-        }catch (ConstraintException e){
-            if (e.getMessage() == null || e.getMessage().isBlank()) {
-                throw new ConstraintException("Erro ao atualizar o produto " + produtoExistente.getNome() + ": Restrição de integridade de dados.");
+            @Override
+            public void salvar(List<ProdutoModel> produtos) {
+                produtos.forEach(produto -> {
+                    produto.setIdProduto(null);
+                    produto.setVersao(null);
+                });
+                produtoRepository.saveAll(produtos).forEach(buscaService::registrarProduto);
+                versaoTabelaService.registrarAlteracao(Tabela.PRODUTO);
             }
-            throw e;
-        }catch (BusinessRuleException e){
-            throw  new BusinessRuleException("Erro! Não foi possível atualizar o produto " + produtoExistente.getNome() + ",pois violou uma regra de negócio");
-        }catch (SQLException e) {
-            throw new SQLException("Erro! Não foi possível atualizar o produto" + produtoExistente.getNome() + ", pois houve um erro de conexão com o banco de dados");
-        }catch (ObjectNotFoundException e){
-            throw new ObjectNotFoundException("Erro! não foi possível localizar o produto " + produtoExistente.getNome() + " no banco de dados");
-        }
+        });
     }
 
-    @Transactional
+    /**
+     * Atualiza o produto com os dados informados. Se a {@code versao} for informada e o produto já tiver sido
+     * alterado desde então, nada é gravado; sem ela, as alterações concorrentes são resolvidas repetindo a
+     * atualização sobre o estado mais recente, até {@code vendas.concorrencia.tentativas} vezes.
+     *
+     * @param produtoExistente Produto com o ID ou o nome e os novos dados.
+     * @return ProdutoDTO com os dados gravados e a nova versão.
+     * @throws ConflictException Se a versão informada não for a atual ou as tentativas se esgotarem.
+     */
+    @CacheEvict(cacheNames = {CacheConfig.PRODUTO, CacheConfig.CATALOGO_PRODUTOS}, allEntries = true)
+    public ProdutoDTO atualizar(ProdutoModel produtoExistente){
+        return RepeticaoOtimista.executar(transactionManager, tentativas, esperaInicial, () -> {
+            ProdutoModel produtoPersistido = buscarPersistido(produtoExistente);
+            verificarVersao(produtoExistente, produtoPersistido);
+
+            produtoPersistido.setNome(produtoExistente.getNome());
+            produtoPersistido.setDescricao(produtoExistente.getDescricao());
+            produtoPersistido.setPreco(produtoExistente.getPreco());
+            produtoPersistido.setAtivo(produtoExistente.getAtivo());
+            versaoTabelaService.registrarAlteracao(Tabela.PRODUTO);
+            ProdutoModel produtoAtualizado = produtoRepository.saveAndFlush(produtoPersistido);
+            buscaService.registrarProduto(produtoAtualizado);
+            return produtoAtualizado.toDTO();
+        }, () -> buscarEstadoAtual(produtoExistente), mensagemConflito(produtoExistente));
+    }
+
+    /**
+     * Remove o produto gravado com o ID ou, na falta dele, com o nome informado. Se a {@code versao} for informada
+     * e o produto já tiver sido alterado desde então, nada é removido; sem ela, a remoção é repetida sobre o
+     * estado mais recente em caso de alteração concorrente, como em {@link #atualizar(ProdutoModel)}.
+     *
+     * @param produtoExistente Produto com o ID ou o nome e, opcionalmente, a versão.
+     * @throws ConflictException Se a versão informada não for a atual ou as tentativas se esgotarem.
+     */
+    @CacheEvict(cacheNames = {CacheConfig.PRODUTO, CacheConfig.CATALOGO_PRODUTOS}, allEntries = true)
     public void deletar(ProdutoModel produtoExistente){
+        RepeticaoOtimista.executar(transactionManager, tentativas, esperaInicial, () -> {
+            deletarPersistido(produtoExistente);
+            return null;
+        }, () -> buscarEstadoAtual(produtoExistente), mensagemConflito(produtoExistente));
+    }
+
+    // Método auxiliar que remove o produto gravado na transação corrente, conferida a versão informada
+    private void deletarPersistido(ProdutoModel produtoExistente){
 
 
         try {
-            // Caso ocorra a tentaiva de salvar um produto com o nome já existente, mostre a exceção abaixo.
-            if (!produtoRepository.existsByNome(produtoExistente.getNome())) {
-                throw new ConstraintException("O produto " + produtoExistente.getNome() + " não foi encontrado!");
-            }
+            ProdutoModel produtoPersistido = buscarPersistido(produtoExistente);
+            verificarVersao(produtoExistente, produtoPersistido);
 
-            produtoRepository.delete(produtoExistente);
+            versaoTabelaService.registrarAlteracao(Tabela.PRODUTO);
+            produtoRepository.delete(produtoPersistido);
+            produtoRepository.flush();
+            buscaService.removerProduto(produtoPersistido.getIdProduto());
         }catch (DataIntegrityException e ){
             throw new DataIntegrityException("Erro! Não foi possível deletar o produto! " + produtoExistente.getNome());
         }catch (ConstraintException e){
@@ -115,4 +264,35 @@ public class ProdutoService {
         }
     }
 
+    // Método auxiliar que carrega o produto persistido pelo ID ou, na falta dele, pelo nome
+    private ProdutoModel buscarPersistido(ProdutoModel produto) {
+        return localizarPersistido(produto).orElseThrow(
+                () -> new ConstraintException("O produto " + produto.getNome() + " não foi encontrado!"));
+    }
+
+    // Método auxiliar que obtém o estado atual devolvido no conflito; null se o produto tiver sido removido
+    private ProdutoDTO buscarEstadoAtual(ProdutoModel produto) {
+        return localizarPersistido(produto).map(ProdutoModel::toDTO).orElse(null);
+    }
+
+    private Optional<ProdutoModel> localizarPersistido(ProdutoModel produto) {
+        return produto.getIdProduto() != null
+                ? produtoRepository.findById(produto.getIdProduto())
+                : produtoRepository.findByNomeIgnoreCase(produto.getNome());
+    }
+
+    // Método auxiliar que recusa a gravação sobre uma versão diferente da informada pelo cliente
+    private static void verificarVersao(ProdutoModel produto, ProdutoModel produtoPersistido) {
+        if (produto.getVersao() != null && !produto.getVersao().equals(produtoPersistido.getVersao())) {
+            throw new ConflictException("O produto " + produtoPersistido.getNome()
+                    + " foi alterado por outra operação desde a versão " + produto.getVersao() + ".", produtoPersistido.toDTO());
+        }
+    }
+
+    // Método auxiliar que monta a mensagem do conflito devolvido quando as tentativas se esgotam
+    private static String mensagemConflito(ProdutoModel produto) {
+        return "O produto " + (produto.getNome() != null ? produto.getNome() : produto.getIdProduto())
+                + " está sendo alterado por outras operações; tente novamente.";
+    }
+
 }
@@ -0,0 +1,36 @@
+package br.com.zebodega.vendas.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Regras específicas de cada entidade usadas pelo {@link ImportadorEmFluxo}.
+ *
+ * @param <T> Tipo da entidade importada.
+ */
+interface RegraImportacao<T> {
+
+    /**
+     * Obtém os valores dos campos únicos do registro, já normalizados para comparação.
+     *
+     * @param registro Registro validado.
+     * @return Mapa de nome do campo para o valor normalizado.
+     */
+    Map<String, String> chaves(T registro);
+
+    /**
+     * Consulta, de uma só vez, quais dos valores informados já estão cadastrados.
+     *
+     * @param chavesPorCampo Valores normalizados de cada campo único da parte em processamento.
+     * @return Valores já existentes na base de dados, por campo.
+     */
+    Map<String, Set<String>> chavesExistentes(Map<String, Set<String>> chavesPorCampo);
+
+    /**
+     * Persiste os registros aprovados da parte em processamento.
+     *
+     * @param registros Registros sem erros nem conflitos.
+     */
+    void salvar(List<T> registros);
+}
@@ -0,0 +1,57 @@
+package br.com.zebodega.vendas.service;
+
+import br.com.zebodega.vendas.exception.ConflictException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Auxiliar dos serviços para alterações sob concorrência otimista ({@code @Version}).
+ *
+ * <p>Cada tentativa é executada em uma transação própria. Se outra transação tiver alterado o mesmo registro
+ * entre a leitura e a gravação, a tentativa é desfeita e a operação é repetida do início, relendo o estado
+ * atual, após uma espera aleatória que dobra a cada conflito. Esgotadas as tentativas, é lançada uma
+ * {@link ConflictException} com o estado atual do registro.</p>
+ *
+ * <p>Deve ser chamado fora de qualquer transação: dentro de uma, as tentativas participariam dela e o
+ * conflito não poderia ser repetido.</p>
+ */
+final class RepeticaoOtimista {
+
+    private RepeticaoOtimista() {
+    }
+
+    /**
+     * Executa a operação, repetindo-a em caso de conflito de versão.
+     *
+     * @param transactionManager Gerenciador de transações da aplicação.
+     * @param tentativas         Quantidade máxima de execuções.
+     * @param esperaInicial      Espera máxima antes da primeira repetição.
+     * @param operacao           Operação que lê, altera e grava o registro na transação corrente.
+     * @param estadoAtual        Consulta do estado atual do registro, devolvido quando as tentativas se esgotam.
+     * @param mensagem           Mensagem da {@link ConflictException}.
+     * @return Resultado da operação.
+     */
+    static <R> R executar(PlatformTransactionManager transactionManager, int tentativas, Duration esperaInicial,
+                          Supplier<R> operacao, Supplier<?> estadoAtual, String mensagem) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long esperaMaximaNanos = esperaInicial.toNanos();
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return transactionTemplate.execute(status -> operacao.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (tentativa >= tentativas) {
+                    throw new ConflictException(mensagem, transactionTemplate.execute(status -> estadoAtual.get()));
+                }
+            }
+            // Espera aleatória para que os concorrentes não voltem a colidir no mesmo instante
+            LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(esperaMaximaNanos + 1));
+            esperaMaximaNanos *= 2;
+        }
+    }
+}
@@ -1,24 +1,34 @@
 package br.com.zebodega.vendas.service;
 
+import br.com.zebodega.vendas.config.ConsultaRelatorio;
+import br.com.zebodega.vendas.config.MetricasConfig;
 import br.com.zebodega.vendas.exception.*;
-import br.com.zebodega.vendas.model.ClienteModel;
 import br.com.zebodega.vendas.model.UsuarioModel;
 import br.com.zebodega.vendas.repository.UsuarioRepository;
-import br.com.zebodega.vendas.rest.ClienteDTO;
-import br.com.zebodega.vendas.rest.UsuarioDTO;
+import br.com.zebodega.vendas.rest.dto.PaginaDTO;
+import br.com.zebodega.vendas.rest.dto.UsuarioDTO;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = MetricasConfig.TEMPO_SERVICO, histogram = true)
 public class UsuarioService {
 
     @Autowired
     private UsuarioRepository  usuarioRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Transactional(readOnly = true)
     public UsuarioDTO obterPorId(Long id) {
         UsuarioModel usuario = usuarioRepository.findById(id)
@@ -26,13 +36,32 @@ public class UsuarioService {
         return usuario.toDTO();
     }
 
+    /**
+     * Obtém uma página de usuários por paginação por chave.
+     *
+     * @param after Último identificador já lido pelo cliente.
+     * @param limit Quantidade máxima de registros da página.
+     * @return Página de UsuarioDTO e o cursor da próxima página.
+     */
     @Transactional(readOnly = true)
-    public List<UsuarioDTO> obterTodos(){
-
-        List<UsuarioModel> listaUsuarios = usuarioRepository.findAll();
-
-        return listaUsuarios.stream().map(usuarioModel -> usuarioModel.toDTO())
+    public PaginaDTO<UsuarioDTO> obterPagina(Long after, int limit) {
+        List<UsuarioModel> pagina = usuarioRepository.findByIdUsuarioGreaterThanOrderByIdUsuarioAsc(after, Limit.of(limit));
+        List<UsuarioDTO> itens = pagina.stream()
+                .map(UsuarioModel::toDTO)
                 .collect(Collectors.toList());
+        Long proximoAfter = pagina.size() < limit ? null : pagina.get(pagina.size() - 1).getIdUsuario();
+        return new PaginaDTO<>(itens, proximoAfter);
+    }
+
+    /**
+     * Percorre todos os usuários cadastrados, entregando cada um ao consumidor à medida que é lido do banco.
+     *
+     * @param consumidor Destino de cada UsuarioDTO.
+     */
+    @ConsultaRelatorio
+    @Transactional(readOnly = true)
+    public void transmitirTodos(Consumer<UsuarioDTO> consumidor) {
+        LeituraEmFluxo.transmitir(usuarioRepository.streamAllByOrderByIdUsuarioAsc(), UsuarioModel::toDTO, consumidor, entityManager);
     }
 
     @Transactional
@@ -0,0 +1,128 @@
+package br.com.zebodega.vendas.service;
+
+import br.com.zebodega.vendas.config.LeituraConsistente;
+import br.com.zebodega.vendas.model.VersaoTabelaModel;
+import br.com.zebodega.vendas.repository.VersaoTabelaRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Mantém, no banco, uma versão por tabela, incrementada na transação de cada alteração gravada.
+ *
+ * <p>Os controladores usam a versão para montar o ETag das leituras, respondendo {@code 304 Not Modified} sem
+ * consultar os dados quando o cliente já possui a versão atual. Por estar no banco, a versão é a mesma em todas
+ * as instâncias da aplicação e sobrevive aos reinícios; o ETag inclui ainda o instante de inicialização da
+ * instância, para que um banco recriado (como o em memória) não repita ETags de uma execução anterior.</p>
+ *
+ * <p>O incremento é feito imediatamente antes do commit da transação que alterou a tabela, de modo que a linha
+ * da versão fica bloqueada apenas durante a confirmação, e é desfeito junto com ela em caso de rollback. Toda
+ * escrita nas tabelas versionadas, inclusive os comandos em massa, deve registrar a alteração. Com réplicas de
+ * leitura, a versão e os dados são lidos com {@link LeituraConsistente}.</p>
+ */
+@Service
+public class VersaoTabelaService {
+
+    /**
+     * Tabelas cujas leituras são servidas com requisição condicional.
+     */
+    public enum Tabela {
+        FORMA_PAGAMENTO,
+        PRODUTO,
+        PEDIDO
+    }
+
+    @Autowired
+    private VersaoTabelaRepository versaoTabelaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Instante de inicialização, que diferencia os ETags de execuções distintas da aplicação
+    private final long inicio = System.currentTimeMillis();
+
+    /**
+     * Grava a versão inicial das tabelas que ainda não a possuem.
+     */
+    @PostConstruct
+    public void criarVersoes() {
+        for (Tabela tabela : Tabela.values()) {
+            try {
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    if (!versaoTabelaRepository.existsById(tabela.name())) {
+                        versaoTabelaRepository.saveAndFlush(new VersaoTabelaModel(tabela.name(), 0));
+                    }
+                });
+            } catch (DataIntegrityViolationException e) {
+                // Gravada ao mesmo tempo por outra instância
+            }
+        }
+    }
+
+    /**
+     * Registra uma alteração na tabela. Dentro de uma transação, a versão é incrementada antes do commit, uma
+     * única vez por transação; fora de uma transação, é incrementada imediatamente.
+     *
+     * @param tabela Tabela alterada.
+     */
+    public void registrarAlteracao(Tabela tabela) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> versaoTabelaRepository.incrementar(tabela.name()));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<Tabela> alteradas = (Set<Tabela>) TransactionSynchronizationManager.getResource(this);
+        if (alteradas == null) {
+            Set<Tabela> novas = EnumSet.noneOf(Tabela.class);
+            TransactionSynchronizationManager.bindResource(this, novas);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    novas.forEach(alterada -> versaoTabelaRepository.incrementar(alterada.name()));
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(VersaoTabelaService.this);
+                }
+            });
+            alteradas = novas;
+        }
+        alteradas.add(tabela);
+    }
+
+    /**
+     * Obtém a versão gravada da tabela.
+     *
+     * @param tabela Tabela consultada.
+     * @return Versão atual da tabela.
+     */
+    @LeituraConsistente
+    @Transactional(readOnly = true)
+    public long obterVersao(Tabela tabela) {
+        Long versao = versaoTabelaRepository.obterVersao(tabela.name());
+        return versao == null ? 0 : versao;
+    }
+
+    /**
+     * Obtém o ETag forte que identifica a versão atual da tabela.
+     *
+     * @param tabela Tabela consultada.
+     * @return ETag entre aspas, no formato exigido pelo cabeçalho HTTP.
+     */
+    @LeituraConsistente
+    @Transactional(readOnly = true)
+    public String obterEtag(Tabela tabela) {
+        return "\"" + tabela.name().toLowerCase() + "-" + inicio + "-" + obterVersao(tabela) + "\"";
+    }
+}
@@ -0,0 +1,76 @@
+-- Esquema inicial do sistema de vendas, equivalente ao mapeamento das entidades do pacote model.
+-- Os nomes seguem a estratégia de nomenclatura do Spring (camelCase convertido para snake_case).
+-- As sequências usam incremento 50, igual ao tamanho de alocação do SequenciaAgrupadaGenerator.
+
+CREATE SEQUENCE cliente_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE usuario_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE forma_pagamento_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE produto_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE pedido_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE itens_pedido_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE cliente (
+    id_cliente       BIGINT       NOT NULL PRIMARY KEY,
+    nome             VARCHAR(255) NOT NULL,
+    cpf              VARCHAR(11)  NOT NULL UNIQUE,
+    email            VARCHAR(255) NOT NULL UNIQUE,
+    telefone         VARCHAR(11)  NOT NULL UNIQUE,
+    data_nascimento  DATE         NOT NULL,
+    sexo             VARCHAR(1)   NOT NULL,
+    apelido          VARCHAR(255)
+);
+
+CREATE TABLE usuario (
+    id_usuario  BIGINT       NOT NULL PRIMARY KEY,
+    user_name   VARCHAR(255) NOT NULL UNIQUE,
+    password    VARCHAR(255) NOT NULL,
+    ativo       TINYINT      NOT NULL,
+    id_cliente  BIGINT       NOT NULL UNIQUE,
+    CONSTRAINT fk_usuario_cliente FOREIGN KEY (id_cliente) REFERENCES cliente (id_cliente)
+);
+
+CREATE TABLE formas_pagamento (
+    id_forma_pagamento  BIGINT       NOT NULL PRIMARY KEY,
+    nome                VARCHAR(255) NOT NULL,
+    descricao           VARCHAR(255) NOT NULL
+);
+
+-- Valores monetários gravados em centavos (ver DinheiroConverter)
+CREATE TABLE produto (
+    id_produto  BIGINT       NOT NULL PRIMARY KEY,
+    nome        VARCHAR(255) NOT NULL UNIQUE,
+    descricao   VARCHAR(255) NOT NULL,
+    preco       BIGINT       NOT NULL,
+    ativo       TINYINT      NOT NULL
+);
+
+CREATE TABLE pedido (
+    id_pedido      BIGINT       NOT NULL PRIMARY KEY,
+    numero_pedido  VARCHAR(255) NOT NULL UNIQUE,
+    valor_total    BIGINT       NOT NULL,
+    data_criacao   DATE         NOT NULL,
+    status         VARCHAR(50)  NOT NULL
+);
+
+CREATE INDEX idx_pedido_status_data_criacao ON pedido (status, data_criacao);
+
+CREATE TABLE itens_pedidos (
+    id_itens_pedido  BIGINT  NOT NULL PRIMARY KEY,
+    quantidade       INTEGER NOT NULL,
+    id_pedido        BIGINT  NOT NULL,
+    id_produto       BIGINT  NOT NULL,
+    CONSTRAINT fk_itens_pedidos_pedido FOREIGN KEY (id_pedido) REFERENCES pedido (id_pedido),
+    CONSTRAINT fk_itens_pedidos_produto FOREIGN KEY (id_produto) REFERENCES produto (id_produto)
+);
+
+CREATE INDEX idx_itens_pedido_pedido ON itens_pedidos (id_pedido);
+CREATE INDEX idx_itens_pedido_produto ON itens_pedidos (id_produto);
+
+CREATE TABLE faturamento_diario (
+    id_faturamento_diario  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    data                   DATE        NOT NULL,
+    status                 VARCHAR(50) NOT NULL,
+    quantidade             BIGINT      NOT NULL,
+    total                  BIGINT      NOT NULL,
+    CONSTRAINT uk_faturamento_diario_data_status UNIQUE (data, status)
+);
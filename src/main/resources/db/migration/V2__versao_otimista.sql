@@ -0,0 +1,5 @@
+-- Versão de cada registro para a concorrência otimista (@Version) de pedidos e produtos.
+-- Os registros existentes começam na versão 0.
+
+ALTER TABLE pedido ADD COLUMN versao BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE produto ADD COLUMN versao BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,14 @@
+-- Estoque disponível de cada produto, alterado pelas reservas atômicas do EstoqueService. Fica em uma tabela
+-- própria, fora da tabela produto, cujas linhas ficam no cache de segundo nível: as reservas não invalidam o
+-- cache dos produtos (ver EstoqueProdutoModel).
+
+CREATE TABLE estoque_produto (
+    id_produto  BIGINT  NOT NULL PRIMARY KEY,
+    quantidade  INTEGER NOT NULL,
+    CONSTRAINT fk_estoque_produto_produto FOREIGN KEY (id_produto) REFERENCES produto (id_produto) ON DELETE CASCADE,
+    CONSTRAINT ck_estoque_produto_quantidade CHECK (quantidade >= 0)
+);
+
+-- Os produtos existentes começam sem estoque, até a primeira reposição.
+INSERT INTO estoque_produto (id_produto, quantidade)
+SELECT id_produto, 0 FROM produto;
@@ -0,0 +1,7 @@
+-- Nome do produto em minúsculas, calculado pelo banco e com índice único: as buscas por nome sem diferenciar
+-- maiúsculas comparam esta coluna, pois uma comparação sobre LOWER(nome) percorreria a tabela inteira.
+ALTER TABLE produto ADD COLUMN nome_normalizado VARCHAR(255) GENERATED ALWAYS AS (LOWER(nome));
+ALTER TABLE produto ADD CONSTRAINT uk_produto_nome_normalizado UNIQUE (nome_normalizado);
+
+-- Catálogo de produtos ativos, já na ordem do identificador.
+CREATE INDEX idx_produto_ativo ON produto (ativo, id_produto);
@@ -0,0 +1,7 @@
+-- Versão de cada tabela servida com requisição condicional, usada no ETag das leituras e incrementada na
+-- transação de cada alteração (ver VersaoTabelaService, que também grava a versão inicial das tabelas).
+
+CREATE TABLE versao_tabela (
+    tabela  VARCHAR(50) NOT NULL PRIMARY KEY,
+    versao  BIGINT      NOT NULL
+);
@@ -0,0 +1,111 @@
+package br.com.zebodega.vendas.sintetico;
+
+import br.com.zebodega.vendas.model.ClienteModel;
+import br.com.zebodega.vendas.model.Dinheiro;
+import br.com.zebodega.vendas.model.FormaPagamentoModel;
+import br.com.zebodega.vendas.model.ItensPedidoModel;
+import br.com.zebodega.vendas.model.PedidoModel;
+import br.com.zebodega.vendas.model.ProdutoModel;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Gerador determinístico de dados sintéticos para os benchmarks e o teste de carga: a mesma semente produz
+ * sempre os mesmos registros, o que torna comparáveis as execuções de versões diferentes do código.
+ */
+public final class DadosSinteticos {
+
+    private static final LocalDate DATA_BASE = LocalDate.of(2024, 1, 1);
+
+    private final SplittableRandom aleatorio;
+
+    public DadosSinteticos(long semente) {
+        this.aleatorio = new SplittableRandom(semente);
+    }
+
+    /**
+     * Gera um CPF válido (com os dígitos verificadores corretos) a partir de um número sequencial.
+     *
+     * @param sequencial Número entre 0 e 11.111.110; números diferentes geram CPFs diferentes. O limite evita a
+     *                   base 111.111.111, cujo CPF (todos os dígitos iguais) é rejeitado pelo {@code @CPF}.
+     * @return CPF com 11 dígitos, sem pontuação.
+     */
+    public static String cpf(long sequencial) {
+        String base = Long.toString(100_000_000L + sequencial);
+        int primeiro = digitoVerificador(base, 10);
+        int segundo = digitoVerificador(base + primeiro, 11);
+        return base + primeiro + segundo;
+    }
+
+    public ClienteModel cliente(long sequencial) {
+        ClienteModel cliente = new ClienteModel();
+        cliente.setNome("Cliente " + sequencial);
+        cliente.setCpf(cpf(sequencial));
+        cliente.setEmail("cliente" + sequencial + "@zebodega.com.br");
+        cliente.setTelefone(Long.toString(11_000_000_000L + sequencial));
+        cliente.setDataNascimento(DATA_BASE.minusDays(6_570 + aleatorio.nextInt(18_250)));
+        cliente.setSexo(aleatorio.nextBoolean() ? "M" : "F");
+        cliente.setApelido("cli" + sequencial);
+        return cliente;
+    }
+
+    public FormaPagamentoModel formaPagamento(long sequencial) {
+        FormaPagamentoModel formaPagamento = new FormaPagamentoModel();
+        formaPagamento.setNome("Forma de pagamento " + sequencial);
+        formaPagamento.setDescricao("Descrição da forma de pagamento " + sequencial);
+        return formaPagamento;
+    }
+
+    public ProdutoModel produto(long sequencial) {
+        ProdutoModel produto = new ProdutoModel();
+        produto.setNome("Produto " + sequencial);
+        produto.setDescricao("Descrição do produto " + sequencial);
+        produto.setPreco(Dinheiro.deCentavos(100 + aleatorio.nextInt(99_900)));
+        produto.setAtivo((byte) 1);
+        return produto;
+    }
+
+    /**
+     * Gera um pedido com data distribuída uniformemente pelos dias do período e valor entre 10,00 e 2.000,00.
+     *
+     * @param sequencial Número usado no número do pedido.
+     * @param dias       Quantidade de dias do período, a partir de {@link #dataInicial()}.
+     * @return Pedido ainda não persistido.
+     */
+    public PedidoModel pedido(long sequencial, int dias) {
+        PedidoModel pedido = new PedidoModel();
+        pedido.setNumeroPedido("PED-" + sequencial);
+        pedido.setDataCriacao(DATA_BASE.plusDays(aleatorio.nextInt(dias)));
+        pedido.setStatus(aleatorio.nextInt(10) == 0 ? "CANCELADO" : "ATIVO");
+        pedido.setValorTotal(Dinheiro.deCentavos(1_000 + aleatorio.nextInt(199_000)));
+        return pedido;
+    }
+
+    public List<PedidoModel> pedidos(int quantidade, int dias) {
+        List<PedidoModel> pedidos = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            pedidos.add(pedido(i, dias));
+        }
+        return pedidos;
+    }
+
+    public ItensPedidoModel itensPedido(PedidoModel pedido, ProdutoModel produto) {
+        return new ItensPedidoModel(null, 1 + aleatorio.nextInt(10), pedido, produto);
+    }
+
+    public static LocalDate dataInicial() {
+        return DATA_BASE;
+    }
+
+    private static int digitoVerificador(String digitos, int pesoInicial) {
+        int soma = 0;
+        for (int i = 0; i < digitos.length(); i++) {
+            soma += (digitos.charAt(i) - '0') * (pesoInicial - i);
+        }
+        int resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
+    }
+}
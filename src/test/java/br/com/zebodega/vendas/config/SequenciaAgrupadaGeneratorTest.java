@@ -0,0 +1,37 @@
+package br.com.zebodega.vendas.config;
+
+import br.com.zebodega.vendas.VendasApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifica que a aplicação, no perfil de produção, só inicializa sobre as sequências das migrações quando o
+ * tamanho de alocação configurado é igual ao incremento delas.
+ */
+class SequenciaAgrupadaGeneratorTest {
+
+    @Test
+    void iniciaComTamanhoIgualAoIncrementoDasMigracoes() {
+        assertThatCode(() -> iniciar("SequenciasIguaisDB", 50).close()).doesNotThrowAnyException();
+    }
+
+    @Test
+    void recusaTamanhoDiferenteDoIncrementoDasMigracoes() {
+        assertThatThrownBy(() -> iniciar("SequenciasDiferentesDB", 10).close())
+                .hasStackTraceContaining("difere do tamanho de alocação");
+    }
+
+    // Inicializa a aplicação no perfil de produção, em uma porta livre e com o banco em memória
+    private static ConfigurableApplicationContext iniciar(String banco, int tamanhoAlocacao) {
+        return new SpringApplicationBuilder(VendasApplication.class)
+                .profiles("producao")
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:" + banco,
+                        "--spring.jpa.properties.vendas.id.tamanho-alocacao=" + tamanhoAlocacao,
+                        "--logging.level.root=WARN");
+    }
+}
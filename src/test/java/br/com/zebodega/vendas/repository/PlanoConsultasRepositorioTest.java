@@ -0,0 +1,194 @@
+package br.com.zebodega.vendas.repository;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica, pelo plano do H2 ({@code EXPLAIN}), que nenhuma consulta dos repositórios percorre uma tabela inteira.
+ *
+ * <p>Cada método de consulta do pacote (derivado do nome ou com {@code @Query}, exceto os {@code @Modifying}) é
+ * executado sobre o esquema criado pelas migrações do perfil de produção; os comandos SQL gerados são capturados
+ * e o plano de cada um é inspecionado. Os comandos sem {@code where}, que leem a tabela inteira por definição
+ * (como os fluxos de exportação), não são verificados.</p>
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:PlanoConsultasDB;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "br.com.zebodega.vendas.repository.PlanoConsultasRepositorioTest$ColetorComandos"
+})
+class PlanoConsultasRepositorioTest {
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void nenhumaConsultaPercorreATabelaInteira() throws SQLException {
+        Repositories repositories = new Repositories(applicationContext);
+        List<String> varreduras = new ArrayList<>();
+        int verificadas = 0;
+
+        for (Class<?> dominio : repositories) {
+            RepositoryInformation informacao = repositories.getRepositoryInformationFor(dominio).orElseThrow();
+            if (!informacao.getRepositoryInterface().getPackageName().equals(getClass().getPackageName())) {
+                continue;
+            }
+            Object repositorio = repositories.getRepositoryFor(dominio).orElseThrow();
+            for (Method metodo : informacao.getQueryMethods()) {
+                if (metodo.isAnnotationPresent(Modifying.class)) {
+                    continue;
+                }
+                for (String sql : executar(repositorio, metodo)) {
+                    if (!sql.startsWith("select") || !sql.contains(" where ")) {
+                        continue;
+                    }
+                    verificadas++;
+                    String plano = explicar(sql);
+                    if (plano.contains(".tableScan")) {
+                        varreduras.add(informacao.getRepositoryInterface().getSimpleName() + "." + metodo.getName()
+                                + System.lineSeparator() + plano);
+                    }
+                }
+            }
+        }
+
+        assertThat(verificadas).isPositive();
+        assertThat(varreduras).isEmpty();
+    }
+
+    // Executa o método em uma transação desfeita ao final e devolve os comandos SQL gerados
+    private List<String> executar(Object repositorio, Method metodo) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        return transacao.execute(status -> {
+            status.setRollbackOnly();
+            ColetorComandos.iniciar();
+            try {
+                Object resultado = metodo.invoke(repositorio, argumentos(metodo));
+                if (resultado instanceof Stream<?> fluxo) {
+                    try (fluxo) {
+                        fluxo.count();
+                    }
+                }
+                return ColetorComandos.encerrar();
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                ColetorComandos.encerrar();
+                throw new IllegalStateException("Falha ao executar " + metodo, e);
+            }
+        });
+    }
+
+    // Valores de exemplo para os parâmetros; o conteúdo não importa, apenas o formato do comando gerado
+    private Object[] argumentos(Method metodo) {
+        Class<?>[] tipos = metodo.getParameterTypes();
+        Object[] argumentos = new Object[tipos.length];
+        for (int i = 0; i < tipos.length; i++) {
+            Class<?> tipo = tipos[i];
+            if (tipo == Long.class || tipo == long.class) {
+                argumentos[i] = 1L;
+            } else if (tipo == Integer.class || tipo == int.class) {
+                argumentos[i] = 1;
+            } else if (tipo == Byte.class || tipo == byte.class) {
+                argumentos[i] = (byte) 1;
+            } else if (tipo == String.class) {
+                argumentos[i] = "1";
+            } else if (tipo == LocalDate.class) {
+                argumentos[i] = LocalDate.now();
+            } else if (Collection.class.isAssignableFrom(tipo)) {
+                argumentos[i] = List.of("1");
+            } else if (tipo == Limit.class) {
+                argumentos[i] = Limit.of(10);
+            } else if (tipo == Pageable.class) {
+                argumentos[i] = PageRequest.of(0, 10);
+            } else if (tipo == Sort.class) {
+                argumentos[i] = Sort.unsorted();
+            } else if (tipo.isAnnotationPresent(Entity.class)) {
+                argumentos[i] = entityManager.getReference(tipo, 1L);
+            } else {
+                throw new IllegalArgumentException("Tipo de parâmetro sem valor de exemplo em " + metodo + ": " + tipo);
+            }
+        }
+        return argumentos;
+    }
+
+    // Obtém o plano do comando; os parâmetros precisam estar definidos, mas o EXPLAIN não avalia os seus valores
+    private String explicar(String sql) throws SQLException {
+        try (Connection conexao = dataSource.getConnection();
+             PreparedStatement explain = conexao.prepareStatement("EXPLAIN " + sql)) {
+            int parametros = explain.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parametros; i++) {
+                explain.setNull(i, Types.NULL);
+            }
+            try (ResultSet plano = explain.executeQuery()) {
+                plano.next();
+                return plano.getString(1);
+            }
+        }
+    }
+
+    /**
+     * Registra os comandos SQL emitidos pelo Hibernate na thread do teste.
+     */
+    public static class ColetorComandos implements StatementInspector {
+
+        private static final ThreadLocal<List<String>> COMANDOS = new ThreadLocal<>();
+
+        static void iniciar() {
+            COMANDOS.set(new ArrayList<>());
+        }
+
+        static List<String> encerrar() {
+            List<String> comandos = COMANDOS.get();
+            COMANDOS.remove();
+            return comandos;
+        }
+
+        @Override
+        public String inspect(String sql) {
+            List<String> comandos = COMANDOS.get();
+            if (comandos != null) {
+                comandos.add(sql);
+            }
+            return sql;
+        }
+    }
+}
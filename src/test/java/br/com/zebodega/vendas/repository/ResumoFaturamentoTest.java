@@ -0,0 +1,71 @@
+package br.com.zebodega.vendas.repository;
+
+import br.com.zebodega.vendas.model.Dinheiro;
+import br.com.zebodega.vendas.model.PedidoModel;
+import br.com.zebodega.vendas.rest.dto.FaturamentoDTO;
+import br.com.zebodega.vendas.rest.dto.PeriodoAgrupamento;
+import br.com.zebodega.vendas.service.PedidoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica a média do faturamento, calculada em centavos a partir da soma e da quantidade, na projeção
+ * {@link ResumoFaturamento} e no relatório agrupado.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:ResumoFaturamentoDB;DB_CLOSE_DELAY=-1")
+class ResumoFaturamentoTest {
+
+    private static final LocalDate DIA = LocalDate.of(2002, 3, 4);
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Test
+    void mediaCalculadaEmCentavos() {
+        // 1000 + 1001 + 1002 = 3003 centavos em 3 pedidos; 1001 + 1002 = 2003 em 2 pedidos no dia seguinte
+        pedidoService.salvar(pedido("R-1", DIA, 1000));
+        pedidoService.salvar(pedido("R-2", DIA, 1001));
+        pedidoService.salvar(pedido("R-3", DIA, 1002));
+        pedidoService.salvar(pedido("R-4", DIA.plusDays(1), 1001));
+        pedidoService.salvar(pedido("R-5", DIA.plusDays(1), 1002));
+
+        ResumoFaturamento resumo = pedidoRepository.resumirFaturamento(DIA, DIA.plusDays(1), "ATIVO");
+        assertThat(resumo.getQuantidade()).isEqualTo(5);
+        assertThat(resumo.getTotal()).isEqualTo(5006);
+        // 5006 / 5 = 1001,2, arredondado para 1001
+        assertThat(resumo.getMedia()).isEqualTo(1001);
+
+        List<ResumoFaturamento> porDia = pedidoRepository.resumirFaturamentoPorDia(DIA, DIA.plusDays(1), "ATIVO");
+        assertThat(porDia).extracting(ResumoFaturamento::getMedia).containsExactly(1001L, 1002L);
+
+        List<FaturamentoDTO> relatorio = pedidoService.obterFaturamentoAgrupado(DIA, DIA.plusDays(1), PeriodoAgrupamento.DIA);
+        assertThat(relatorio).extracting(FaturamentoDTO::getMedia)
+                .containsExactly(Dinheiro.deCentavos(1001), Dinheiro.deCentavos(1002));
+    }
+
+    @Test
+    void semPedidosNoPeriodo() {
+        LocalDate vazio = LocalDate.of(1990, 1, 1);
+        ResumoFaturamento resumo = pedidoRepository.resumirFaturamento(vazio, vazio, "ATIVO");
+        assertThat(resumo.getQuantidade()).isZero();
+        assertThat(resumo.getMedia()).isNull();
+    }
+
+    private static PedidoModel pedido(String numero, LocalDate data, long centavos) {
+        PedidoModel pedido = new PedidoModel();
+        pedido.setNumeroPedido(numero);
+        pedido.setDataCriacao(data);
+        pedido.setStatus("ATIVO");
+        pedido.setValorTotal(Dinheiro.deCentavos(centavos));
+        return pedido;
+    }
+}
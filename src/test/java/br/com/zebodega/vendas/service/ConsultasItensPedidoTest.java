@@ -0,0 +1,150 @@
+package br.com.zebodega.vendas.service;
+
+import br.com.zebodega.vendas.model.Dinheiro;
+import br.com.zebodega.vendas.model.ItensPedidoModel;
+import br.com.zebodega.vendas.model.PedidoModel;
+import br.com.zebodega.vendas.model.ProdutoModel;
+import br.com.zebodega.vendas.repository.ItensPedidoRepository;
+import br.com.zebodega.vendas.repository.PedidoRepository;
+import br.com.zebodega.vendas.repository.ProdutoRepository;
+import br.com.zebodega.vendas.rest.dto.ItensPedidoDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica, pelas estatísticas do Hibernate, que as listagens de itens de pedido carregam o pedido e o produto
+ * de cada item na mesma consulta dos itens, sem uma consulta adicional por pedido ou produto distinto.
+ *
+ * <p>O cache de segundo nível fica desligado, para que um produto já em cache não esconda uma consulta extra.</p>
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ConsultasItensPedidoDB;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "vendas.cache.segundo-nivel=false",
+        "vendas.metricas.hibernate=true"
+})
+@AutoConfigureMockMvc
+class ConsultasItensPedidoTest {
+
+    private static final int PEDIDOS = 4;
+
+    private static final int ITENS_POR_PEDIDO = 3;
+
+    @Autowired
+    private ItensPedidoService itensPedidoService;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private ItensPedidoRepository itensPedidoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final List<Long> idsPedidos = new ArrayList<>();
+
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void semear() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            itensPedidoRepository.deleteAllInBatch();
+            pedidoRepository.deleteAllInBatch();
+            produtoRepository.deleteAllInBatch();
+
+            // Um produto diferente por item, para que uma consulta por produto apareça na contagem
+            List<ProdutoModel> produtos = new ArrayList<>();
+            for (int i = 0; i < PEDIDOS * ITENS_POR_PEDIDO; i++) {
+                ProdutoModel produto = new ProdutoModel();
+                produto.setNome("Produto " + i);
+                produto.setDescricao("Descrição do produto " + i);
+                produto.setPreco(Dinheiro.deCentavos(1000 + i));
+                produto.setAtivo((byte) 1);
+                produtos.add(produtoRepository.save(produto));
+            }
+
+            idsPedidos.clear();
+            for (int i = 0; i < PEDIDOS; i++) {
+                PedidoModel pedido = new PedidoModel();
+                pedido.setNumeroPedido("P-" + i);
+                pedido.setValorTotal(Dinheiro.deCentavos(5000));
+                pedido.setDataCriacao(LocalDate.now());
+                pedido.setStatus("ABERTO");
+                pedido = pedidoRepository.save(pedido);
+                idsPedidos.add(pedido.getIdPedido());
+                for (int j = 0; j < ITENS_POR_PEDIDO; j++) {
+                    ItensPedidoModel item = new ItensPedidoModel();
+                    item.setPedido(pedido);
+                    item.setProduto(produtos.get(i * ITENS_POR_PEDIDO + j));
+                    item.setQuantidade(1);
+                    itensPedidoRepository.save(item);
+                }
+            }
+        });
+
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+    }
+
+    @Test
+    void itensDoPedidoEmUmaConsulta() {
+        List<ItensPedidoDTO> itens = itensPedidoService.obterPorPedido(idsPedidos.get(0));
+
+        assertThat(itens).hasSize(ITENS_POR_PEDIDO);
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void paginaDeItensEmUmaConsulta() {
+        int total = PEDIDOS * ITENS_POR_PEDIDO;
+
+        assertThat(itensPedidoService.obterPagina(0L, total).getItens()).hasSize(total);
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void transmissaoDosItensEmUmaConsulta() {
+        List<ItensPedidoDTO> itens = new ArrayList<>();
+        itensPedidoService.transmitirTodos(itens::add);
+
+        assertThat(itens).hasSize(PEDIDOS * ITENS_POR_PEDIDO);
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void endpointDeItensDoPedidoEmUmaConsulta() throws Exception {
+        mockMvc.perform(get("/pedido/{id}/itens", idsPedidos.get(1)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(ITENS_POR_PEDIDO));
+
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,74 @@
+package br.com.zebodega.vendas.service;
+
+import br.com.zebodega.vendas.model.Dinheiro;
+import br.com.zebodega.vendas.model.PedidoModel;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que dois pedidos gravados ao mesmo tempo, ambos os primeiros da sua data e status, são aceitos
+ * e somados ao mesmo registro do consolidado diário.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:FaturamentoConcorrenciaDB;DB_CLOSE_DELAY=-1")
+class FaturamentoDiarioConcorrenciaTest {
+
+    private static final int RODADAS = 20;
+
+    private static final String STATUS = "ABERTO";
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private FaturamentoDiarioService faturamentoDiarioService;
+
+    @Test
+    void primeirosPedidosDoDiaGravadosAoMesmoTempo() throws Exception {
+        LocalDate primeiroDia = LocalDate.of(2001, 1, 1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int rodada = 0; rodada < RODADAS; rodada++) {
+                LocalDate data = primeiroDia.plusDays(rodada);
+                CyclicBarrier largada = new CyclicBarrier(2);
+                List<Future<?>> gravacoes = new ArrayList<>();
+                for (int i = 1; i <= 2; i++) {
+                    PedidoModel pedido = pedido("C-" + rodada + "-" + i, data, 1000L * i);
+                    gravacoes.add(executor.submit(() -> {
+                        largada.await();
+                        return pedidoService.salvar(pedido);
+                    }));
+                }
+                for (Future<?> gravacao : gravacoes) {
+                    gravacao.get();
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        for (int rodada = 0; rodada < RODADAS; rodada++) {
+            LocalDate data = primeiroDia.plusDays(rodada);
+            assertThat(faturamentoDiarioService.somarTotal(data, data, STATUS)).isEqualTo(Dinheiro.deCentavos(3000));
+        }
+    }
+
+    private static PedidoModel pedido(String numero, LocalDate data, long centavos) {
+        PedidoModel pedido = new PedidoModel();
+        pedido.setNumeroPedido(numero);
+        pedido.setDataCriacao(data);
+        pedido.setStatus(STATUS);
+        pedido.setValorTotal(Dinheiro.deCentavos(centavos));
+        return pedido;
+    }
+}
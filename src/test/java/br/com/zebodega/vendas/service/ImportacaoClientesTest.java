@@ -0,0 +1,63 @@
+package br.com.zebodega.vendas.service;
+
+import br.com.zebodega.vendas.model.ClienteModel;
+import br.com.zebodega.vendas.repository.ClienteRepository;
+import br.com.zebodega.vendas.rest.dto.ErroImportacaoDTO;
+import br.com.zebodega.vendas.rest.dto.FormatoImportacao;
+import br.com.zebodega.vendas.rest.dto.ImportacaoDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Verifica que os valores de uma linha recusada na importação não impedem a gravação das linhas
+ * seguintes da mesma parte que os repetem.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:ImportacaoClientesDB;DB_CLOSE_DELAY=-1")
+class ImportacaoClientesTest {
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Test
+    void linhaRecusadaNaoBloqueiaValoresDaLinhaSeguinte() {
+        clienteService.salvar(cliente("52998224725", "existente@zebodega.com.br", "11999990000"));
+
+        // A linha 2 é recusada pelo CPF já cadastrado; a linha 3 repete apenas o e-mail da linha 2
+        String arquivo = """
+                nome,cpf,email,telefone,dataNascimento,sexo,apelido
+                Recusado,52998224725,novo@zebodega.com.br,11999990001,1990-01-01,M,Recusado
+                Aprovado,11144477735,novo@zebodega.com.br,11999990002,1990-01-01,F,Aprovado
+                """;
+        ImportacaoDTO resultado = clienteService.importar(
+                new ByteArrayInputStream(arquivo.getBytes(StandardCharsets.UTF_8)), FormatoImportacao.CSV);
+
+        assertThat(resultado.getLinhasLidas()).isEqualTo(2);
+        assertThat(resultado.getImportados()).isEqualTo(1);
+        assertThat(resultado.getErros()).extracting(ErroImportacaoDTO::getLinha, ErroImportacaoDTO::getCampo)
+                .containsExactly(tuple(2L, "cpf"));
+        assertThat(clienteRepository.existsByCpf("11144477735")).isTrue();
+    }
+
+    private static ClienteModel cliente(String cpf, String email, String telefone) {
+        ClienteModel cliente = new ClienteModel();
+        cliente.setNome("Existente");
+        cliente.setCpf(cpf);
+        cliente.setEmail(email);
+        cliente.setTelefone(telefone);
+        cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+        cliente.setSexo("M");
+        cliente.setApelido("Existente");
+        return cliente;
+    }
+}